@@ -0,0 +1,122 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.AdaptiveSettings;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Locale;
+
+/**
+ * Decides when to stop the warmups and runs of a benchmark test case with {@link AdaptiveSettings}.
+ * The time budget starts with the creation.
+ */
+class AdaptiveStopping {
+
+    private static final double CONFIDENCE = 0.95;
+
+    private final AdaptiveSettings settings;
+    private final int minWarmups;
+    private final int minRuns;
+    private final long start = System.nanoTime();
+    private final long budgetNanoSeconds;
+
+    // durations of the last successful warmups
+    private final Deque<Long> window = new ArrayDeque<>();
+
+    private String warmupReason = "not finished";
+    private String runReason = "not finished";
+
+    /**
+     * @param minWarmups the warmups of the case
+     * @param minRuns the runs of the case, at least 2 runs are needed for the confidence interval
+     */
+    AdaptiveStopping(AdaptiveSettings settings, int minWarmups, int minRuns) {
+        this.settings = settings;
+        this.minWarmups = minWarmups;
+        this.minRuns = Math.max(minRuns, 2);
+        this.budgetNanoSeconds = settings.getTimeBudget() * 1_000_000_000L;
+    }
+
+    void recordWarmup(long durationNanoSeconds) {
+        window.addLast(durationNanoSeconds);
+        while (window.size() > settings.getWarmupWindow()) {
+            window.removeFirst();
+        }
+    }
+
+    /**
+     * @param w the number of completed warmups
+     */
+    boolean continueWarmups(int w) {
+        if (w >= settings.getMaxWarmups()) {
+            warmupReason = "max warmups reached";
+            return false;
+        }
+        if (w < minWarmups) {
+            return true;
+        }
+        if (isBudgetExhausted()) {
+            warmupReason = "time budget exhausted";
+            return false;
+        }
+        if (window.size() >= settings.getWarmupWindow()) {
+            double cv = coefficientOfVariation(window);
+            if (cv <= settings.getWarmupCv()) {
+                warmupReason = String.format(Locale.ROOT, "stable (cv %.3f)", cv);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param r the number of completed runs
+     * @param classification the durations of the successful runs
+     */
+    boolean continueRuns(int r, DurationStatistics classification) {
+        if (r >= settings.getMaxRuns()) {
+            runReason = "max runs reached";
+            return false;
+        }
+        if (r < minRuns) {
+            return true;
+        }
+        if (isBudgetExhausted()) {
+            runReason = "time budget exhausted";
+            return false;
+        }
+        double width = relativeConfidenceIntervalHalfWidth(classification);
+        if (width <= settings.getCiWidth()) {
+            runReason = String.format(Locale.ROOT, "stable (ci +/-%.1f%%)", width * 100);
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isBudgetExhausted() {
+        return budgetNanoSeconds > 0 && System.nanoTime() - start >= budgetNanoSeconds;
+    }
+
+    static double coefficientOfVariation(Iterable<Long> durations) {
+        DurationStatistics statistics = new DurationStatistics();
+        durations.forEach(statistics::record);
+        return statistics.getMean() > 0 ? statistics.getStandardDeviation() / statistics.getMean() : 0;
+    }
+
+    /**
+     * @return the half width of the confidence interval relative to the mean, or infinity with less than two samples
+     */
+    static double relativeConfidenceIntervalHalfWidth(DurationStatistics statistics) {
+        double halfWidth = statistics.getConfidenceIntervalHalfWidth(CONFIDENCE);
+        if (Double.isNaN(halfWidth)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return statistics.getMean() > 0 ? halfWidth / statistics.getMean() : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "warmups: " + warmupReason + ", runs: " + runReason;
+    }
+}
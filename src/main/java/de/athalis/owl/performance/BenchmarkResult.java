@@ -0,0 +1,499 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import java.util.*;
+
+import org.semanticweb.owlapi.reasoner.InferenceType;
+
+/**
+ * Result of a benchmark test case, i.e. a line of the results with the {@link Column columns} of {@link OwlAPIBenchmark#RESULT_HEADER}.
+ */
+public class BenchmarkResult {
+
+    public enum Outcome {
+        PASSED("passed"),
+        FAILED("failed"),
+        IGNORED("ignored"),
+        TIMEOUT("timeout");
+
+        private final String label;
+
+        Outcome(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public static Outcome fromLabel(String label) {
+            for (Outcome outcome : values()) {
+                if (outcome.label.equals(label)) {
+                    return outcome;
+                }
+            }
+            throw new IllegalArgumentException("unknown outcome: " + label);
+        }
+    }
+
+    static final String NOT_AVAILABLE = "n.a.";
+
+    /**
+     * The columns of a result line, in order. The declared type is the type of the value, see {@link #getValue(Column)}.
+     */
+    public enum Column {
+        CASE("case", String.class),
+        REASONER("reasoner", String.class),
+        WARMUP_DURATION("warmupDuration_ns", Long.class),
+        RUN_DURATION("runDuration_ns", Long.class),
+        AVERAGE("avg_ns", Long.class),
+        RESULT("result", String.class),
+        WARMUPS("warmups", Long.class),
+        RUNS("runs", Long.class),
+        MIN("min_ns", Long.class),
+        P50("p50_ns", Long.class),
+        P90("p90_ns", Long.class),
+        P99("p99_ns", Long.class),
+        MAX("max_ns", Long.class),
+        STDDEV("stddev_ns", Long.class),
+        CI95_LOW("ci95_low_ns", Long.class),
+        CI95_HIGH("ci95_high_ns", Long.class),
+        CREATION_AVERAGE("creation_avg_ns", Long.class),
+        CONSISTENCY_AVERAGE("consistency_avg_ns", Long.class),
+        CLASSIFICATION_AVERAGE("classification_avg_ns", Long.class),
+        INFERENCES_AVERAGE("inferences_avg_ns", Map.class),
+        ALLOCATED_AVERAGE("allocated_avg_bytes", Long.class),
+        PEAK_HEAP_MAX("peak_heap_max_bytes", Long.class),
+        GC_COUNT_AVERAGE("gc_count_avg", Double.class, 1),
+        GC_TIME_AVERAGE("gc_time_avg_ms", Long.class),
+        RETAINED_AVERAGE("retained_avg_bytes", Long.class),
+        THROUGHPUT("throughput_ops_per_s", Long.class),
+        TIME_EXPONENT("time_exponent", Double.class, 3),
+        MEMORY_EXPONENT("memory_exponent", Double.class, 3),
+        CONCURRENCY("concurrency", Integer.class);
+
+        private final String name;
+        private final Class<?> type;
+
+        // of a Double in text
+        private final int fractionDigits;
+
+        Column(String name, Class<?> type) {
+            this(name, type, 0);
+        }
+
+        Column(String name, Class<?> type, int fractionDigits) {
+            this.name = name;
+            this.type = type;
+            this.fractionDigits = fractionDigits;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return String, Long, Integer, Double, or Map of InferenceType to Long
+         */
+        public Class<?> getType() {
+            return type;
+        }
+
+        /**
+         * @param value of the declared type, may be null
+         * @return the value in a text column, "n.a." if null
+         */
+        public String format(Object value) {
+            if (value == null) {
+                return NOT_AVAILABLE;
+            }
+            if (type == Double.class) {
+                return String.format(Locale.ROOT, "%." + fractionDigits + "f", (Double) value);
+            }
+            if (type == Map.class) {
+                StringJoiner sj = new StringJoiner(";");
+                for (Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+                    sj.add(((InferenceType) e.getKey()).name() + "=" + e.getValue());
+                }
+                return sj.toString();
+            }
+            return value.toString();
+        }
+
+        /**
+         * @param text as returned by {@link #format(Object)}
+         * @return the value of the declared type, null if "n.a."
+         */
+        Object parse(String text) {
+            if (type == String.class) {
+                return text;
+            }
+            if (NOT_AVAILABLE.equals(text)) {
+                return null;
+            }
+            if (type == Long.class) {
+                return Long.valueOf(text);
+            }
+            if (type == Integer.class) {
+                return Integer.valueOf(text);
+            }
+            if (type == Double.class) {
+                return Double.valueOf(text);
+            }
+
+            Map<InferenceType, Long> averages = new LinkedHashMap<>();
+            for (String entry : text.split(";")) {
+                int separator = entry.indexOf('=');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("not a value of " + name + ": " + text);
+                }
+                averages.put(InferenceType.valueOf(entry.substring(0, separator)), Long.valueOf(entry.substring(separator + 1)));
+            }
+            return averages;
+        }
+
+        /**
+         * @param value of a parsed JSON object, e.g. an Integer in a Long column, or a Map with String keys
+         * @return the value of the declared type
+         */
+        Object convert(Object value) {
+            if (value == null) {
+                return null;
+            }
+            if (type == String.class) {
+                return value.toString();
+            }
+            if (value instanceof String) {
+                return parse((String) value);
+            }
+            if (value instanceof Number) {
+                Number number = (Number) value;
+                if (type == Long.class) {
+                    return number.longValue();
+                }
+                if (type == Integer.class) {
+                    return number.intValue();
+                }
+                if (type == Double.class) {
+                    return number.doubleValue();
+                }
+            }
+            if (value instanceof Map && type == Map.class) {
+                Map<InferenceType, Long> averages = new LinkedHashMap<>();
+                for (Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+                    averages.put(InferenceType.valueOf(e.getKey().toString()), ((Number) e.getValue()).longValue());
+                }
+                return averages;
+            }
+            throw new IllegalArgumentException("not a value of " + name + ": " + value);
+        }
+    }
+
+    private static final List<String> COLUMN_NAMES;
+
+    static {
+        List<String> names = new ArrayList<>();
+        for (Column column : Column.values()) {
+            names.add(column.getName());
+        }
+        COLUMN_NAMES = Collections.unmodifiableList(names);
+    }
+
+    private final String caseName;
+    private final String reasoner;
+    private final Outcome outcome;
+
+    // null if not available
+    private final Long warmupDuration;
+    private final Long runDuration;
+    private final Long average;
+    private final Long warmups;
+    private final Long runs;
+
+    private final StageSummary statistics;
+
+    // in operations per second, null if not available
+    private final Long throughput;
+
+    // see ScalingGenerator#growthExponent(List, List), null if not available
+    private final Double timeExponent;
+    private final Double memoryExponent;
+
+    // the maximum number of cases that ran at the same time as this case, including itself
+    private final int concurrency;
+
+    /**
+     * @param throughput in operations per second, null if not available
+     */
+    BenchmarkResult(String caseName, String reasoner, Outcome outcome, Long warmupDuration, Long runDuration, Long average, Long warmups, Long runs, StageSummary statistics, Long throughput) {
+        this(caseName, reasoner, outcome, warmupDuration, runDuration, average, warmups, runs, statistics, throughput, null, null, 1);
+    }
+
+    private BenchmarkResult(String caseName, String reasoner, Outcome outcome, Long warmupDuration, Long runDuration, Long average, Long warmups, Long runs, StageSummary statistics, Long throughput, Double timeExponent, Double memoryExponent, int concurrency) {
+        this.caseName = caseName;
+        this.reasoner = reasoner;
+        this.outcome = outcome;
+        this.warmupDuration = warmupDuration;
+        this.runDuration = runDuration;
+        this.average = average;
+        this.warmups = warmups;
+        this.runs = runs;
+        this.statistics = statistics;
+        this.throughput = throughput;
+        this.timeExponent = timeExponent;
+        this.memoryExponent = memoryExponent;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * A case without any measurement, e.g. if its merged model could not be created.
+     */
+    static BenchmarkResult failed(String caseName, String reasoner) {
+        return new BenchmarkResult(caseName, reasoner, Outcome.FAILED, null, null, null, null, null, new StageSummary(), null);
+    }
+
+    /**
+     * A single duration without warmups, e.g. of the extraction of a module.
+     */
+    static BenchmarkResult single(String caseName, String reasoner, long duration) {
+        DurationStatistics distribution = new DurationStatistics();
+        distribution.record(duration);
+
+        StageSummary statistics = new StageSummary();
+        statistics.setDistribution(distribution);
+
+        return new BenchmarkResult(caseName, reasoner, Outcome.PASSED, null, duration, duration, 0L, 1L, statistics, null);
+    }
+
+    /**
+     * Only the growth exponents of the scale factors of a case, see {@link ScalingGenerator#growthExponent(List, List)}.
+     *
+     * @param memoryExponent may be null
+     */
+    static BenchmarkResult fit(String caseName, String reasoner, double timeExponent, Double memoryExponent) {
+        return new BenchmarkResult(caseName, reasoner, Outcome.PASSED, null, null, null, null, null, new StageSummary(), null, timeExponent, memoryExponent, 1);
+    }
+
+    /**
+     * @param line as returned by {@link #toString()}
+     */
+    public static BenchmarkResult parse(String line) {
+        return parse(Arrays.asList(line.split("\t", -1)));
+    }
+
+    /**
+     * @param columns the values of all columns in text, as returned by {@link #getColumns()}
+     */
+    static BenchmarkResult parse(List<String> columns) {
+        if (columns.size() != Column.values().length) {
+            throw new IllegalArgumentException("expected " + Column.values().length + " columns, got " + columns.size() + ": " + columns);
+        }
+
+        Map<Column, Object> values = new EnumMap<>(Column.class);
+        for (Column column : Column.values()) {
+            values.put(column, column.parse(columns.get(column.ordinal())));
+        }
+        return fromValues(values);
+    }
+
+    /**
+     * @param values of the declared types, as returned by {@link #getValue(Column)}
+     */
+    @SuppressWarnings("unchecked")
+    static BenchmarkResult fromValues(Map<Column, Object> values) {
+        StageSummary statistics = new StageSummary();
+        statistics.min = (Long) values.get(Column.MIN);
+        statistics.p50 = (Long) values.get(Column.P50);
+        statistics.p90 = (Long) values.get(Column.P90);
+        statistics.p99 = (Long) values.get(Column.P99);
+        statistics.max = (Long) values.get(Column.MAX);
+        statistics.standardDeviation = (Long) values.get(Column.STDDEV);
+        statistics.confidenceLow = (Long) values.get(Column.CI95_LOW);
+        statistics.confidenceHigh = (Long) values.get(Column.CI95_HIGH);
+        statistics.creationAverage = (Long) values.get(Column.CREATION_AVERAGE);
+        statistics.consistencyAverage = (Long) values.get(Column.CONSISTENCY_AVERAGE);
+        statistics.classificationAverage = (Long) values.get(Column.CLASSIFICATION_AVERAGE);
+        if (values.get(Column.INFERENCES_AVERAGE) != null) {
+            statistics.inferenceAverages.putAll((Map<InferenceType, Long>) values.get(Column.INFERENCES_AVERAGE));
+        }
+        statistics.allocatedAverage = (Long) values.get(Column.ALLOCATED_AVERAGE);
+        statistics.peakHeapMax = (Long) values.get(Column.PEAK_HEAP_MAX);
+        statistics.gcCountAverage = (Double) values.get(Column.GC_COUNT_AVERAGE);
+        statistics.gcTimeAverage = (Long) values.get(Column.GC_TIME_AVERAGE);
+        statistics.retainedAverage = (Long) values.get(Column.RETAINED_AVERAGE);
+
+        Integer concurrency = (Integer) values.get(Column.CONCURRENCY);
+
+        return new BenchmarkResult((String) values.get(Column.CASE), (String) values.get(Column.REASONER), Outcome.fromLabel((String) values.get(Column.RESULT)),
+                (Long) values.get(Column.WARMUP_DURATION), (Long) values.get(Column.RUN_DURATION), (Long) values.get(Column.AVERAGE), (Long) values.get(Column.WARMUPS), (Long) values.get(Column.RUNS),
+                statistics, (Long) values.get(Column.THROUGHPUT), (Double) values.get(Column.TIME_EXPONENT), (Double) values.get(Column.MEMORY_EXPONENT), concurrency != null ? concurrency : 1);
+    }
+
+    /**
+     * @param concurrency the maximum number of cases that ran at the same time as this case, including itself
+     * @return a copy of this result with the given concurrency
+     */
+    BenchmarkResult withConcurrency(int concurrency) {
+        return new BenchmarkResult(caseName, reasoner, outcome, warmupDuration, runDuration, average, warmups, runs, statistics, throughput, timeExponent, memoryExponent, concurrency);
+    }
+
+    public static List<String> getColumnNames() {
+        return COLUMN_NAMES;
+    }
+
+    /**
+     * @return the value of a column, of its declared type, or null if not available
+     */
+    public Object getValue(Column column) {
+        switch (column) {
+            case CASE:
+                return caseName;
+            case REASONER:
+                return reasoner;
+            case WARMUP_DURATION:
+                return warmupDuration;
+            case RUN_DURATION:
+                return runDuration;
+            case AVERAGE:
+                return average;
+            case RESULT:
+                return outcome.getLabel();
+            case WARMUPS:
+                return warmups;
+            case RUNS:
+                return runs;
+            case MIN:
+                return statistics.min;
+            case P50:
+                return statistics.p50;
+            case P90:
+                return statistics.p90;
+            case P99:
+                return statistics.p99;
+            case MAX:
+                return statistics.max;
+            case STDDEV:
+                return statistics.standardDeviation;
+            case CI95_LOW:
+                return statistics.confidenceLow;
+            case CI95_HIGH:
+                return statistics.confidenceHigh;
+            case CREATION_AVERAGE:
+                return statistics.creationAverage;
+            case CONSISTENCY_AVERAGE:
+                return statistics.consistencyAverage;
+            case CLASSIFICATION_AVERAGE:
+                return statistics.classificationAverage;
+            case INFERENCES_AVERAGE:
+                return statistics.inferenceAverages.isEmpty() ? null : Collections.unmodifiableMap(statistics.inferenceAverages);
+            case ALLOCATED_AVERAGE:
+                return statistics.allocatedAverage;
+            case PEAK_HEAP_MAX:
+                return statistics.peakHeapMax;
+            case GC_COUNT_AVERAGE:
+                return statistics.gcCountAverage;
+            case GC_TIME_AVERAGE:
+                return statistics.gcTimeAverage;
+            case RETAINED_AVERAGE:
+                return statistics.retainedAverage;
+            case THROUGHPUT:
+                return throughput;
+            case TIME_EXPONENT:
+                return timeExponent;
+            case MEMORY_EXPONENT:
+                return memoryExponent;
+            case CONCURRENCY:
+                return concurrency;
+            default:
+                throw new IllegalArgumentException("unknown column: " + column);
+        }
+    }
+
+    /**
+     * @return the values of all columns in text, in the order of {@link #getColumnNames()}, "n.a." if not available
+     */
+    public List<String> getColumns() {
+        List<String> columns = new ArrayList<>(COLUMN_NAMES.size());
+        for (Column column : Column.values()) {
+            columns.add(column.format(getValue(column)));
+        }
+        return columns;
+    }
+
+    public String getCaseName() {
+        return caseName;
+    }
+
+    public String getReasoner() {
+        return reasoner;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * @return the sum of the warmups in nanoseconds, or null
+     */
+    public Long getWarmupDuration() {
+        return warmupDuration;
+    }
+
+    /**
+     * @return the sum of the runs in nanoseconds, or null
+     */
+    public Long getRunDuration() {
+        return runDuration;
+    }
+
+    /**
+     * @return the average of the runs in nanoseconds, or null
+     */
+    public Long getAverage() {
+        return average;
+    }
+
+    public Long getWarmups() {
+        return warmups;
+    }
+
+    public Long getRuns() {
+        return runs;
+    }
+
+    /**
+     * @return 1 if the case ran in isolation, otherwise the maximum number of cases that ran at the same time, including itself
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * @return in operations per second, or null
+     */
+    public Long getThroughput() {
+        return throughput;
+    }
+
+    /**
+     * @return the growth exponent of the average, see {@link ScalingGenerator#growthExponent(List, List)}, or null
+     */
+    public Double getTimeExponent() {
+        return timeExponent;
+    }
+
+    /**
+     * @return the growth exponent of the allocated bytes, see {@link ScalingGenerator#growthExponent(List, List)}, or null
+     */
+    public Double getMemoryExponent() {
+        return memoryExponent;
+    }
+
+    /**
+     * @return tab-separated columns as in {@link OwlAPIBenchmark#RESULT_HEADER}
+     */
+    @Override
+    public String toString() {
+        return String.join("\t", getColumns());
+    }
+}
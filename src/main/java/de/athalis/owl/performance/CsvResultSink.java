@@ -0,0 +1,48 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+
+/**
+ * Comma-separated values according to RFC 4180, with a header line. Only the string columns may be quoted.
+ */
+class CsvResultSink implements ResultSink {
+
+    private final Writer writer;
+
+    CsvResultSink(File file) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+
+        StringJoiner sj = new StringJoiner(",", "", "\r\n");
+        for (String name : BenchmarkResult.getColumnNames()) {
+            sj.add(name);
+        }
+        writer.write(sj.toString());
+        writer.flush();
+    }
+
+    @Override
+    public void write(BenchmarkResult result) throws IOException {
+        StringJoiner sj = new StringJoiner(",", "", "\r\n");
+        for (BenchmarkResult.Column column : BenchmarkResult.Column.values()) {
+            String value = column.format(result.getValue(column));
+            sj.add(column.getType() == String.class ? quote(value) : value);
+        }
+        writer.write(sj.toString());
+        writer.flush();
+    }
+
+    static String quote(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\r') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
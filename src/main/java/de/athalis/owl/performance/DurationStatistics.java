@@ -0,0 +1,101 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import org.HdrHistogram.Histogram;
+import org.apache.commons.math3.distribution.TDistribution;
+
+/**
+ * Distribution of durations in nanoseconds, without keeping the single samples.
+ * Percentiles are taken from a HDR histogram (3 significant digits), while count, sum, min, max, mean and standard deviation are exact.
+ */
+public class DurationStatistics {
+
+    private final Histogram histogram = new Histogram(3);
+
+    private long count = 0;
+    private long sum = 0;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    // Welford's online algorithm
+    private double mean = 0;
+    private double m2 = 0;
+
+    public void record(long durationNanoSeconds) {
+        histogram.recordValue(durationNanoSeconds);
+
+        count++;
+        sum += durationNanoSeconds;
+        min = Math.min(min, durationNanoSeconds);
+        max = Math.max(max, durationNanoSeconds);
+
+        double delta = durationNanoSeconds - mean;
+        mean += delta / count;
+        m2 += delta * (durationNanoSeconds - mean);
+    }
+
+    public void add(DurationStatistics other) {
+        if (other.count == 0) {
+            return;
+        }
+
+        histogram.add(other.histogram);
+
+        // Chan et al., parallel variance
+        long n = count + other.count;
+        double delta = other.mean - mean;
+        m2 += other.m2 + delta * delta * count * other.count / n;
+        mean += delta * other.count / n;
+
+        count = n;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public long getMin() {
+        return count > 0 ? min : 0;
+    }
+
+    public long getMax() {
+        return count > 0 ? max : 0;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     */
+    public long getPercentile(double percentile) {
+        return histogram.getValueAtPercentile(percentile);
+    }
+
+    /**
+     * sample standard deviation
+     */
+    public double getStandardDeviation() {
+        return count > 1 ? Math.sqrt(m2 / (count - 1)) : 0;
+    }
+
+    /**
+     * @return half width of the confidence interval of the mean, based on Student's t-distribution, or NaN with less than two samples
+     */
+    public double getConfidenceIntervalHalfWidth(double confidence) {
+        if (count < 2) {
+            return Double.NaN;
+        }
+
+        double t = new TDistribution(count - 1).inverseCumulativeProbability(1 - (1 - confidence) / 2);
+        return t * getStandardDeviation() / Math.sqrt(count);
+    }
+}
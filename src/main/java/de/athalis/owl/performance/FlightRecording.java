@@ -0,0 +1,51 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.text.ParseException;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Java Flight Recorder recording of a single benchmark test case with the {@code profile} settings of the JDK,
+ * dumped to a {@code .jfr} file per case when closed. It includes the {@link ReasoningEvent}s of the case.
+ */
+public class FlightRecording implements Closeable {
+
+    private final File file;
+    private final Recording recording;
+
+    public FlightRecording(File directory, String caseName) throws IOException, ParseException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("unable to create directory: " + directory);
+        }
+
+        this.file = new File(directory, Util.fileName(caseName) + ".jfr");
+        this.recording = new Recording(Configuration.getConfiguration("profile"));
+
+        recording.setName(caseName);
+        recording.enable(ReasoningEvent.class);
+        recording.start();
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Stops the recording and dumps it.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            recording.stop();
+            recording.dump(file.toPath());
+        }
+        finally {
+            recording.close();
+        }
+    }
+}
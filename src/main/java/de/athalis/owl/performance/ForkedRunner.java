@@ -0,0 +1,332 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.OWLBenchmarkTestCase;
+import de.athalis.owl.performance.config.YamlConfigFile;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yaml.snakeyaml.LoaderOptions;
+
+/**
+ * Alternative to {@link OwlAPIBenchmark#runTestCases()}, runs each benchmark test case in a child JVM.
+ * The child prints its result lines to stdout, prefixed with {@link #RESULT_PREFIX}; all other output is forwarded.
+ * A child that crashes or exceeds the timeout is recorded as failed.
+ * <p>
+ * With {@code forkConcurrency} above 1, several children run at the same time, each with its own heap budget.
+ * The cases with the longest durations in {@code forkTimings} start first, so that they do not delay the end.
+ * Each result records how many cases ran at the same time, see {@link BenchmarkResult#getConcurrency()}.
+ */
+public class ForkedRunner {
+    private static final Logger logger = LoggerFactory.getLogger(ForkedRunner.class);
+
+    static final String RESULT_PREFIX = "#owl-performance-result\t";
+
+    public final Results results = new Results();
+
+    private final YamlConfigFile config;
+    private final URL configURL;
+    private final int maxAliasesForCollections;
+
+    // the peak concurrency of each running case
+    private final Set<AtomicInteger> running = new HashSet<>();
+
+    public ForkedRunner(YamlConfigFile config, URL configURL, int maxAliasesForCollections) {
+        if (config.getTestCaseCount() == 0) {
+            throw new IllegalArgumentException("no benchmark test cases in configuration");
+        }
+
+        this.config = config;
+        this.configURL = configURL;
+        this.maxAliasesForCollections = maxAliasesForCollections;
+    }
+
+    /**
+     * Entry point of the child JVM: runs a single case.
+     *
+     * @param args config URL, maxAliasesForCollections and the index of the case
+     */
+    public static void main(String[] args) {
+        try {
+            LoaderOptions loadingConfig = new LoaderOptions();
+            loadingConfig.setMaxAliasesForCollections(Integer.parseInt(args[1]));
+
+            YamlConfigFile config = YamlConfigFile.readYaml(new URL(args[0]), loadingConfig);
+            OWLBenchmarkTestCase testCase = config.getTestCase(Long.parseLong(args[2]));
+
+            OwlAPIBenchmark owlAPIBenchmark = new OwlAPIBenchmark(config);
+            owlAPIBenchmark.runTestCase(testCase);
+
+            for (BenchmarkResult result : owlAPIBenchmark.results) {
+                System.out.println(RESULT_PREFIX + result);
+            }
+            System.out.flush();
+
+            System.exit(0);
+        }
+        catch (Throwable t) {
+            t.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    public void runTestCases() {
+        int concurrency = config.getForkConcurrency();
+        if (concurrency == 0) {
+            concurrency = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        }
+
+        long heapBudget = getHeapBudget(concurrency);
+        List<Long> order = getOrder();
+
+        if (concurrency == 1) {
+            for (long i : order) {
+                OWLBenchmarkTestCase testCase = config.getTestCase(i);
+                logger.info("test case started: " + testCase.getName());
+
+                runTestCase(i, testCase, heapBudget);
+            }
+            return;
+        }
+
+        logger.info("running up to " + concurrency + " child JVMs at the same time" + (heapBudget > 0 ? ", each with " + heapBudget + " MB heap" : ""));
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> futures = new LinkedList<>();
+            for (long i : order) {
+                OWLBenchmarkTestCase testCase = config.getTestCase(i);
+                futures.add(executor.submit(() -> {
+                    logger.info("test case started: " + testCase.getName());
+                    runTestCase(i, testCase, heapBudget);
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        catch (ExecutionException ex) {
+            // debug cases fail fast, just like in sequential mode
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new RuntimeException(ex.getCause());
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("interrupted", ex);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return the heap budget of each child JVM in MB, 0 for none
+     */
+    private long getHeapBudget(int concurrency) {
+        if (config.getForkHeapBudget() > 0) {
+            return config.getForkHeapBudget();
+        }
+        if (concurrency == 1) {
+            return 0;
+        }
+
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (!(os instanceof com.sun.management.OperatingSystemMXBean)) {
+            logger.warn("unable to determine the physical memory, not limiting the heap of the child JVMs");
+            return 0;
+        }
+
+        // leave a quarter for the operating system and the non-heap memory of the child JVMs
+        // (renamed to getTotalMemorySize in JDK 14, the build targets release 11)
+        long physical = ((com.sun.management.OperatingSystemMXBean) os).getTotalPhysicalMemorySize();
+        return Math.max(1, physical / 4 * 3 / concurrency / (1024 * 1024));
+    }
+
+    /**
+     * @return the indices of the cases, longest expected duration first and cases without timings before all others
+     */
+    private List<Long> getOrder() {
+        long count = config.getTestCaseCount();
+
+        List<Long> order = new ArrayList<>();
+        for (long i = 0; i < count; i++) {
+            order.add(i);
+        }
+
+        if (config.getForkTimings() == null) {
+            return order;
+        }
+
+        List<BenchmarkResult> timings;
+        try {
+            timings = ResultComparison.readResults(new File(config.getForkTimings()));
+        }
+        catch (IOException | RuntimeException ex) {
+            logger.warn("unable to read timings from " + config.getForkTimings() + ", keeping the order of the configuration", ex);
+            return order;
+        }
+
+        Map<Long, Long> expected = new HashMap<>();
+        for (long i : order) {
+            String name = config.getTestCase(i).getName();
+
+            // cases may report several lines, e.g. "name [construction]" and "name [warm]"
+            Long duration = null;
+            for (BenchmarkResult result : timings) {
+                if (result.getCaseName().equals(name) || result.getCaseName().startsWith(name + " [")) {
+                    long d = (result.getWarmupDuration() != null ? result.getWarmupDuration() : 0) + (result.getRunDuration() != null ? result.getRunDuration() : 0);
+                    duration = (duration != null ? duration : 0) + d;
+                }
+            }
+
+            expected.put(i, duration);
+        }
+
+        // stable, i.e. otherwise in the order of the configuration
+        order.sort(Comparator.comparing(expected::get, Comparator.nullsFirst(Comparator.reverseOrder())));
+        return order;
+    }
+
+    private synchronized AtomicInteger enter() {
+        AtomicInteger peak = new AtomicInteger();
+        running.add(peak);
+
+        int n = running.size();
+        for (AtomicInteger p : running) {
+            p.accumulateAndGet(n, Math::max);
+        }
+
+        return peak;
+    }
+
+    private synchronized void leave(AtomicInteger peak) {
+        running.remove(peak);
+    }
+
+    private void runTestCase(long caseIndex, OWLBenchmarkTestCase testCase, long heapBudget) {
+        String testCaseBaseName = testCase.getName();
+
+        List<String> command = new LinkedList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        if (heapBudget > 0) {
+            // before the configured arguments, so that an explicit -Xmx wins
+            command.add("-Xmx" + heapBudget + "m");
+        }
+        command.addAll(config.getForkJvmArgs());
+        command.addAll(testCase.getJvmArgs());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(ForkedRunner.class.getName());
+        command.add(configURL.toString());
+        command.add(String.valueOf(maxAliasesForCollections));
+        command.add(String.valueOf(caseIndex));
+
+        logger.info("[" + testCaseBaseName + "]: starting child JVM: " + String.join(" ", command));
+
+        List<BenchmarkResult> caseResults = Collections.synchronizedList(new LinkedList<>());
+        String failure;
+        Process process = null;
+        AtomicInteger peak = enter();
+
+        try {
+            process = new ProcessBuilder(command)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+
+            Process p = process;
+            Thread reader = new Thread(() -> readOutput(p, caseResults), "fork-output-" + caseIndex);
+            reader.start();
+
+            int timeout = config.getForkTimeout();
+            boolean exited;
+            if (timeout > 0) {
+                exited = process.waitFor(timeout, TimeUnit.SECONDS);
+            }
+            else {
+                process.waitFor();
+                exited = true;
+            }
+
+            if (!exited) {
+                process.destroyForcibly().waitFor();
+            }
+            reader.join();
+
+            if (!exited) {
+                failure = "timeout after " + timeout + " s";
+            }
+            else if (process.exitValue() != 0) {
+                failure = "child JVM exited with " + process.exitValue();
+            }
+            else if (caseResults.isEmpty()) {
+                failure = "child JVM reported no results";
+            }
+            else {
+                failure = null;
+            }
+        }
+        catch (IOException ex) {
+            failure = "unable to start child JVM: " + ex;
+        }
+        catch (InterruptedException ex) {
+            if (process != null) {
+                process.destroyForcibly();
+            }
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(testCaseBaseName + ": interrupted", ex);
+        }
+        finally {
+            leave(peak);
+        }
+
+        int concurrency = peak.get();
+
+        if (failure == null) {
+            caseResults.forEach(result -> results.add(result.withConcurrency(concurrency)));
+        }
+        else {
+            if (testCase.isDebug()) {
+                throw new RuntimeException(testCaseBaseName + ": " + failure);
+            }
+
+            logger.warn("[" + testCaseBaseName + "]: " + failure);
+            results.add(BenchmarkResult.failed(testCaseBaseName, testCase.getReasoner()).withConcurrency(concurrency));
+        }
+    }
+
+    private static void readOutput(Process process, List<BenchmarkResult> caseResults) {
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith(RESULT_PREFIX)) {
+                    try {
+                        caseResults.add(BenchmarkResult.parse(line.substring(RESULT_PREFIX.length())));
+                    }
+                    catch (IllegalArgumentException ex) {
+                        logger.warn("malformed result of child JVM: " + line, ex);
+                    }
+                }
+                else {
+                    System.out.println(line);
+                }
+            }
+        }
+        catch (IOException ex) {
+            // the child JVM was destroyed
+            logger.debug("output of child JVM closed", ex);
+        }
+    }
+}
@@ -0,0 +1,317 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.OWLBenchmarkTestCase;
+import de.athalis.owl.performance.reasoner.ReasonerAdapter;
+import de.athalis.owl.performance.reasoner.ReasonerAdapters;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.semanticweb.owlapi.reasoner.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Finds the axioms that make a case slow with delta debugging (ddmin):
+ * a 1-minimal set of logical axioms whose reasoning still takes at least a fraction ({@code keep}) of the reasoning of all axioms.
+ * The non-logical axioms, e.g. declarations, are always kept.
+ * <p>
+ * Each worker has its own copy of the merged model, and the axioms of a subset are removed and re-added with {@link OWLOntologyManager} changes.
+ * The subsets and complements of each step are measured in parallel by the workers, and the first slow one in order is taken.
+ * All axioms are measured again in each step, at the same time as the subsets, and the threshold of the step refers to that duration:
+ * the workers slow each other down (CPU and garbage collection), so a baseline measured alone would let fast subsets count as slow,
+ * and the result would depend on the number of workers.
+ * A measurement that exceeds twice the longest duration of all axioms on all workers at the same time is interrupted and counts as that budget.
+ */
+class HotspotFinder {
+    private static final Logger logger = LoggerFactory.getLogger(HotspotFinder.class);
+
+    static final String HEADER = "cost_ns\taxiom";
+
+    private final OWLBenchmarkTestCase testCase;
+    private final ReasonerAdapter reasonerAdapter;
+    private final double keep;
+    private final int repetitions;
+    private final int threads;
+
+    private final List<OWLAxiom> axioms;
+    private final BlockingQueue<OWLOntology> workers = new LinkedBlockingQueue<>();
+
+    // the measured subsets, by the indices of their axioms
+    private final Map<BitSet, Long> durations = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "hotspot-watchdog");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // the timeout of a measurement in milliseconds, 0 for none
+    private long budget = 0;
+
+    /**
+     * @param ont the merged model of the case
+     * @param keep the fraction of the duration of all axioms that a subset has to keep to count as slow, between 0 and 1
+     * @param repetitions how often to measure each subset, the minimum counts
+     * @param threads how many subsets to measure at the same time
+     */
+    HotspotFinder(OWLBenchmarkTestCase testCase, OWLOntology ont, double keep, int repetitions, int threads) throws OWLOntologyCreationException {
+        if (keep < 0 || keep > 1) {
+            throw new IllegalArgumentException("keep must be between 0 and 1");
+        }
+        if (repetitions < 1) {
+            throw new IllegalArgumentException("repetitions must be positive");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+
+        this.testCase = testCase;
+        this.reasonerAdapter = ReasonerAdapters.get(testCase.getReasoner());
+        this.keep = keep;
+        this.repetitions = repetitions;
+        this.threads = threads;
+
+        this.axioms = ont.logicalAxioms(Imports.INCLUDED).distinct().sorted().collect(Collectors.toList());
+
+        List<OWLAxiom> all = ont.axioms(Imports.INCLUDED).distinct().collect(Collectors.toList());
+        for (int i = 0; i < threads; i++) {
+            OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+            workers.add(manager.createOntology(all.stream()));
+        }
+
+        logger.info("[" + testCase.getName() + "]: searching " + axioms.size() + " logical axioms with " + threads + " worker(s)");
+    }
+
+    static class Result {
+        long fullDuration;
+        long minimalDuration;
+        int tests;
+
+        // most expensive first
+        final Map<OWLAxiom, Long> costs = new LinkedHashMap<>();
+
+        /**
+         * @return tab-separated lines as in {@link #HEADER}
+         */
+        List<String> toLines() {
+            return costs.entrySet().stream().map(e -> e.getValue() + "\t" + e.getKey()).collect(Collectors.toList());
+        }
+    }
+
+    Result run() throws InterruptedException, ExecutionException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            Result result = new Result();
+
+            BitSet all = new BitSet();
+            all.set(0, axioms.size());
+
+            // on all workers at the same time, i.e. the budget allows for the contention of the steps
+            List<Long> fullDurations = measure(executor, Collections.nCopies(threads, all), true);
+            result.fullDuration = Collections.max(fullDurations);
+            budget = Math.max(1, TimeUnit.NANOSECONDS.toMillis(2 * result.fullDuration));
+
+            logger.info("[" + testCase.getName() + "]: all axioms took up to " + Util.niceTime(result.fullDuration) + " on " + threads + " worker(s), searching for a subset that takes at least " + keep + " of that");
+
+            BitSet minimal = ddmin(executor, all);
+
+            // the cost of an axiom is how much faster the minimal set gets without it, measured at the same time
+            List<BitSet> without = new ArrayList<>();
+            for (int i = minimal.nextSetBit(0); i >= 0; i = minimal.nextSetBit(i + 1)) {
+                BitSet s = (BitSet) minimal.clone();
+                s.clear(i);
+                without.add(s);
+            }
+            List<Long> withoutDurations = measure(executor, withBaseline(minimal, without), false);
+            result.minimalDuration = withoutDurations.remove(0);
+
+            Map<OWLAxiom, Long> costs = new HashMap<>();
+            int j = 0;
+            for (int i = minimal.nextSetBit(0); i >= 0; i = minimal.nextSetBit(i + 1)) {
+                costs.put(axioms.get(i), result.minimalDuration - withoutDurations.get(j++));
+            }
+            costs.entrySet().stream()
+                    .sorted(Map.Entry.<OWLAxiom, Long>comparingByValue().reversed())
+                    .forEach(e -> result.costs.put(e.getKey(), e.getValue()));
+
+            result.tests = durations.size();
+
+            logger.info("[" + testCase.getName() + "]: " + minimal.cardinality() + " of " + axioms.size() + " logical axioms take " + Util.niceTime(result.minimalDuration) + ", found with " + result.tests + " measured subsets");
+
+            return result;
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private BitSet ddmin(ExecutorService executor, BitSet all) throws InterruptedException, ExecutionException {
+        BitSet c = all;
+        int n = 2;
+
+        while (c.cardinality() >= 2) {
+            List<BitSet> subsets = split(c, n);
+
+            List<BitSet> candidates = new ArrayList<>(subsets);
+            if (n > 2) {
+                // for 2 subsets, the complements are the subsets
+                for (BitSet subset : subsets) {
+                    BitSet complement = (BitSet) c.clone();
+                    complement.andNot(subset);
+                    candidates.add(complement);
+                }
+            }
+
+            List<Long> candidateDurations = measure(executor, withBaseline(all, candidates), false);
+            long threshold = Math.round(keep * candidateDurations.remove(0));
+
+            int slow = -1;
+            for (int i = 0; i < candidates.size(); i++) {
+                if (candidateDurations.get(i) >= threshold) {
+                    slow = i;
+                    break;
+                }
+            }
+
+            if (slow >= 0 && slow < subsets.size()) {
+                c = candidates.get(slow);
+                n = 2;
+            }
+            else if (slow >= 0) {
+                c = candidates.get(slow);
+                n = Math.max(n - 1, 2);
+            }
+            else if (n < c.cardinality()) {
+                n = Math.min(2 * n, c.cardinality());
+            }
+            else {
+                break;
+            }
+
+            logger.info("[" + testCase.getName() + "]: " + c.cardinality() + " axioms left, granularity " + n);
+        }
+
+        return c;
+    }
+
+    /**
+     * @return the set split into {@code n} parts of about the same size, in order
+     */
+    static List<BitSet> split(BitSet set, int n) {
+        int size = set.cardinality();
+        List<BitSet> parts = new ArrayList<>(n);
+
+        int i = set.nextSetBit(0);
+        for (int p = 0; p < n; p++) {
+            BitSet part = new BitSet();
+            int partSize = size / n + (p < size % n ? 1 : 0);
+            for (int k = 0; k < partSize; k++) {
+                part.set(i);
+                i = set.nextSetBit(i + 1);
+            }
+            parts.add(part);
+        }
+
+        return parts;
+    }
+
+    /**
+     * @return the baseline followed by the subsets, to measure the baseline under the same contention as the subsets
+     */
+    private static List<BitSet> withBaseline(BitSet baseline, List<BitSet> subsets) {
+        List<BitSet> list = new ArrayList<>(subsets.size() + 1);
+        list.add(baseline);
+        list.addAll(subsets);
+        return list;
+    }
+
+    /**
+     * @param again whether to measure every subset even if it is already known, the first one (the baseline) is always measured
+     * @return the durations of the subsets in the same order, measured in parallel unless already known
+     */
+    private List<Long> measure(ExecutorService executor, List<BitSet> subsets, boolean again) throws InterruptedException, ExecutionException {
+        List<Future<Long>> futures = new ArrayList<>(subsets.size());
+        for (BitSet subset : subsets) {
+            Long known = again || futures.isEmpty() ? null : durations.get(subset);
+            futures.add(known != null ? CompletableFuture.completedFuture(known) : executor.submit(() -> measure(subset)));
+        }
+
+        List<Long> result = new ArrayList<>(subsets.size());
+        for (int i = 0; i < subsets.size(); i++) {
+            long duration = futures.get(i).get();
+            durations.put(subsets.get(i), duration);
+            result.add(duration);
+        }
+        return result;
+    }
+
+    private long measure(BitSet subset) throws InterruptedException {
+        OWLOntology ont = workers.take();
+
+        try {
+            List<OWLOntologyChange> changes = new LinkedList<>();
+            for (int i = 0; i < axioms.size(); i++) {
+                OWLAxiom axiom = axioms.get(i);
+                boolean contained = ont.containsAxiom(axiom);
+
+                if (subset.get(i) && !contained) {
+                    changes.add(new AddAxiom(ont, axiom));
+                }
+                else if (!subset.get(i) && contained) {
+                    changes.add(new RemoveAxiom(ont, axiom));
+                }
+            }
+            ont.getOWLOntologyManager().applyChanges(changes);
+
+            long best = Long.MAX_VALUE;
+            for (int r = 0; r < repetitions; r++) {
+                best = Math.min(best, measureReasoning(ont));
+            }
+            return best;
+        }
+        finally {
+            workers.add(ont);
+        }
+    }
+
+    /**
+     * @return the duration of creating the reasoner, the consistency check and precomputing the inferences, or the budget if it was exceeded
+     */
+    private long measureReasoning(OWLOntology ont) {
+        long timeout = budget > 0 ? budget : testCase.getTimeout() > 0 ? testCase.getTimeout() : Long.MAX_VALUE;
+        OWLReasonerConfiguration reasonerConfig = new SimpleConfiguration(new NullReasonerProgressMonitor(), FreshEntityPolicy.ALLOW, timeout, IndividualNodeSetPolicy.BY_SAME_AS);
+
+        long t0 = System.nanoTime();
+        OWLReasoner reasoner = reasonerAdapter.createReasoner(ont, reasonerConfig);
+
+        ScheduledFuture<?> interruption = timeout < Long.MAX_VALUE ? watchdog.schedule(reasoner::interrupt, timeout, TimeUnit.MILLISECONDS) : null;
+
+        try {
+            if (reasoner.isConsistent()) {
+                for (InferenceType inferenceType : testCase.getInferences()) {
+                    reasoner.precomputeInferences(inferenceType);
+                }
+            }
+            return System.nanoTime() - t0;
+        }
+        catch (TimeOutException | ReasonerInterruptedException ex) {
+            if (budget == 0) {
+                throw ex;
+            }
+            return TimeUnit.MILLISECONDS.toNanos(budget);
+        }
+        finally {
+            if (interruption != null) {
+                interruption.cancel(false);
+            }
+            reasoner.dispose();
+        }
+    }
+}
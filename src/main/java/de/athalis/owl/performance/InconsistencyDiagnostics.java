@@ -0,0 +1,183 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.reasoner.ReasonerAdapter;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.formats.FunctionalSyntaxDocumentFormat;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Diagnostics of inconsistent cases in debug mode: a dump of the merged model and explanations.
+ * Both are computed once per case and cached, i.e. further warmups and runs of the same case only log them again.
+ * The dump is written in the background without waiting for it, and its file is logged once it is written.
+ */
+class InconsistencyDiagnostics {
+    private static final Logger logger = LoggerFactory.getLogger(InconsistencyDiagnostics.class);
+
+    // how long to wait for interrupted explanations, as the caller disposes the reasoner afterwards
+    private static final int TERMINATION_TIMEOUT_SECONDS = 10;
+
+    private final int explanationLimit;
+    private final int explanationTimeout;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "inconsistency-diagnostics");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Map<String, Future<File>> dumps = new ConcurrentHashMap<>();
+    private final Map<String, List<Set<OWLAxiom>>> explanations = new ConcurrentHashMap<>();
+
+    /**
+     * @param explanationLimit how many explanations to compute
+     * @param explanationTimeout how long to compute explanations in seconds, 0 for no limit
+     */
+    InconsistencyDiagnostics(int explanationLimit, int explanationTimeout) {
+        this.explanationLimit = explanationLimit;
+        this.explanationTimeout = explanationTimeout;
+    }
+
+    /**
+     * Dumps the merged model, computes the explanations and logs both.
+     *
+     * @param caseName the name of the case, which the diagnostics are cached for
+     * @param testCaseName the name of the warmup or run, for logging
+     */
+    void diagnose(String caseName, String testCaseName, OWLOntology ont, ReasonerAdapter reasonerAdapter, OWLReasoner reasoner) {
+        Future<File> dump = dumps.get(caseName);
+        if (dump == null) {
+            dumps.computeIfAbsent(caseName, k -> submitDump(testCaseName, ont));
+        }
+        else if (dump.isDone()) {
+            logDump(testCaseName, dump);
+        }
+        else {
+            logger.info("[" + testCaseName + "]: still dumping merged file...");
+        }
+
+        // not computeIfAbsent, as that would block the map while computing
+        List<Set<OWLAxiom>> ex = explanations.get(caseName);
+        if (ex == null) {
+            ex = computeExplanations(testCaseName, reasonerAdapter, reasoner);
+            explanations.put(caseName, ex);
+        }
+
+        int i = 0;
+        for (Set<OWLAxiom> s : ex) {
+            i++;
+            logger.error("[" + testCaseName + "]: explanation #" + i + ": " + s);
+        }
+        if (i == 0) {
+            logger.error("[" + testCaseName + "]: no explanations found");
+        }
+    }
+
+    /**
+     * @param dump done, i.e. this does not block
+     */
+    private static void logDump(String testCaseName, Future<File> dump) {
+        try {
+            logger.info("[" + testCaseName + "]: dumped to: " + dump.get());
+        }
+        catch (ExecutionException ex) {
+            // ignore, as that is just nice to have
+            logger.debug("[" + testCaseName + "]: unable to dump merged file", ex.getCause());
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Future<File> submitDump(String testCaseName, OWLOntology ont) {
+        logger.info("[" + testCaseName + "]: dumping merged file...");
+
+        // the imports closure is the merged model, copied as it may change or be cleared while writing
+        List<OWLAxiom> axioms = ont.axioms(Imports.INCLUDED).collect(Collectors.toCollection(ArrayList::new));
+
+        return executor.submit(() -> {
+            try {
+                File tmp = File.createTempFile("merged", ".ofn");
+
+                OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+                OWLOntology ontMerged = manager.createOntology(axioms.stream());
+
+                try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tmp))) {
+                    ontMerged.saveOntology(new FunctionalSyntaxDocumentFormat(), out);
+                }
+
+                logger.info("[" + testCaseName + "]: dumped to: " + tmp);
+                return tmp;
+            }
+            catch (Exception ex) {
+                // ignore, as that is just nice to have
+                logger.debug("[" + testCaseName + "]: unable to dump merged file", ex);
+                throw ex;
+            }
+        });
+    }
+
+    /**
+     * @return the explanations that were found until the timeout
+     */
+    private List<Set<OWLAxiom>> computeExplanations(String testCaseName, ReasonerAdapter reasonerAdapter, OWLReasoner reasoner) {
+        if (explanationLimit == 0) {
+            return List.of();
+        }
+
+        logger.info("[" + testCaseName + "]: computing up to " + explanationLimit + " explanation(s)...");
+
+        // cancelling the future does not wait for the task, which may still use the reasoner
+        CountDownLatch finished = new CountDownLatch(1);
+        Future<Set<Set<OWLAxiom>>> future = executor.submit(() -> {
+            try {
+                return reasonerAdapter.getInconsistencyExplanations(reasoner, explanationLimit);
+            }
+            finally {
+                finished.countDown();
+            }
+        });
+
+        try {
+            Set<Set<OWLAxiom>> ex = explanationTimeout > 0 ? future.get(explanationTimeout, TimeUnit.SECONDS) : future.get();
+            return new ArrayList<>(ex);
+        }
+        catch (TimeoutException ex) {
+            future.cancel(true);
+            reasoner.interrupt();
+            logger.warn("[" + testCaseName + "]: explanations timed out after " + explanationTimeout + " s");
+
+            awaitTermination(testCaseName, finished);
+        }
+        catch (ExecutionException ex) {
+            // ignore, as that is just nice to have
+            logger.debug("[" + testCaseName + "]: unable to compute explanations", ex.getCause());
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        return List.of();
+    }
+
+    private static void awaitTermination(String testCaseName, CountDownLatch finished) {
+        try {
+            if (!finished.await(TERMINATION_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("[" + testCaseName + "]: explanations did not stop within " + TERMINATION_TIMEOUT_SECONDS + " s after the interruption, the reasoner may still be in use when it is disposed");
+            }
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
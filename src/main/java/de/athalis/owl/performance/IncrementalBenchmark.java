@@ -0,0 +1,182 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.IncrementalSettings;
+import de.athalis.owl.performance.config.OWLBenchmarkTestCase;
+import de.athalis.owl.performance.config.OWLFile;
+import de.athalis.owl.performance.reasoner.ReasonerAdapter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.AxiomAnnotations;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.semanticweb.owlapi.reasoner.OWLReasonerConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Replays batches of changes against a classified buffering reasoner and measures the re-classification after each batch
+ * ({@code flush} and {@code precomputeInferences}), optionally compared with a classification from scratch.
+ * The ontology is restored after each replay.
+ */
+class IncrementalBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalBenchmark.class);
+
+    private final OWLBenchmarkTestCase testCase;
+    private final OWLOntology ont;
+    private final ReasonerAdapter reasonerAdapter;
+    private final OWLReasonerConfiguration reasonerConfig;
+
+    private final List<List<OWLOntologyChange>> batches = new LinkedList<>();
+
+    IncrementalBenchmark(OWLBenchmarkTestCase testCase, OWLOntology ont, ReasonerAdapter reasonerAdapter, OWLReasonerConfiguration reasonerConfig) throws IOException, OWLOntologyCreationException {
+        this.testCase = testCase;
+        this.ont = ont;
+        this.reasonerAdapter = reasonerAdapter;
+        this.reasonerConfig = reasonerConfig;
+
+        IncrementalSettings settings = testCase.getIncremental();
+
+        if (settings.getDelta() != null) {
+            List<OWLAxiom> axioms = loadDelta(settings);
+            for (List<OWLAxiom> batch : partition(axioms, settings.getBatchSize())) {
+                batches.add(batch.stream().map(a -> new AddAxiom(ont, a)).collect(Collectors.toList()));
+            }
+
+            logger.info("[" + testCase.getName() + "]: adding " + axioms.size() + " axioms in " + batches.size() + " batch(es)");
+        }
+        else {
+            List<RemoveAxiom> removals = sample(settings);
+            for (List<RemoveAxiom> batch : partition(removals, settings.getBatchSize())) {
+                batches.add(new ArrayList<>(batch));
+                batches.add(batch.stream().map(RemoveAxiom::reverseChange).collect(Collectors.toList()));
+            }
+
+            logger.info("[" + testCase.getName() + "]: removing and re-adding " + removals.size() + " axioms in " + batches.size() + " batch(es)");
+        }
+    }
+
+    /**
+     * Parses the delta into a separate manager, so that it may have the same IRI as a file of the case, e.g. a newer version of that file.
+     * Its imports are resolved against copies of the other files of the case.
+     *
+     * @return the axioms of the delta file that are not already part of the case
+     */
+    private List<OWLAxiom> loadDelta(IncrementalSettings settings) throws IOException, OWLOntologyCreationException {
+        OWLFile deltaFile = settings.getDelta();
+        IRI deltaIRI = IRI.create(deltaFile.getIri());
+
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        for (OWLOntology copy : OntologyCache.copyImportsClosure(ont, manager)) {
+            // replaced by the delta
+            if (copy.getOntologyID().matchOntology(deltaIRI) || deltaIRI.equals(manager.getOntologyDocumentIRI(copy))) {
+                manager.removeOntology(copy);
+            }
+        }
+
+        OWLOntology delta = OwlAPIHelper.loadOntology(manager, testCase.getName(), deltaFile);
+
+        return delta.axioms()
+                .filter(a -> !ont.containsAxiom(a, Imports.INCLUDED, AxiomAnnotations.CONSIDER_AXIOM_ANNOTATIONS))
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private List<RemoveAxiom> sample(IncrementalSettings settings) {
+        List<RemoveAxiom> candidates = ont.importsClosure()
+                .sorted()
+                .flatMap(o -> o.logicalAxioms().sorted().map(a -> new RemoveAxiom(o, a)))
+                .collect(Collectors.toList());
+
+        Collections.shuffle(candidates, new Random(settings.getSeed()));
+
+        return candidates.subList(0, Math.min(settings.getSample(), candidates.size()));
+    }
+
+    private static <T> List<List<T>> partition(List<T> list, int batchSize) {
+        if (batchSize == 0 || batchSize >= list.size()) {
+            return list.isEmpty() ? Collections.emptyList() : List.of(list);
+        }
+
+        List<List<T>> result = new LinkedList<>();
+        for (int i = 0; i < list.size(); i += batchSize) {
+            result.add(list.subList(i, Math.min(i + batchSize, list.size())));
+        }
+        return result;
+    }
+
+    /**
+     * @param reasoner buffering reasoner that has classified the ontology
+     */
+    Replay replay(String testCaseName, OWLReasoner reasoner) {
+        OWLOntologyManager manager = ont.getOWLOntologyManager();
+        Replay replay = new Replay();
+
+        Deque<OWLOntologyChange> applied = new LinkedList<>();
+
+        try {
+            int b = 0;
+            for (List<OWLOntologyChange> batch : batches) {
+                b++;
+
+                manager.applyChanges(batch);
+                batch.forEach(applied::push);
+
+                long t0 = System.nanoTime();
+                reasoner.flush();
+                boolean consistent = reasoner.isConsistent();
+                if (consistent) {
+                    for (InferenceType inferenceType : testCase.getInferences()) {
+                        reasoner.precomputeInferences(inferenceType);
+                    }
+                }
+                long incrementalDuration = System.nanoTime() - t0;
+
+                if (!consistent) {
+                    logger.warn("[" + testCaseName + "]: inconsistent after batch " + b + "/" + batches.size());
+                    replay.failed = true;
+                    break;
+                }
+
+                replay.incremental.add(incrementalDuration);
+                logger.debug("[" + testCaseName + "]: batch " + b + "/" + batches.size() + " re-classified in " + Util.niceTime(incrementalDuration));
+
+                if (testCase.getIncremental().isFullReclassification()) {
+                    long t1 = System.nanoTime();
+                    OWLReasoner fresh = reasonerAdapter.createReasoner(ont, reasonerConfig);
+                    try {
+                        fresh.isConsistent();
+                        for (InferenceType inferenceType : testCase.getInferences()) {
+                            fresh.precomputeInferences(inferenceType);
+                        }
+                    }
+                    finally {
+                        fresh.dispose();
+                    }
+                    replay.full.add(System.nanoTime() - t1);
+                }
+            }
+        }
+        finally {
+            while (!applied.isEmpty()) {
+                manager.applyChange(applied.pop().reverseChange());
+            }
+        }
+
+        return replay;
+    }
+
+    static class Replay {
+        // per batch
+        final List<Long> incremental = new LinkedList<>();
+        final List<Long> full = new LinkedList<>();
+
+        boolean failed = false;
+    }
+}
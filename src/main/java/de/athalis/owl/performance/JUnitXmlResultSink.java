@@ -0,0 +1,72 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * JUnit XML report, one test case per benchmark test case: failed and timed out cases are failures, ignored cases are skipped.
+ * The closing tag is rewritten after each result, i.e. the file is valid XML at any time.
+ */
+class JUnitXmlResultSink implements ResultSink {
+
+    private static final String FOOTER = "</testsuite>\n";
+
+    private final RandomAccessFile file;
+
+    JUnitXmlResultSink(File file) throws IOException {
+        this.file = new RandomAccessFile(file, "rw");
+        this.file.setLength(0);
+
+        writeRaw("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<testsuite name=\"owl-performance\">\n" + FOOTER);
+    }
+
+    @Override
+    public void write(BenchmarkResult result) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append("  <testcase classname=\"").append(escape(result.getReasoner()))
+                .append("\" name=\"").append(escape(result.getCaseName()))
+                .append("\" time=\"").append(String.format(Locale.ROOT, "%.3f", result.getRunDuration() != null ? result.getRunDuration() / 1e9 : 0.0)).append("\">\n");
+
+        switch (result.getOutcome()) {
+            case FAILED:
+                sb.append("    <failure message=\"failed\"/>\n");
+                break;
+            case TIMEOUT:
+                sb.append("    <failure message=\"timeout\"/>\n");
+                break;
+            case IGNORED:
+                sb.append("    <skipped/>\n");
+                break;
+            default:
+                break;
+        }
+
+        sb.append("    <system-out>");
+        for (BenchmarkResult.Column column : BenchmarkResult.Column.values()) {
+            sb.append(escape(column.getName())).append('=').append(escape(column.format(result.getValue(column)))).append('\n');
+        }
+        sb.append("</system-out>\n");
+        sb.append("  </testcase>\n");
+
+        file.seek(file.length() - FOOTER.length());
+        writeRaw(sb + FOOTER);
+    }
+
+    private void writeRaw(String s) throws IOException {
+        file.write(s.getBytes(StandardCharsets.UTF_8));
+        file.getFD().sync();
+    }
+
+    static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+}
@@ -0,0 +1,169 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.OWLBenchmarkTestCase;
+import de.athalis.owl.performance.config.YamlConfigFile;
+
+import java.net.URL;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.util.Statistics;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Alternative to {@link OwlAPIBenchmark#runTestCases()}, runs each benchmark test case as parameterised {@link OwlAPIJmhBenchmark}.
+ * The results are reported in the same format.
+ */
+public class JmhRunner {
+    private static final Logger logger = LoggerFactory.getLogger(JmhRunner.class);
+
+    public final Results results = new Results();
+
+    private final YamlConfigFile config;
+    private final URL configURL;
+    private final int maxAliasesForCollections;
+
+    public JmhRunner(YamlConfigFile config, URL configURL, int maxAliasesForCollections) {
+        if (config.getTestCaseCount() == 0) {
+            throw new IllegalArgumentException("no benchmark test cases in configuration");
+        }
+
+        this.config = config;
+        this.configURL = configURL;
+        this.maxAliasesForCollections = maxAliasesForCollections;
+    }
+
+    public void runTestCases() {
+        long count = config.getTestCaseCount();
+
+        if (config.getJfrDirectory() != null) {
+            logger.warn("flight recordings are not supported by the JMH engine, use a JMH profiler instead");
+        }
+
+        for (long i = 0; i < count; i++) {
+            OWLBenchmarkTestCase testCase = config.getTestCase(i);
+            logger.info("test case started: " + testCase.getName());
+
+            runTestCase(i, testCase);
+        }
+    }
+
+    private void runTestCase(long caseIndex, OWLBenchmarkTestCase testCase) {
+        String testCaseBaseName = testCase.getName();
+
+        int warmups = testCase.getWarmups();
+        int runs = testCase.getRuns();
+
+        if (!OWLBenchmarkTestCase.TYPE_CLASSIFICATION.equals(testCase.getType())) {
+            logger.warn("[" + testCaseBaseName + "]: type " + testCase.getType() + " is not supported by the JMH engine, skipping");
+            results.add(new BenchmarkResult(testCaseBaseName, testCase.getReasoner(), BenchmarkResult.Outcome.IGNORED, null, null, null, 0L, 0L, new StageSummary(), null));
+            return;
+        }
+
+        if (testCase.isReuseReasoner()) {
+            logger.warn("[" + testCaseBaseName + "]: reusing the reasoner is not supported by the JMH engine, creating a reasoner for each iteration");
+        }
+
+        if (testCase.getModule() != null) {
+            logger.warn("[" + testCaseBaseName + "]: modules are not supported by the JMH engine, reasoning over the merged model");
+        }
+
+        if (testCase.getAdaptive() != null) {
+            logger.warn("[" + testCaseBaseName + "]: adaptive warmups and runs are not supported by the JMH engine, using " + warmups + " warmup(s) and " + runs + " run(s)");
+        }
+
+        if (runs == 0) {
+            // warmups in forked JVMs do not warm up anything else
+            logger.info("[" + testCaseBaseName + "]: no runs, skipping");
+            results.add(new BenchmarkResult(testCaseBaseName, testCase.getReasoner(), BenchmarkResult.Outcome.IGNORED, null, null, null, 0L, 0L, new StageSummary(), null));
+            return;
+        }
+
+        int forks = config.getJmhForks();
+        int iterationTime = config.getJmhIterationTime();
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(Pattern.quote(OwlAPIJmhBenchmark.class.getName() + ".precomputeInferences"))
+                .param("configURL", configURL.toString())
+                .param("maxAliasesForCollections", String.valueOf(maxAliasesForCollections))
+                .param("caseIndex", String.valueOf(caseIndex))
+                .forks(forks)
+                .warmupIterations(warmups)
+                .measurementIterations(runs)
+                .timeUnit(TimeUnit.NANOSECONDS)
+                .shouldFailOnError(true);
+
+        if (iterationTime > 0) {
+            options = options
+                    .mode(Mode.AverageTime)
+                    .warmupTime(TimeValue.milliseconds(iterationTime))
+                    .measurementTime(TimeValue.milliseconds(iterationTime));
+        }
+        else {
+            // a single reasoning per iteration, just like the warmups and runs of OwlAPIBenchmark
+            options = options.mode(Mode.SingleShotTime);
+        }
+
+        logger.info("[" + testCaseBaseName + "]: starting JMH with " + forks + " fork(s), " + warmups + " warmup and " + runs + " measurement iteration(s)");
+
+        try {
+            Collection<RunResult> runResults = new Runner(options.build()).run();
+
+            if (runResults.isEmpty()) {
+                throw new RunnerException("no JMH results");
+            }
+
+            RunResult runResult = runResults.iterator().next();
+            Statistics statistics = runResult.getPrimaryResult().getStatistics();
+            long n = statistics.getN();
+            long avg_ns = Math.round(statistics.getMean());
+            // time-based iterations perform an unknown number of reasonings
+            Long runDuration_ns = iterationTime > 0 ? null : Math.round(statistics.getSum());
+
+            logger.info("[" + testCaseBaseName + "]: average " + Util.niceTime(avg_ns));
+
+            results.add(new BenchmarkResult(testCaseBaseName, testCase.getReasoner(), BenchmarkResult.Outcome.PASSED, null, runDuration_ns, avg_ns, (long) warmups * Math.max(forks, 1), n, summarize(statistics, avg_ns), null));
+        }
+        catch (RunnerException ex) {
+            if (testCase.isDebug()) {
+                throw new RuntimeException(testCaseBaseName + ": JMH failed", ex);
+            }
+
+            logger.warn("[" + testCaseBaseName + "]: JMH failed", ex);
+            results.add(BenchmarkResult.failed(testCaseBaseName, testCase.getReasoner()));
+        }
+    }
+
+    /**
+     * @return the distribution of the JMH statistics and the average classification, JMH does not measure the other columns
+     */
+    private static StageSummary summarize(Statistics statistics, long avg_ns) {
+        StageSummary summary = new StageSummary();
+
+        summary.min = Math.round(statistics.getMin());
+        summary.p50 = Math.round(statistics.getPercentile(50));
+        summary.p90 = Math.round(statistics.getPercentile(90));
+        summary.p99 = Math.round(statistics.getPercentile(99));
+        summary.max = Math.round(statistics.getMax());
+        summary.standardDeviation = Math.round(statistics.getStandardDeviation());
+        if (statistics.getN() > 1) {
+            double[] ci = statistics.getConfidenceIntervalAt(0.95);
+            summary.confidenceLow = Math.round(ci[0]);
+            summary.confidenceHigh = Math.round(ci[1]);
+        }
+
+        summary.classificationAverage = avg_ns;
+
+        return summary;
+    }
+}
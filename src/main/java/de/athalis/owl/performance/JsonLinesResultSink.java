@@ -0,0 +1,89 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * One JSON object per line, keyed by the column names. Each value is written according to the declared type of its column:
+ * strings as strings, numbers as numbers, the inference averages as object, and "n.a." as null.
+ */
+class JsonLinesResultSink implements ResultSink {
+
+    private final Writer writer;
+
+    JsonLinesResultSink(File file) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void write(BenchmarkResult result) throws IOException {
+        StringJoiner sj = new StringJoiner(",", "{", "}\n");
+        for (BenchmarkResult.Column column : BenchmarkResult.Column.values()) {
+            sj.add(string(column.getName()) + ":" + value(column, result.getValue(column)));
+        }
+
+        writer.write(sj.toString());
+        writer.flush();
+    }
+
+    private static String value(BenchmarkResult.Column column, Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (column.getType() == String.class) {
+            return string((String) value);
+        }
+        if (column.getType() == Map.class) {
+            StringJoiner sj = new StringJoiner(",", "{", "}");
+            for (Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+                sj.add(string(e.getKey().toString()) + ":" + e.getValue());
+            }
+            return sj.toString();
+        }
+        if (value instanceof Double && !Double.isFinite((Double) value)) {
+            return "null";
+        }
+        return column.format(value);
+    }
+
+    static String string(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2);
+        sb.append('"');
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    }
+                    else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+        return sb.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -7,7 +7,7 @@ import de.athalis.owl.performance.config.YamlConfigFile;
 import java.io.*;
 import java.net.URI;
 import java.net.URL;
-import java.util.Map;
+import java.util.*;
 
 import org.semanticweb.owlapi.model.OWLOntology;
 import org.slf4j.Logger;
@@ -20,12 +20,28 @@ public class Main {
     public static void main(String[] args) {
         long initStartTime = System.nanoTime();
 
-        if (args.length < 1 || args.length > 2) {
+        // options like --engine=jmh may be given anywhere
+        Map<String, String> options = new HashMap<>();
+        List<String> positional = new LinkedList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+            else {
+                positional.add(arg);
+            }
+        }
+
+        if ("compare".equals(options.get("command"))) {
+            System.exit(compare(options, positional));
+        }
+
+        if (positional.size() < 1 || positional.size() > 2) {
             throw new IllegalArgumentException("needs first parameter as path to yaml config file and optionally second parameter for yaml maxAliasesForCollections limit");
         }
 
-        String pathRaw = args[0];
-        String limitRaw = args.length > 1 ? args[1] : null;
+        String pathRaw = positional.get(0);
+        String limitRaw = positional.size() > 1 ? positional.get(1) : null;
 
         LoaderOptions loadingConfig = new LoaderOptions();
         if (limitRaw != null && !limitRaw.isBlank()) {
@@ -60,30 +76,152 @@ public class Main {
             YamlConfigFile config = YamlConfigFile.readYaml(url, loadingConfig);
             logger.debug("config loaded");
 
-            OwlAPIBenchmark owlAPIBenchmark = new OwlAPIBenchmark(config);
+            if ("snapshot".equals(options.get("command"))) {
+                OntologySnapshot.writeSnapshots(config.getFiles());
+                return;
+            }
+
+            if ("hotspots".equals(options.get("command"))) {
+                findHotspots(config, options);
+                return;
+            }
+
+            if (options.containsKey("engine")) {
+                config.setEngine(options.get("engine"));
+            }
+
+            Results results;
 
-            owlAPIBenchmark.init();
+            if (YamlConfigFile.ENGINE_JMH.equals(config.getEngine())) {
+                logger.info("using JMH engine");
 
-            long initEndTime = System.nanoTime();
-            logger.info("init took " + Util.niceTime(initEndTime - initStartTime));
+                JmhRunner jmhRunner = new JmhRunner(config, url, loadingConfig.getMaxAliasesForCollections());
+                results = jmhRunner.results;
+                results.openSinks(config.getResultFiles());
 
-            long startTime = System.nanoTime();
+                long startTime = System.nanoTime();
 
-            for (Map.Entry<OWLBenchmarkTestCase, OWLOntology> e : owlAPIBenchmark.testData.entrySet()) {
-                logger.info("test case started: " + e.getKey().getName());
+                jmhRunner.runTestCases();
 
-                owlAPIBenchmark.runTestCase(e.getKey(), e.getValue());
+                long endTime = System.nanoTime();
+                logger.info("all test cases took " + Util.niceTime(endTime - startTime));
             }
+            else if (YamlConfigFile.ENGINE_FORK.equals(config.getEngine())) {
+                logger.info("using fork engine");
 
-            long endTime = System.nanoTime();
-            logger.info("all test cases took " + Util.niceTime(endTime - startTime));
+                ForkedRunner forkedRunner = new ForkedRunner(config, url, loadingConfig.getMaxAliasesForCollections());
+                results = forkedRunner.results;
+                results.openSinks(config.getResultFiles());
+
+                long startTime = System.nanoTime();
+
+                forkedRunner.runTestCases();
+
+                long endTime = System.nanoTime();
+                logger.info("all test cases took " + Util.niceTime(endTime - startTime));
+            }
+            else if (YamlConfigFile.ENGINE_DEFAULT.equals(config.getEngine())) {
+                OwlAPIBenchmark owlAPIBenchmark = new OwlAPIBenchmark(config);
+                results = owlAPIBenchmark.results;
+                results.openSinks(config.getResultFiles());
+
+                owlAPIBenchmark.init();
+
+                long initEndTime = System.nanoTime();
+                logger.info("init took " + Util.niceTime(initEndTime - initStartTime));
+
+                long startTime = System.nanoTime();
+
+                owlAPIBenchmark.runTestCases();
+
+                long endTime = System.nanoTime();
+                logger.info("all test cases took " + Util.niceTime(endTime - startTime));
+            }
+            else {
+                throw new IllegalArgumentException("unknown engine: " + config.getEngine());
+            }
 
             System.out.println("Results:");
-            System.out.println("case\twarmupDuration_ms\trunDuration_ms\tavg_ms\tresult\twarmups\truns");
-            owlAPIBenchmark.results.forEach(System.out::println);
+            System.out.println(OwlAPIBenchmark.RESULT_HEADER);
+            results.forEach(System.out::println);
+            results.close();
+        }
+        catch (Exception ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    /**
+     * Searches the axioms of a single case that make it slow, see {@link HotspotFinder}.
+     */
+    private static void findHotspots(YamlConfigFile config, Map<String, String> options) throws Exception {
+        String caseName = options.get("case");
+        if (caseName == null) {
+            throw new IllegalArgumentException("hotspots needs the name of the case as --case");
+        }
+
+        OWLBenchmarkTestCase testCase = null;
+        for (OWLBenchmarkTestCase c : config.testCases()) {
+            if (c.getName().equals(caseName)) {
+                testCase = c;
+                break;
+            }
+        }
+        if (testCase == null) {
+            throw new IllegalArgumentException("unknown case: " + caseName);
+        }
+
+        double keep = Double.parseDouble(options.getOrDefault("keep", "0.5"));
+        int repetitions = Integer.parseInt(options.getOrDefault("repetitions", "3"));
+        int threads = Integer.parseInt(options.getOrDefault("threads", String.valueOf(config.getParallelism())));
+
+        OwlAPIBenchmark.initReasoners(List.of(testCase));
+        OWLOntology ont = new OwlAPIBenchmark(config).createMergedModel(testCase);
+
+        HotspotFinder.Result result = new HotspotFinder(testCase, ont, keep, repetitions, threads).run();
+
+        System.out.println("Hotspots:");
+        System.out.println(HotspotFinder.HEADER);
+        result.toLines().forEach(System.out::println);
+    }
+
+    /**
+     * @param positional the result files of the baseline and the current benchmark
+     * @return the exit code: 0 if no case regressed, 1 if any case regressed, 2 on errors
+     */
+    static int compare(Map<String, String> options, List<String> positional) {
+        // exit code 1 is reserved for regressions, invalid arguments are errors as well
+        if (positional.size() != 2) {
+            logger.error("compare needs the result files of the baseline and the current benchmark as parameters, got " + positional.size());
+            return 2;
+        }
+
+        try {
+            double threshold = Double.parseDouble(options.getOrDefault("threshold", "10"));
+            double alpha = Double.parseDouble(options.getOrDefault("alpha", "0.05"));
+            File baselineSamples = options.containsKey("baselineSamples") ? new File(options.get("baselineSamples")) : null;
+            File currentSamples = options.containsKey("currentSamples") ? new File(options.get("currentSamples")) : null;
+
+            if (baselineSamples == null || currentSamples == null) {
+                logger.warn("without --baselineSamples and --currentSamples, only cases that failed or timed out count as regression");
+            }
+
+            ResultComparison comparison = new ResultComparison(threshold, alpha);
+            List<ResultComparison.Row> rows = comparison.compare(new File(positional.get(0)), new File(positional.get(1)), baselineSamples, currentSamples);
+
+            System.out.println("Comparison:");
+            System.out.println(ResultComparison.HEADER);
+            rows.forEach(System.out::println);
+
+            if (ResultComparison.hasRegression(rows)) {
+                logger.warn("regression beyond " + threshold + "% detected");
+                return 1;
+            }
+            return 0;
         }
         catch (Exception ex) {
             ex.printStackTrace();
+            return 2;
         }
     }
 }
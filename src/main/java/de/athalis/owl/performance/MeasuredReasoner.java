@@ -0,0 +1,147 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.reasoner.ReasonerAdapter;
+import de.athalis.owl.performance.reasoner.WarmReasoner;
+
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.semanticweb.owlapi.reasoner.OWLReasonerConfiguration;
+
+/**
+ * The reasoner of the warmups and runs of a case, see {@link OwlAPIBenchmark}: either a reasoner created for each of them, or a reused knowledge base.
+ */
+interface MeasuredReasoner {
+
+    /**
+     * The creation phase: creates the reasoner, or discards the derived state of the reused knowledge base.
+     */
+    void create();
+
+    boolean isConsistent();
+
+    void precomputeInferences(InferenceType inferenceType);
+
+    /**
+     * Interrupts a running consistency check or classification, called from another thread.
+     */
+    void interrupt();
+
+    /**
+     * Called after each warmup or run: disposes a created reasoner, but keeps a reused knowledge base.
+     */
+    void dispose();
+
+    /**
+     * @return the created reasoner, e.g. for explanations, or null if the knowledge base is reused
+     */
+    OWLReasoner getOWLReasoner();
+
+    /**
+     * @param buffering whether to create a buffering reasoner instead of a non-buffering one
+     */
+    static MeasuredReasoner perMeasurement(ReasonerAdapter reasonerAdapter, OWLOntology ont, OWLReasonerConfiguration config, boolean buffering) {
+        return new Created(reasonerAdapter, ont, config, buffering);
+    }
+
+    /**
+     * @param reasoner disposed by the caller once the case is done
+     */
+    static MeasuredReasoner reused(WarmReasoner reasoner) {
+        return new Reused(reasoner);
+    }
+
+    class Created implements MeasuredReasoner {
+
+        private final ReasonerAdapter reasonerAdapter;
+        private final OWLOntology ont;
+        private final OWLReasonerConfiguration config;
+        private final boolean buffering;
+
+        // null until created
+        private volatile OWLReasoner reasoner = null;
+
+        private Created(ReasonerAdapter reasonerAdapter, OWLOntology ont, OWLReasonerConfiguration config, boolean buffering) {
+            this.reasonerAdapter = reasonerAdapter;
+            this.ont = ont;
+            this.config = config;
+            this.buffering = buffering;
+        }
+
+        @Override
+        public void create() {
+            reasoner = buffering ? reasonerAdapter.createBufferingReasoner(ont, config) : reasonerAdapter.createReasoner(ont, config);
+        }
+
+        @Override
+        public boolean isConsistent() {
+            return reasoner.isConsistent();
+        }
+
+        @Override
+        public void precomputeInferences(InferenceType inferenceType) {
+            reasoner.precomputeInferences(inferenceType);
+        }
+
+        @Override
+        public void interrupt() {
+            OWLReasoner current = reasoner;
+            if (current != null) {
+                current.interrupt();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            // a non-buffering reasoner listens to the changes of the manager, i.e. would be kept until the case is done
+            if (reasoner != null) {
+                reasoner.dispose();
+                reasoner = null;
+            }
+        }
+
+        @Override
+        public OWLReasoner getOWLReasoner() {
+            return reasoner;
+        }
+    }
+
+    class Reused implements MeasuredReasoner {
+
+        private final WarmReasoner reasoner;
+
+        private Reused(WarmReasoner reasoner) {
+            this.reasoner = reasoner;
+        }
+
+        @Override
+        public void create() {
+            reasoner.reset();
+        }
+
+        @Override
+        public boolean isConsistent() {
+            return reasoner.isConsistent();
+        }
+
+        @Override
+        public void precomputeInferences(InferenceType inferenceType) {
+            reasoner.precomputeInferences(inferenceType);
+        }
+
+        @Override
+        public void interrupt() {
+            reasoner.interrupt();
+        }
+
+        @Override
+        public void dispose() {
+        }
+
+        @Override
+        public OWLReasoner getOWLReasoner() {
+            return null;
+        }
+    }
+}
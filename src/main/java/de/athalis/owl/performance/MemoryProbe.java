@@ -0,0 +1,93 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import java.lang.management.*;
+
+/**
+ * Memory and GC counters of a single warmup or run, taken from the {@code java.lang.management} MXBeans.
+ * Allocations are only counted for the current thread, and only if the JVM supports it.
+ */
+class MemoryProbe {
+
+    private final long threadId = Thread.currentThread().getId();
+
+    private final long allocatedStart;
+    private final long gcCountStart;
+    private final long gcTimeStart;
+
+    private boolean stopped = false;
+
+    MemoryProbe() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+
+        this.gcCountStart = gcCount();
+        this.gcTimeStart = gcTime();
+        this.allocatedStart = allocatedBytes(threadId);
+    }
+
+    /**
+     * Records the counters since the creation of this probe, only the first call has an effect.
+     */
+    void stop(ReasoningMeasurement measurement) {
+        if (stopped) {
+            return;
+        }
+        stopped = true;
+
+        long allocatedEnd = allocatedBytes(threadId);
+
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+                // the pools peak at different times, i.e. this is an upper bound
+                peakHeap += pool.getPeakUsage().getUsed();
+            }
+        }
+
+        measurement.setMemory(allocatedStart >= 0 && allocatedEnd >= 0 ? allocatedEnd - allocatedStart : -1, peakHeap, gcCount() - gcCountStart, gcTime() - gcTimeStart);
+    }
+
+    /**
+     * @return the used heap after a forced GC
+     */
+    static long usedHeapAfterGC() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long allocatedBytes(long threadId) {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+            if (sunThreadMXBean.isThreadAllocatedMemorySupported() && sunThreadMXBean.isThreadAllocatedMemoryEnabled()) {
+                return sunThreadMXBean.getThreadAllocatedBytes(threadId);
+            }
+        }
+
+        return -1;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(gc.getCollectionCount(), 0);
+        }
+        return count;
+    }
+
+    /**
+     * @return the accumulated collection time in milliseconds
+     */
+    private static long gcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(gc.getCollectionTime(), 0);
+        }
+        return time;
+    }
+}
@@ -0,0 +1,110 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.ModuleSettings;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import uk.ac.manchester.cs.owlapi.modularity.ModuleType;
+import uk.ac.manchester.cs.owlapi.modularity.SyntacticLocalityModuleExtractor;
+
+/**
+ * A syntactic locality-based module of the merged model for the seed signature of a case, as a new ontology in its own manager.
+ * The module preserves the entailments over the seed signature, which {@link #verify(OWLReasoner, OWLReasoner)} checks for the class hierarchy.
+ */
+class ModuleExtraction {
+
+    private final Set<OWLEntity> signature;
+    private final OWLOntology module;
+    private final long duration;
+    private final long mergedAxiomCount;
+
+    private ModuleExtraction(Set<OWLEntity> signature, OWLOntology module, long duration, long mergedAxiomCount) {
+        this.signature = signature;
+        this.module = module;
+        this.duration = duration;
+        this.mergedAxiomCount = mergedAxiomCount;
+    }
+
+    /**
+     * @throws IllegalArgumentException if an IRI of the seed signature is not part of the merged model
+     */
+    static ModuleExtraction extract(OWLOntology ont, ModuleSettings settings) throws OWLOntologyCreationException {
+        Set<OWLEntity> signature = new HashSet<>();
+        for (String iri : settings.getSignature()) {
+            List<OWLEntity> entities = ont.entitiesInSignature(IRI.create(iri), Imports.INCLUDED).collect(Collectors.toList());
+            if (entities.isEmpty()) {
+                throw new IllegalArgumentException("module signature contains unknown entity: " + iri);
+            }
+            signature.addAll(entities);
+        }
+
+        long t0 = System.nanoTime();
+        SyntacticLocalityModuleExtractor extractor = new SyntacticLocalityModuleExtractor(ont.getOWLOntologyManager(), ont.axioms(Imports.INCLUDED), ModuleType.valueOf(settings.getType()));
+        Set<OWLAxiom> axioms = extractor.extract(signature);
+
+        // the declarations of the seed signature, so that it is part of the module even if no axiom refers to it
+        OWLDataFactory df = ont.getOWLOntologyManager().getOWLDataFactory();
+        Stream<OWLAxiom> declarations = signature.stream().map(df::getOWLDeclarationAxiom);
+
+        OWLOntology module = OWLManager.createOWLOntologyManager().createOntology(Stream.concat(axioms.stream(), declarations));
+        long duration = System.nanoTime() - t0;
+
+        return new ModuleExtraction(signature, module, duration, ont.getAxiomCount(Imports.INCLUDED));
+    }
+
+    OWLOntology getModule() {
+        return module;
+    }
+
+    /**
+     * @return the duration of the extraction including the creation of the module ontology, in nanoseconds
+     */
+    long getDuration() {
+        return duration;
+    }
+
+    @Override
+    public String toString() {
+        return module.getAxiomCount() + " of " + mergedAxiomCount + " axioms for " + signature.size() + " seed entities";
+    }
+
+    /**
+     * Compares the super and equivalent classes of each class of the seed signature, restricted to the seed signature and {@code owl:Nothing}.
+     *
+     * @param merged reasoner of the merged model that precomputed the class hierarchy
+     * @param moduleReasoner reasoner of the module that precomputed the class hierarchy
+     * @return a description of each class whose classification differs, in order
+     */
+    List<String> verify(OWLReasoner merged, OWLReasoner moduleReasoner) {
+        Set<OWLClass> classes = signature.stream().filter(OWLEntity::isOWLClass).map(OWLEntity::asOWLClass).collect(Collectors.toSet());
+
+        Set<OWLClass> relevant = new HashSet<>(classes);
+        relevant.add(module.getOWLOntologyManager().getOWLDataFactory().getOWLNothing());
+
+        List<String> differences = new LinkedList<>();
+        for (OWLClass c : classes.stream().sorted().collect(Collectors.toList())) {
+            Set<OWLClass> expected = classify(merged, c, relevant);
+            Set<OWLClass> actual = classify(moduleReasoner, c, relevant);
+
+            if (!expected.equals(actual)) {
+                differences.add(c + ": expected " + expected + ", got " + actual);
+            }
+        }
+
+        return differences;
+    }
+
+    private static Set<OWLClass> classify(OWLReasoner reasoner, OWLClass c, Set<OWLClass> relevant) {
+        return Stream.concat(reasoner.getSuperClasses(c, false).entities(), reasoner.getEquivalentClasses(c).entities())
+                .filter(relevant::contains)
+                .filter(s -> !s.equals(c))
+                .collect(Collectors.toSet());
+    }
+}
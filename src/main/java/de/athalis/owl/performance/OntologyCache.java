@@ -0,0 +1,211 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.OWLFile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps parsed ontology files, keyed by their path and IRI and the files listed before them, so that files used by multiple benchmark test cases are only parsed once.
+ * Each parsed file lives in its own manager, test cases only get copies of it.
+ * The number of kept files is bounded, the least recently used file is evicted first.
+ */
+public class OntologyCache {
+    private static final Logger logger = LoggerFactory.getLogger(OntologyCache.class);
+
+    private final int maxEntries;
+
+    // access order for LRU eviction
+    private final LinkedHashMap<Key, CompletableFuture<OWLOntology>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private int hits = 0;
+    private int misses = 0;
+    private int evictions = 0;
+
+    public OntologyCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("cache size must be positive");
+        }
+
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Thread-safe, concurrent requests for the same file wait for the first one to parse it.
+     *
+     * @param precedingFiles the files that are listed before {@code f} in the test case, part of the key as the parsed ontology depends on them
+     * @param preceding the ontologies of {@code precedingFiles}. These were loaded to the same manager before, i.e. imports of {@code f} are resolved against them.
+     */
+    public OWLOntology get(String caseName, OWLFile f, List<OWLFile> precedingFiles, List<OWLOntology> preceding) throws IOException, OWLOntologyCreationException {
+        Key key = new Key(f, precedingFiles);
+        CompletableFuture<OWLOntology> future;
+        boolean parse = false;
+
+        synchronized (this) {
+            future = entries.get(key);
+
+            if (future != null) {
+                hits++;
+                logger.info("[" + caseName + "] cache hit: " + f.getPathURI());
+            }
+            else {
+                misses++;
+                logger.info("[" + caseName + "] cache miss: " + f.getPathURI());
+
+                future = new CompletableFuture<>();
+                entries.put(key, future);
+                parse = true;
+
+                Iterator<Map.Entry<Key, CompletableFuture<OWLOntology>>> it = entries.entrySet().iterator();
+                while (entries.size() > maxEntries && it.hasNext()) {
+                    Map.Entry<Key, CompletableFuture<OWLOntology>> eldest = it.next();
+                    it.remove();
+                    evictions++;
+                    logger.debug("[" + caseName + "] cache evicted: " + eldest.getKey());
+                }
+            }
+        }
+
+        if (parse) {
+            try {
+                OWLOntology ont = parse(caseName, f, preceding);
+                future.complete(ont);
+                return ont;
+            }
+            catch (IOException | OWLOntologyCreationException | RuntimeException ex) {
+                future.completeExceptionally(ex);
+                synchronized (this) {
+                    entries.remove(key, future);
+                }
+                throw ex;
+            }
+        }
+
+        try {
+            return future.join();
+        }
+        catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof OWLOntologyCreationException) {
+                throw (OWLOntologyCreationException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw ex;
+        }
+    }
+
+    private OWLOntology parse(String caseName, OWLFile f, List<OWLOntology> preceding) throws IOException, OWLOntologyCreationException {
+        // cached ontologies are read by multiple threads
+        OWLOntologyManager manager = OWLManager.createConcurrentOWLOntologyManager();
+
+        List<OWLOntology> helpers = new LinkedList<>();
+        for (OWLOntology p : preceding) {
+            helpers.addAll(copyImportsClosure(p, manager));
+        }
+
+        OWLOntology ont = OwlAPIHelper.loadOntology(manager, caseName, f);
+
+        // only needed to resolve imports while parsing, they are cached on their own
+        helpers.forEach(manager::removeOntology);
+
+        return ont;
+    }
+
+    /**
+     * Copies the ontology and its imports closure to the given manager, skipping ontologies that the manager already contains.
+     *
+     * @return the copies
+     */
+    public static List<OWLOntology> copyImportsClosure(OWLOntology ont, OWLOntologyManager target) throws OWLOntologyCreationException {
+        List<OWLOntology> copies = new LinkedList<>();
+
+        for (OWLOntology o : ont.getImportsClosure()) {
+            if (!target.contains(o.getOntologyID())) {
+                copies.add(target.copyOntology(o, OntologyCopy.DEEP));
+            }
+        }
+
+        return copies;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int getHits() {
+        return hits;
+    }
+
+    public synchronized int getMisses() {
+        return misses;
+    }
+
+    public synchronized int getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "OntologyCache{" +
+                "maxEntries=" + maxEntries +
+                ", entries=" + entries.size() +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                '}';
+    }
+
+    private static final class Key {
+        private final URI pathURI;
+        private final String iri;
+
+        // the imports of the file are resolved against the preceding files, i.e. the same file may result in different ontologies
+        private final List<Key> preceding;
+
+        private Key(OWLFile f, List<OWLFile> precedingFiles) {
+            this.pathURI = f.getPathURI();
+            this.iri = f.getIri();
+
+            List<Key> preceding = new ArrayList<>(precedingFiles.size());
+            for (OWLFile p : precedingFiles) {
+                preceding.add(new Key(p, Collections.emptyList()));
+            }
+            this.preceding = preceding;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return Objects.equals(pathURI, key.pathURI) && Objects.equals(iri, key.iri) && preceding.equals(key.preceding);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(pathURI, iri, preceding);
+        }
+
+        @Override
+        public String toString() {
+            if (preceding.isEmpty()) {
+                return pathURI + " (" + iri + ")";
+            }
+            return pathURI + " (" + iri + ") after " + preceding;
+        }
+    }
+}
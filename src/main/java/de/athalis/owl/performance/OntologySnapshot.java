@@ -0,0 +1,229 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.OWLFile;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Binary snapshot of a parsed ontology file, stored next to the file as {@code <path>.snapshot}.
+ * The header holds the SHA-256 of the source file, i.e. an outdated snapshot is ignored.
+ * The body is written by {@link SnapshotCodec}: a table of the IRIs and literals, followed by the ontology ID, imports, annotations and axioms,
+ * which refer to the table by index. It is read directly from the memory-mapped file.
+ */
+public class OntologySnapshot {
+    private static final Logger logger = LoggerFactory.getLogger(OntologySnapshot.class);
+
+    private static final int MAGIC = 0x4f574c53; // "OWLS"
+    private static final int VERSION = 2;
+
+    private final OWLOntologyID ontologyID;
+    private final List<OWLImportsDeclaration> importsDeclarations;
+    private final List<OWLAnnotation> annotations;
+    private final List<OWLAxiom> axioms;
+
+    private OntologySnapshot(OWLOntology ont) {
+        this(ont.getOntologyID(),
+                ont.importsDeclarations().collect(Collectors.toList()),
+                ont.annotations().collect(Collectors.toList()),
+                ont.axioms(Imports.EXCLUDED).collect(Collectors.toList()));
+    }
+
+    OntologySnapshot(OWLOntologyID ontologyID, List<OWLImportsDeclaration> importsDeclarations, List<OWLAnnotation> annotations, List<OWLAxiom> axioms) {
+        this.ontologyID = ontologyID;
+        this.importsDeclarations = importsDeclarations;
+        this.annotations = annotations;
+        this.axioms = axioms;
+    }
+
+    /**
+     * @return the snapshot file of a local ontology file, or null if the ontology file is not local
+     */
+    static File getSnapshotFile(OWLFile f) {
+        if (f.getPathURI() == null || !"file".equals(f.getPathURI().getScheme())) {
+            return null;
+        }
+
+        return new File(new File(f.getPathURI()).getPath() + ".snapshot");
+    }
+
+    /**
+     * @return the hex encoded SHA-256 of the content of the ontology file
+     */
+    static String hash(OWLFile f) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException ex) {
+            throw new InternalError("SHA-256 is not available", ex);
+        }
+
+        try (InputStream in = new DigestInputStream(f.getPathURI().toURL().openStream(), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest.digest()) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Loads the snapshot of the ontology file to the manager, if the snapshot exists, is up to date and all its imports are already loaded to the manager.
+     *
+     * @return the loaded ontology, or null to parse the ontology file instead
+     */
+    static OWLOntology load(OWLOntologyManager manager, String caseName, OWLFile f) {
+        File snapshotFile = getSnapshotFile(f);
+        if (snapshotFile == null || !snapshotFile.isFile()) {
+            return null;
+        }
+
+        OWLOntology ont = null;
+
+        try {
+            long t0 = System.nanoTime();
+            OntologySnapshot snapshot = read(snapshotFile, hash(f));
+
+            if (snapshot == null) {
+                logger.info("[" + caseName + "] snapshot is outdated: " + snapshotFile);
+                return null;
+            }
+
+            for (OWLImportsDeclaration importsDeclaration : snapshot.importsDeclarations) {
+                if (manager.getImportedOntology(importsDeclaration) == null) {
+                    logger.info("[" + caseName + "] snapshot import is not loaded yet, parsing instead: " + importsDeclaration.getIRI());
+                    return null;
+                }
+            }
+
+            ont = manager.createOntology(snapshot.ontologyID);
+            manager.setOntologyDocumentIRI(ont, IRI.create(f.getIri()));
+
+            List<OWLOntologyChange> changes = new ArrayList<>(snapshot.importsDeclarations.size() + snapshot.annotations.size());
+            for (OWLImportsDeclaration importsDeclaration : snapshot.importsDeclarations) {
+                changes.add(new AddImport(ont, importsDeclaration));
+            }
+            for (OWLAnnotation annotation : snapshot.annotations) {
+                changes.add(new AddOntologyAnnotation(ont, annotation));
+            }
+            manager.applyChanges(changes);
+            ont.addAxioms(snapshot.axioms);
+
+            logger.info("[" + caseName + "] loaded snapshot to manager in " + Util.niceTime(System.nanoTime() - t0) + ": " + ont.getOntologyID().getOntologyIRI());
+
+            return ont;
+        }
+        catch (IOException | OWLOntologyCreationException | RuntimeException ex) {
+            logger.warn("[" + caseName + "] unable to load snapshot, parsing instead: " + snapshotFile, ex);
+
+            if (ont != null) {
+                manager.removeOntology(ont);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * @return the snapshot, or null if it does not match the version or the hash
+     * @throws IOException if the snapshot is malformed, or larger than a single memory mapping (2 GiB)
+     */
+    static OntologySnapshot read(File snapshotFile, String hash) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshotFile.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("snapshot is too large to be mapped: " + channel.size() + " bytes");
+            }
+
+            ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            try {
+                if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+                    return null;
+                }
+                if (!hash.equals(SnapshotCodec.readString(in))) {
+                    return null;
+                }
+            }
+            catch (BufferUnderflowException ex) {
+                throw new IOException("truncated snapshot header", ex);
+            }
+
+            return new SnapshotCodec.Decoder(in, OWLManager.getOWLDataFactory()).decode();
+        }
+    }
+
+    private static void write(File snapshotFile, String hash, OntologySnapshot snapshot) throws IOException {
+        SnapshotCodec.Encoder encoder = new SnapshotCodec.Encoder(snapshot.ontologyID, snapshot.importsDeclarations, snapshot.annotations, snapshot.axioms);
+
+        // write to a temporary file first, so that a snapshot is either complete or missing
+        File tmp = new File(snapshotFile.getPath() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            SnapshotCodec.writeString(out, hash);
+
+            encoder.writeTo(out);
+        }
+
+        Files.move(tmp.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Parses the files in order into a single manager (i.e. imports of preceding files are resolved) and writes their snapshots.
+     * Reports the parse time and the load time of each snapshot.
+     */
+    public static void writeSnapshots(List<OWLFile> files) {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+
+        for (OWLFile f : files) {
+            File snapshotFile = getSnapshotFile(f);
+            if (snapshotFile == null) {
+                logger.warn("not a local file, skipping snapshot: " + f.getPathURI());
+                continue;
+            }
+
+            try {
+                String hash = hash(f);
+
+                long t0 = System.nanoTime();
+                OWLOntology ont = OwlAPIHelper.parseOntology(manager, "snapshot", f);
+                long parseDuration = System.nanoTime() - t0;
+
+                write(snapshotFile, hash, new OntologySnapshot(ont));
+
+                long t1 = System.nanoTime();
+                OntologySnapshot snapshot = read(snapshotFile, hash);
+                long loadDuration = System.nanoTime() - t1;
+
+                if (snapshot == null || !new HashSet<>(snapshot.axioms).equals(ont.axioms(Imports.EXCLUDED).collect(Collectors.toSet()))) {
+                    throw new IOException("snapshot does not match the ontology");
+                }
+
+                logger.info("snapshot written: " + snapshotFile + " (" + snapshotFile.length() + " bytes, " + snapshot.axioms.size() + " axioms), parsing took " + Util.niceTime(parseDuration) + ", loading the snapshot took " + Util.niceTime(loadDuration));
+            }
+            catch (IOException | OWLOntologyCreationException ex) {
+                logger.warn("unable to write snapshot: " + snapshotFile, ex);
+            }
+        }
+    }
+}
@@ -3,19 +3,23 @@ package de.athalis.owl.performance;
 
 import de.athalis.owl.performance.config.OWLBenchmarkTestCase;
 import de.athalis.owl.performance.config.OWLFile;
+import de.athalis.owl.performance.config.ScalingSettings;
+import de.athalis.owl.performance.config.ThroughputSettings;
 import de.athalis.owl.performance.config.YamlConfigFile;
+import de.athalis.owl.performance.reasoner.ReasonerAdapter;
+import de.athalis.owl.performance.reasoner.ReasonerAdapters;
+import de.athalis.owl.performance.reasoner.WarmReasoner;
 
 import java.io.File;
+import java.io.IOException;
+import java.text.ParseException;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
 
-import openllet.core.OpenlletOptions;
-import openllet.owlapi.OpenlletReasoner;
-import openllet.owlapi.OpenlletReasonerFactory;
-import openllet.owlapi.explanation.PelletExplanation;
-import org.semanticweb.owlapi.formats.RDFXMLDocumentFormat;
+import org.semanticweb.owlapi.apibinding.OWLManager;
 import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.reasoner.*;
-import org.semanticweb.owlapi.util.OWLOntologyMerger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,235 +27,952 @@ public class OwlAPIBenchmark {
 
     private final static Logger logger = LoggerFactory.getLogger(OwlAPIBenchmark.class);
 
+    public static final String RESULT_HEADER = String.join("\t", BenchmarkResult.getColumnNames());
+
     // preserve order
     public final HashMap<OWLBenchmarkTestCase, OWLOntology> testData = new LinkedHashMap<>();
-    public final List<String> results = new LinkedList<>();
+    public final Results results = new Results();
 
     private final YamlConfigFile config;
+    private final OntologyCache cache;
+    private final InconsistencyDiagnostics diagnostics;
 
     private final ReasonerProgressMonitor progressMonitorNormal = new NullReasonerProgressMonitor();
     private final ReasonerProgressMonitor progressMonitorDebug = new ConsoleProgressMonitor();
 
-    private final OWLReasonerConfiguration reasonerConfigNormal = new SimpleConfiguration(progressMonitorNormal, FreshEntityPolicy.ALLOW, Long.MAX_VALUE, IndividualNodeSetPolicy.BY_SAME_AS);
-    private final OWLReasonerConfiguration reasonerConfigDebug = new SimpleConfiguration(progressMonitorDebug, FreshEntityPolicy.ALLOW, Long.MAX_VALUE, IndividualNodeSetPolicy.BY_SAME_AS);
+    // interrupts reasoners that exceed the timeout of their case
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "reasoner-watchdog");
+        t.setDaemon(true);
+        return t;
+    });
 
     public OwlAPIBenchmark(YamlConfigFile config) {
-        if (config.getCases() == null || config.getCases().isEmpty()) {
+        if (config.getTestCaseCount() == 0) {
             throw new IllegalArgumentException("no benchmark test cases in configuration");
         }
 
         this.config = config;
+        this.cache = config.getCacheSize() > 0 ? new OntologyCache(config.getCacheSize()) : null;
+        this.diagnostics = new InconsistencyDiagnostics(config.getExplanationLimit(), config.getExplanationTimeout());
+    }
+
+    /**
+     * Looks up the reasoners of all cases and initializes them.
+     *
+     * @throws IllegalArgumentException if a reasoner is unknown
+     */
+    static void initReasoners(Iterable<OWLBenchmarkTestCase> cases) {
+        Set<ReasonerAdapter> adapters = new LinkedHashSet<>();
+        for (OWLBenchmarkTestCase testCase : cases) {
+            adapters.add(ReasonerAdapters.get(testCase.getReasoner()));
+        }
+
+        for (ReasonerAdapter adapter : adapters) {
+            logger.info("init reasoner: " + adapter.getName());
+            adapter.init();
+        }
     }
 
     public void init() {
         logger.info("init...");
 
-        // workaround for https://github.com/Galigator/openllet/issues/38
-        // NOTE: that error did not occur during the performance tests, maybe some changes to the ontology "solved" this since I originally encountered it in a different application
-        OpenlletOptions.TRACK_BRANCH_EFFECTS = true;
+        initReasoners(config.testCases());
+
+        if (config.isStreaming()) {
+            logger.info("streaming mode, merged models are created right before each test case");
 
-        // throw UnsupportedFeatureException for unsupported axioms
-        OpenlletOptions.IGNORE_UNSUPPORTED_AXIOMS = false;
+            if (config.getParallelism() > 1) {
+                logger.warn("parallelism is not used in streaming mode, consider prefetch instead");
+            }
+        }
+        else {
+            if (!config.getMatrix().isEmpty()) {
+                logger.info("creating the merged models of all " + config.getTestCaseCount() + " cases, consider the streaming mode for large matrices");
+            }
 
-        for (OWLBenchmarkTestCase testCase : this.config.getCases()) {
-            OWLOntology ont = null;
+            // load concurrently, but keep the order and handle failures in the order of the cases
+            ExecutorService executor = Executors.newFixedThreadPool(config.getParallelism());
+            Map<OWLBenchmarkTestCase, Future<OWLOntology>> futures = new LinkedHashMap<>();
 
             try {
-                OWLOntologyManager manager = OwlAPIHelper.createPreloadedManager(testCase);
-
-                ont = manager.createOntology();
+                for (OWLBenchmarkTestCase testCase : this.config.testCases()) {
+                    futures.put(testCase, submitMergedModel(testCase, executor));
+                }
 
-                for (OWLFile f : testCase.getFiles()) {
-                    OWLImportsDeclaration importDeclaration = manager.getOWLDataFactory().getOWLImportsDeclaration(IRI.create(f.getIri()));
-                    manager.applyChange(new AddImport(ont, importDeclaration));
+                for (Map.Entry<OWLBenchmarkTestCase, Future<OWLOntology>> e : futures.entrySet()) {
+                    testData.put(e.getKey(), awaitMergedModel(e.getKey(), e.getValue()));
                 }
+            }
+            finally {
+                executor.shutdownNow();
+            }
+
+            if (testData.isEmpty()) {
+                throw new InternalError("no benchmark test cases loaded");
+            }
+
+            logCacheStatistics();
 
-                logger.info("[" + testCase.getName() + "]: created merged model");
+            if (cache != null) {
+                // every test case has its own copy now
+                cache.clear();
             }
-            catch (Exception ex) {
-                if (testCase.isDebug()) {
-                    ex.printStackTrace(System.err);
-                    throw new RuntimeException("failed to create merged model", ex);
+        }
+
+        logger.info("init done.");
+    }
+
+    /**
+     * Runs all test cases in the defined order.
+     * In streaming mode the merged model of each case is created right before and released right after running it,
+     * optionally the merged model of the next case is created in the background meanwhile.
+     */
+    public void runTestCases() {
+        if (!config.isStreaming()) {
+            for (Map.Entry<OWLBenchmarkTestCase, OWLOntology> e : testData.entrySet()) {
+                logger.info("test case started: " + e.getKey().getName());
+
+                runTestCase(e.getKey(), e.getValue());
+            }
+            return;
+        }
+
+        ExecutorService prefetcher = config.isPrefetch() ? Executors.newSingleThreadExecutor() : null;
+
+        try {
+            Iterator<OWLBenchmarkTestCase> it = config.testCases().iterator();
+
+            OWLBenchmarkTestCase testCase = it.next();
+            Future<OWLOntology> future = submitMergedModel(testCase, prefetcher);
+
+            while (testCase != null) {
+                OWLOntology ont = awaitMergedModel(testCase, future);
+
+                OWLBenchmarkTestCase nextCase = it.hasNext() ? it.next() : null;
+                Future<OWLOntology> nextFuture = null;
+                if (nextCase != null && prefetcher != null) {
+                    nextFuture = submitMergedModel(nextCase, prefetcher);
                 }
-                else {
-                    logger.warn("[" + testCase.getName() + "]: failed to create merged model", ex);
+
+                logger.info("test case started: " + testCase.getName());
+
+                runTestCase(testCase, ont);
+
+                if (ont != null) {
+                    ont.getOWLOntologyManager().clearOntologies();
+                }
+
+                testCase = nextCase;
+                if (nextFuture != null) {
+                    future = nextFuture;
+                }
+                else if (nextCase != null) {
+                    future = submitMergedModel(nextCase, null);
                 }
             }
+        }
+        finally {
+            if (prefetcher != null) {
+                prefetcher.shutdownNow();
+            }
+        }
 
-            testData.put(testCase, ont);
+        logCacheStatistics();
+
+        if (cache != null) {
+            cache.clear();
         }
+    }
+
+    /**
+     * Creates the merged model of a single test case without {@link #init()}, runs it and releases the merged model, e.g. in a child JVM.
+     */
+    public void runTestCase(OWLBenchmarkTestCase testCase) {
+        initReasoners(List.of(testCase));
+
+        // including the creation of the merged model
+        FlightRecording recording = openRecording(testCase.getName());
 
-        if (testData.isEmpty()) {
-            throw new InternalError("no benchmark test cases loaded");
+        try {
+            OWLOntology ont = awaitMergedModel(testCase, submitMergedModel(testCase, null));
+
+            measureTestCase(testCase, ont);
+
+            if (ont != null) {
+                ont.getOWLOntologyManager().clearOntologies();
+            }
+        }
+        finally {
+            closeRecording(testCase.getName(), recording);
         }
+    }
 
-        logger.info("init done.");
+    private void logCacheStatistics() {
+        if (cache != null) {
+            logger.info("ontology cache: " + cache.getHits() + " hits, " + cache.getMisses() + " misses, " + cache.getEvictions() + " evictions");
+        }
     }
 
-    public void runTestCase(OWLBenchmarkTestCase testCase, OWLOntology ont) {
-        String testCaseBaseName = testCase.getName();
+    /**
+     * @param executor may be null to create the merged model in the calling thread
+     */
+    private Future<OWLOntology> submitMergedModel(OWLBenchmarkTestCase testCase, ExecutorService executor) {
+        FutureTask<OWLOntology> task = new FutureTask<>(() -> createMergedModel(testCase));
 
-        if (ont == null) {
-            results.add(testCaseBaseName + "\tn.a.\tn.a.\tn.a.\tfailed\tn.a.\tn.a.");
+        if (executor == null) {
+            task.run();
         }
         else {
-            int w = 0;
-            int warmups = testCase.getWarmups();
-            long warmupDuration = 0;
+            executor.execute(task);
+        }
 
-            int r = 0;
-            int runs = testCase.getRuns();
-            long runDuration = 0;
+        return task;
+    }
 
-            boolean failure = false;
+    /**
+     * @return the merged model, or null if it failed in non-debug mode
+     */
+    private OWLOntology awaitMergedModel(OWLBenchmarkTestCase testCase, Future<OWLOntology> future) {
+        try {
+            return future.get();
+        }
+        catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
 
-            if (warmups > 0) {
-                logger.info("[" + testCaseBaseName + "]: starting warmups...");
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            if (testCase.isDebug()) {
+                cause.printStackTrace(System.err);
+                throw new RuntimeException("failed to create merged model", cause);
             }
             else {
-                logger.debug("[" + testCaseBaseName + "]: no warmups");
+                logger.warn("[" + testCase.getName() + "]: failed to create merged model", cause);
+                return null;
             }
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("interrupted while creating merged models", ex);
+        }
+    }
+
+    OWLOntology createMergedModel(OWLBenchmarkTestCase testCase) throws Exception {
+        ReasoningEvent event = ReasoningEvent.begin(testCase.getName(), "load", 0, "load", null);
+
+        try {
+            OWLOntologyManager manager = OwlAPIHelper.createPreloadedManager(testCase, cache);
+
+            OWLOntology ont = manager.createOntology();
+
+            for (OWLFile f : testCase.getFiles()) {
+                OWLImportsDeclaration importDeclaration = manager.getOWLDataFactory().getOWLImportsDeclaration(IRI.create(f.getIri()));
+                manager.applyChange(new AddImport(ont, importDeclaration));
+            }
+
+            logger.info("[" + testCase.getName() + "]: created merged model");
+
+            return ont;
+        }
+        finally {
+            event.commit();
+        }
+    }
+
+    public void runTestCase(OWLBenchmarkTestCase testCase, OWLOntology ont) {
+        FlightRecording recording = openRecording(testCase.getName());
+
+        try {
+            measureTestCase(testCase, ont);
+        }
+        finally {
+            closeRecording(testCase.getName(), recording);
+        }
+    }
 
-            while (!failure && (w < warmups)) {
-                w++;
-                String testCaseName = testCaseBaseName + ", warmup " + w + "/" + warmups;
-                long t = measureReasoningDuration(ont, testCaseName, testCase.isDebug());
+    private void measureTestCase(OWLBenchmarkTestCase testCase, OWLOntology ont) {
+        String testCaseBaseName = testCase.getName();
 
-                if (t < 0) {
-                    failure = true;
+        if (ont == null) {
+            results.add(BenchmarkResult.failed(testCaseBaseName, testCase.getReasoner()));
+        }
+        else if (OWLBenchmarkTestCase.TYPE_THROUGHPUT.equals(testCase.getType())) {
+            runThroughputTestCase(testCase, ont);
+        }
+        else if (OWLBenchmarkTestCase.TYPE_INCREMENTAL.equals(testCase.getType())) {
+            runIncrementalTestCase(testCase, ont);
+        }
+        else if (OWLBenchmarkTestCase.TYPE_SCALING.equals(testCase.getType())) {
+            runScalingTestCase(testCase, ont);
+        }
+        else {
+            // in module mode, the warmups and runs reason over the module only
+            ModuleExtraction moduleExtraction = null;
+            if (testCase.getModule() != null) {
+                moduleExtraction = extractModule(testCase, ont);
+                if (moduleExtraction == null) {
+                    results.add(BenchmarkResult.failed(testCaseBaseName + " [module]", testCase.getReasoner()));
+                    return;
+                }
+                ont = moduleExtraction.getModule();
+            }
+
+            // in reuse mode, the knowledge base is built once and the warmups and runs only classify it
+            WarmReasoner warmReasoner = null;
+            long constructionDuration = 0;
+            if (testCase.isReuseReasoner()) {
+                ReasonerAdapter reasonerAdapter = ReasonerAdapters.get(testCase.getReasoner());
+                if (reasonerAdapter.supportsWarmReuse()) {
+                    long t0 = System.nanoTime();
+                    try {
+                        warmReasoner = reasonerAdapter.createWarmReasoner(ont, getReasonerConfig(testCase));
+                    }
+                    catch (RuntimeException ex) {
+                        if (testCase.isDebug()) {
+                            throw new RuntimeException(testCaseBaseName + ": unable to construct the knowledge base", ex);
+                        }
+                        logger.warn("[" + testCaseBaseName + "]: unable to construct the knowledge base", ex);
+
+                        if (moduleExtraction != null) {
+                            results.add(BenchmarkResult.single(testCaseBaseName + " [module extraction]", testCase.getReasoner(), moduleExtraction.getDuration()));
+                        }
+                        results.add(BenchmarkResult.failed(testCaseBaseName + " [construction]", testCase.getReasoner()));
+                        return;
+                    }
+                    constructionDuration = System.nanoTime() - t0;
+                    logger.info("[" + testCaseBaseName + "]: knowledge base construction took " + Util.niceTime(constructionDuration));
                 }
                 else {
-                    warmupDuration += t;
+                    logger.warn("[" + testCaseBaseName + "]: reasoner '" + reasonerAdapter.getName() + "' does not support reusing its knowledge base, creating a reasoner for each warmup and run instead");
                 }
             }
 
-            if (warmups > 0) {
-                logger.info("[" + testCaseBaseName + "]: warmup took " + Util.niceTime(warmupDuration));
-            }
+            OWLOntology measuredOnt = ont;
+            MeasuredReasoner reasoner = warmReasoner != null ? MeasuredReasoner.reused(warmReasoner) : MeasuredReasoner.perMeasurement(ReasonerAdapters.get(testCase.getReasoner()), ont, getReasonerConfig(testCase), false);
 
-            if (runs > 0) {
-                logger.info("[" + testCaseBaseName + "]: starting runs...");
+            String resultName = testCaseBaseName;
+            if (moduleExtraction != null) {
+                resultName += warmReasoner != null ? " [module, warm]" : " [module]";
             }
-            else {
-                logger.debug("[" + testCaseBaseName + "]: no runs");
+            else if (warmReasoner != null) {
+                resultName += " [warm]";
             }
 
-            while (!failure && (r < runs)) {
-                r++;
-                String testCaseName = testCaseBaseName + ", run " + r + "/" + runs;
-                long t = measureReasoningDuration(ont, testCaseName, testCase.isDebug());
+            SampleWriter sampleWriter = openSampleWriter(testCaseBaseName);
 
-                if (t < 0) {
-                    failure = true;
+            StageRunner stages = new StageRunner(testCaseBaseName, testCase, true, sampleWriter);
+            try {
+                stages.run((testCaseName, stage, index) -> measureReasoningDuration(reasoner, measuredOnt, testCaseName, testCase, stage, index, null));
+            }
+            finally {
+                if (sampleWriter != null) {
+                    sampleWriter.close();
                 }
-                else {
-                    runDuration += t;
+                if (warmReasoner != null) {
+                    warmReasoner.dispose();
                 }
             }
 
-            if (runs > 0) {
-                logger.info("[" + testCaseBaseName + "]: runs took " + Util.niceTime(runDuration));
+            if (moduleExtraction != null) {
+                results.add(BenchmarkResult.single(testCaseBaseName + " [module extraction]", testCase.getReasoner(), moduleExtraction.getDuration()));
             }
 
-            long warmupDuration_ms = warmupDuration / (1000 * 1000);
-            long runDuration_ms = runDuration / (1000 * 1000);
+            if (warmReasoner != null) {
+                results.add(BenchmarkResult.single(testCaseBaseName + " [construction]", testCase.getReasoner(), constructionDuration));
+            }
 
-            if (failure) {
-                results.add(testCaseBaseName + "\t" + warmupDuration_ms + "\t" + runDuration_ms + "\tn.a.\tfailed\t" + w + "\t" + r);
+            results.add(stages.createResult(resultName));
+        }
+    }
+
+    /**
+     * Extracts the module of the case, and compares its class hierarchy with the one of the merged model if enabled.
+     *
+     * @return null if the extraction or the verification failed in non-debug mode
+     */
+    private ModuleExtraction extractModule(OWLBenchmarkTestCase testCase, OWLOntology ont) {
+        String testCaseBaseName = testCase.getName();
+
+        ModuleExtraction moduleExtraction;
+        try {
+            moduleExtraction = ModuleExtraction.extract(ont, testCase.getModule());
+        }
+        catch (OWLOntologyCreationException | RuntimeException ex) {
+            if (testCase.isDebug()) {
+                throw new RuntimeException(testCaseBaseName + ": unable to extract module", ex);
             }
-            else {
-                if (runs > 0) {
-                    long avg_ns = runDuration / runs;
-                    long avg_ms = avg_ns / (1000 * 1000);
-                    results.add(testCaseBaseName + "\t" + warmupDuration_ms + "\t" + runDuration_ms + "\t" + avg_ms + "\tpassed\t" + w + "\t" + r);
+            logger.warn("[" + testCaseBaseName + "]: unable to extract module", ex);
+            return null;
+        }
+
+        logger.info("[" + testCaseBaseName + "]: module extraction took " + Util.niceTime(moduleExtraction.getDuration()) + ", " + moduleExtraction);
+
+        if (!testCase.getModule().isVerify()) {
+            return moduleExtraction;
+        }
+
+        ReasonerAdapter reasonerAdapter = ReasonerAdapters.get(testCase.getReasoner());
+        OWLReasonerConfiguration reasonerConfig = getReasonerConfig(testCase);
+
+        OWLReasoner merged = null;
+        OWLReasoner moduleReasoner = null;
+        List<String> differences;
+
+        try {
+            merged = reasonerAdapter.createReasoner(ont, reasonerConfig);
+            merged.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+
+            moduleReasoner = reasonerAdapter.createReasoner(moduleExtraction.getModule(), reasonerConfig);
+            moduleReasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+
+            differences = moduleExtraction.verify(merged, moduleReasoner);
+        }
+        catch (RuntimeException ex) {
+            if (testCase.isDebug()) {
+                throw new RuntimeException(testCaseBaseName + ": unable to verify module", ex);
+            }
+            logger.warn("[" + testCaseBaseName + "]: unable to verify module", ex);
+            return null;
+        }
+        finally {
+            if (merged != null) {
+                merged.dispose();
+            }
+            if (moduleReasoner != null) {
+                moduleReasoner.dispose();
+            }
+        }
+
+        if (!differences.isEmpty()) {
+            for (String difference : differences) {
+                logger.error("[" + testCaseBaseName + "]: classification of the module differs: " + difference);
+            }
+            if (testCase.isDebug()) {
+                throw new RuntimeException(testCaseBaseName + ": module does not preserve the class hierarchy");
+            }
+            return null;
+        }
+
+        logger.info("[" + testCaseBaseName + "]: class hierarchy of the module verified");
+
+        return moduleExtraction;
+    }
+
+    /**
+     * Prepares a single reasoner like a run, then measures concurrent queries for each configured number of threads.
+     * A reasoner that is not thread-safe is prepared once more for each further thread, on its own copy of the ontology.
+     * The preparation is reported in the phase columns, the query latencies in the distribution columns.
+     */
+    private void runThroughputTestCase(OWLBenchmarkTestCase testCase, OWLOntology ont) {
+        String testCaseBaseName = testCase.getName();
+        ThroughputSettings settings = testCase.getThroughput();
+
+        List<ThroughputBenchmark.Result> throughputResults = new LinkedList<>();
+        boolean[] failure = new boolean[1];
+
+        ReasoningMeasurement preparation = measureReasoningDuration(ont, testCaseBaseName + ", preparation", testCase, "preparation", 0, false, reasoner -> {
+            List<OWLReasoner> reasoners = new ArrayList<>();
+            reasoners.add(reasoner);
+
+            try {
+                // queries of several threads on one reasoner would have to be serialized, i.e. only measure the contention
+                if (!ReasonerAdapters.get(testCase.getReasoner()).isThreadSafe()) {
+                    int maxThreads = settings.getThreads().stream().mapToInt(Integer::intValue).max().orElse(1);
+                    for (int i = 2; i <= maxThreads; i++) {
+                        reasoners.add(prepareThreadReasoner(testCase, ont, i));
+                    }
                 }
-                else {
-                    results.add(testCaseBaseName + "\t" + warmupDuration_ms + "\t" + runDuration_ms + "\tn.a.\tignored\t" + w + "\t" + r);
+
+                ThroughputBenchmark throughputBenchmark = new ThroughputBenchmark(testCaseBaseName, settings, ont, reasoners);
+
+                for (int threads : settings.getThreads()) {
+                    try {
+                        throughputResults.add(throughputBenchmark.run(threads));
+                    }
+                    catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        throw new RuntimeException(testCaseBaseName + ": interrupted", ex);
+                    }
+                    catch (ExecutionException ex) {
+                        if (testCase.isDebug()) {
+                            throw new RuntimeException(testCaseBaseName + ": exception occurred with " + threads + " thread(s)", ex.getCause());
+                        }
+
+                        logger.warn("[" + testCaseBaseName + "]: exception occurred with " + threads + " thread(s)", ex.getCause());
+                        failure[0] = true;
+                        break;
+                    }
                 }
             }
+            finally {
+                // the reasoner of the first thread is disposed by the measurement
+                for (OWLReasoner threadReasoner : reasoners.subList(1, reasoners.size())) {
+                    threadReasoner.dispose();
+                }
+            }
+        });
+
+        StageStatistics preparationStatistics = new StageStatistics("preparation", null);
+        preparationStatistics.record(0, preparation);
+
+        for (ThroughputBenchmark.Result result : throughputResults) {
+            String name = testCaseBaseName + " [threads=" + result.threads + "]";
+            results.add(new BenchmarkResult(name, testCase.getReasoner(), BenchmarkResult.Outcome.PASSED, result.warmupDuration, result.duration, Math.round(result.latency.getMean()), result.warmupOperations, result.latency.getCount(), preparationStatistics.summarize(result.latency), Math.round(result.getOperationsPerSecond())));
+        }
+
+        if (preparation.isTimedOut()) {
+            results.add(new BenchmarkResult(testCaseBaseName, testCase.getReasoner(), BenchmarkResult.Outcome.TIMEOUT, null, preparation.getTimedOutAfter(), null, null, null, preparationStatistics.summarize(new DurationStatistics()), null));
+        }
+        else if (preparation.isFailed() || failure[0]) {
+            results.add(new BenchmarkResult(testCaseBaseName, testCase.getReasoner(), BenchmarkResult.Outcome.FAILED, null, null, null, null, null, preparationStatistics.summarize(new DurationStatistics()), null));
         }
     }
 
-    private long measureReasoningDuration(OWLOntology ont, String testCaseName, boolean debug) {
-        logger.info("[" + testCaseName + "]: starting test case...");
+    /**
+     * Prepares a reasoner like the one of the first thread, but on its own copy of the ontology and without measuring it.
+     *
+     * @param thread the number of the thread, starting at 2, for logging
+     */
+    private OWLReasoner prepareThreadReasoner(OWLBenchmarkTestCase testCase, OWLOntology ont, int thread) {
+        logger.info("[" + testCase.getName() + "]: preparing the reasoner of thread " + thread + "...");
+
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        try {
+            OntologyCache.copyImportsClosure(ont, manager);
+        }
+        catch (OWLOntologyCreationException ex) {
+            throw new RuntimeException(testCase.getName() + ": unable to copy the ontology for thread " + thread, ex);
+        }
 
-        OWLReasonerConfiguration reasonerConfig = debug ? reasonerConfigDebug : reasonerConfigNormal;
-        OpenlletReasoner reasoner = OpenlletReasonerFactory.getInstance().createNonBufferingReasoner(ont, reasonerConfig);
+        OWLReasoner reasoner = ReasonerAdapters.get(testCase.getReasoner()).createReasoner(manager.getOntology(ont.getOntologyID()), getReasonerConfig(testCase));
+        try {
+            if (!reasoner.isConsistent()) {
+                throw new RuntimeException(testCase.getName() + ": inconsistent for thread " + thread);
+            }
+            for (InferenceType inferenceType : testCase.getInferences()) {
+                reasoner.precomputeInferences(inferenceType);
+            }
+            return reasoner;
+        }
+        catch (RuntimeException ex) {
+            reasoner.dispose();
+            throw ex;
+        }
+    }
+
+    /**
+     * Each warmup and run classifies with a buffering reasoner, then replays the batches of changes, see {@link IncrementalBenchmark}.
+     * Reports the re-classification after each batch, and the classification from scratch if enabled.
+     * The initial classification is reported in the phase columns.
+     */
+    private void runIncrementalTestCase(OWLBenchmarkTestCase testCase, OWLOntology ont) {
+        String testCaseBaseName = testCase.getName();
 
-        logger.info("[" + testCaseName + "]: created reasoner instance, checking consistency...");
+        ReasonerAdapter reasonerAdapter = ReasonerAdapters.get(testCase.getReasoner());
+        if (!reasonerAdapter.supportsBuffering()) {
+            if (testCase.isDebug()) {
+                throw new IllegalArgumentException(testCaseBaseName + ": reasoner '" + reasonerAdapter.getName() + "' does not support buffering, which incremental cases need");
+            }
 
-        if (debug) {
-            reasoner.getKB().setDoExplanation(true);
+            logger.warn("[" + testCaseBaseName + "]: reasoner '" + reasonerAdapter.getName() + "' does not support buffering, which incremental cases need");
+            results.add(BenchmarkResult.failed(testCaseBaseName, testCase.getReasoner()));
+            return;
         }
 
-        if (!reasoner.isConsistent()) {
-            if (debug) {
-                logger.error("[" + testCaseName + "]: inconsistent");
+        IncrementalBenchmark incrementalBenchmark;
+        try {
+            incrementalBenchmark = new IncrementalBenchmark(testCase, ont, reasonerAdapter, getReasonerConfig(testCase));
+        }
+        catch (IOException | OWLOntologyCreationException ex) {
+            if (testCase.isDebug()) {
+                throw new RuntimeException(testCaseBaseName + ": unable to read the changes", ex);
+            }
 
-                try {
-                    logger.info("[" + testCaseName + "]: dumping merged file...");
-                    File tmp = File.createTempFile("merged", ".owl");
-                    OWLOntologyManager manager = ont.getOWLOntologyManager();
-                    OWLOntology ontMerged = new OWLOntologyMerger(manager).createMergedOntology(manager, null);
-                    ontMerged.saveOntology(new RDFXMLDocumentFormat(), IRI.create(tmp));
-                    logger.info("[" + testCaseName + "]: dumped to: " + tmp);
+            logger.warn("[" + testCaseBaseName + "]: unable to read the changes", ex);
+            results.add(BenchmarkResult.failed(testCaseBaseName, testCase.getReasoner()));
+            return;
+        }
+
+        SampleWriter sampleWriter = openSampleWriter(testCaseBaseName);
+
+        DurationStatistics warmupIncremental = new DurationStatistics();
+        DurationStatistics warmupFull = new DurationStatistics();
+        DurationStatistics runIncremental = new DurationStatistics();
+        DurationStatistics runFull = new DurationStatistics();
+
+        StageRunner stages = new StageRunner(testCaseBaseName, testCase, false, sampleWriter);
+        try {
+            stages.run((testCaseName, stage, index) -> {
+                boolean warmup = "warmup".equals(stage);
+
+                List<IncrementalBenchmark.Replay> replay = new ArrayList<>(1);
+                ReasoningMeasurement measurement = measureReasoningDuration(ont, testCaseName, testCase, stage, index, true, reasoner -> replay.add(incrementalBenchmark.replay(testCaseName, reasoner)));
+
+                if (replay.isEmpty()) {
+                    // failed or timed out before the replay
+                    return measurement;
                 }
-                catch (Exception ex) {
-                    // ignore, as that is just nice to have
+                if (replay.get(0).failed) {
+                    measurement.setFailed();
+                    return measurement;
                 }
 
-                int i = 0;
+                for (long d : replay.get(0).incremental) {
+                    (warmup ? warmupIncremental : runIncremental).record(d);
+                    if (sampleWriter != null) {
+                        sampleWriter.write(stage, index, "incremental", d);
+                    }
+                }
+                for (long d : replay.get(0).full) {
+                    (warmup ? warmupFull : runFull).record(d);
+                    if (sampleWriter != null) {
+                        sampleWriter.write(stage, index, "full", d);
+                    }
+                }
+
+                return measurement;
+            });
+        }
+        finally {
+            if (sampleWriter != null) {
+                sampleWriter.close();
+            }
+        }
+
+        if (stages.getOutcome() != BenchmarkResult.Outcome.PASSED) {
+            results.add(stages.createResult(testCaseBaseName, warmupIncremental, runIncremental));
+            return;
+        }
+
+        logger.info("[" + testCaseBaseName + "]: re-classification took " + Util.niceTime(Math.round(runIncremental.getMean())) + " per batch" + (runFull.getCount() > 0 ? ", from scratch " + Util.niceTime(Math.round(runFull.getMean())) : ""));
+
+        results.add(stages.createResult(testCaseBaseName + " [incremental]", warmupIncremental, runIncremental));
+
+        if (testCase.getIncremental().isFullReclassification()) {
+            results.add(stages.createResult(testCaseBaseName + " [full]", warmupFull, runFull));
+        }
+    }
+
+    /**
+     * Replicates the individuals of the case for each scale factor, smallest first, and measures the warmups and runs for each, see {@link ScalingGenerator}.
+     * Reports one line per factor as soon as it is measured, and then a line {@code name [fit]} with the growth exponents of the average duration and the allocated bytes over the passed factors.
+     * The larger factors are skipped after a factor failed or timed out.
+     */
+    private void runScalingTestCase(OWLBenchmarkTestCase testCase, OWLOntology ont) {
+        String testCaseBaseName = testCase.getName();
+        ScalingSettings settings = testCase.getScaling();
+
+        List<Integer> factors = new ArrayList<>(settings.getFactors());
+        Collections.sort(factors);
+
+        // of the passed factors only
+        List<Integer> fitFactors = new LinkedList<>();
+        List<Double> averageDurations = new LinkedList<>();
+        List<Double> allocatedBytes = new LinkedList<>();
+
+        ScalingGenerator generator = new ScalingGenerator(testCaseBaseName, ont, settings);
+
+        try {
+            for (int factor : factors) {
+                String name = testCaseBaseName + " [x" + factor + "]";
+                generator.scaleTo(factor);
+
+                SampleWriter sampleWriter = openSampleWriter(name);
+
+                StageRunner stages = new StageRunner(name, testCase, false, sampleWriter);
                 try {
-                    PelletExplanation expGen = new PelletExplanation(reasoner);
-                    Set<Set<OWLAxiom>> ex = expGen.getInconsistencyExplanations(2);
-                    for (Set<OWLAxiom> s : ex) {
-                        i++;
-                        logger.error("[" + testCaseName + "]: explanation #" + i + ": " + s);
+                    stages.run((testCaseName, stage, index) -> measureReasoningDuration(ont, testCaseName, testCase, stage, index));
+                }
+                finally {
+                    if (sampleWriter != null) {
+                        sampleWriter.close();
                     }
                 }
-                catch (Exception ex) {
-                    // ignore, as that is just nice to have
+
+                BenchmarkResult result = stages.createResult(name);
+                results.add(result);
+
+                if (result.getOutcome() == BenchmarkResult.Outcome.PASSED) {
+                    DurationStatistics allocated = stages.getRunStatistics().getAllocatedBytes();
+
+                    fitFactors.add(factor);
+                    averageDurations.add((double) result.getAverage());
+                    allocatedBytes.add(allocated.getCount() > 0 ? allocated.getMean() : null);
+                    continue;
+                }
+                if (result.getOutcome() == BenchmarkResult.Outcome.IGNORED) {
+                    continue;
                 }
-                if (i == 0) {
-                    logger.error("[" + testCaseName + "]: no explanations found");
+
+                if (factor != factors.get(factors.size() - 1)) {
+                    logger.warn("[" + testCaseBaseName + "]: skipping the scale factors above x" + factor);
                 }
-                throw new RuntimeException(testCaseName + ": inconsistent");
+                break;
             }
-            return -1;
         }
-        else {
-            if (debug) {
-                reasoner.getKB().setDoExplanation(false);
-            }
+        finally {
+            generator.restore();
+        }
+
+        Double timeExponent = ScalingGenerator.growthExponent(fitFactors, averageDurations);
+        Double memoryExponent = ScalingGenerator.growthExponent(fitFactors, allocatedBytes);
+
+        if (timeExponent != null) {
+            logger.info("[" + testCaseBaseName + "]: duration grows with exponent " + String.format(Locale.ROOT, "%.2f", timeExponent) + (memoryExponent != null ? ", allocated memory with exponent " + String.format(Locale.ROOT, "%.2f", memoryExponent) : ""));
+            results.add(BenchmarkResult.fit(testCaseBaseName + " [fit]", testCase.getReasoner(), timeExponent, memoryExponent));
+        }
+    }
+
+    /**
+     * @return null if no samples directory is configured or the file could not be created
+     */
+    private SampleWriter openSampleWriter(String testCaseBaseName) {
+        if (config.getSamplesDirectory() == null) {
+            return null;
+        }
+
+        try {
+            SampleWriter sampleWriter = new SampleWriter(new File(config.getSamplesDirectory()), testCaseBaseName);
+            logger.info("[" + testCaseBaseName + "]: writing samples to " + sampleWriter.getFile());
+            return sampleWriter;
+        }
+        catch (IOException ex) {
+            logger.warn("[" + testCaseBaseName + "]: unable to write samples", ex);
+            return null;
+        }
+    }
 
-            logger.info("[" + testCaseName + "]: consistent, precomputeInferences...");
+    /**
+     * @return null if no JFR directory is configured or the recording could not be started
+     */
+    private FlightRecording openRecording(String testCaseBaseName) {
+        if (config.getJfrDirectory() == null) {
+            return null;
+        }
+
+        try {
+            FlightRecording recording = new FlightRecording(new File(config.getJfrDirectory()), testCaseBaseName);
+            logger.info("[" + testCaseBaseName + "]: recording to " + recording.getFile());
+            return recording;
+        }
+        catch (IOException | ParseException | RuntimeException ex) {
+            logger.warn("[" + testCaseBaseName + "]: unable to start flight recording", ex);
+            return null;
+        }
+    }
+
+    private static void closeRecording(String testCaseBaseName, FlightRecording recording) {
+        if (recording == null) {
+            return;
+        }
+
+        try {
+            recording.close();
+        }
+        catch (IOException | RuntimeException ex) {
+            logger.warn("[" + testCaseBaseName + "]: unable to dump flight recording", ex);
+        }
+    }
+
+    OWLReasonerConfiguration getReasonerConfig(OWLBenchmarkTestCase testCase) {
+        ReasonerProgressMonitor progressMonitor = testCase.isDebug() ? progressMonitorDebug : progressMonitorNormal;
+        long timeout = testCase.getTimeout() > 0 ? testCase.getTimeout() : Long.MAX_VALUE;
+
+        return new SimpleConfiguration(progressMonitor, FreshEntityPolicy.ALLOW, timeout, IndividualNodeSetPolicy.BY_SAME_AS);
+    }
+
+    private ReasoningMeasurement measureReasoningDuration(OWLOntology ont, String testCaseName, OWLBenchmarkTestCase testCase, String stage, int index) {
+        return measureReasoningDuration(ont, testCaseName, testCase, stage, index, false, null);
+    }
+
+    /**
+     * @param buffering whether to create a buffering reasoner instead of a non-buffering one
+     * @param afterClassification may be null, otherwise called with the classified reasoner before it is disposed
+     */
+    private ReasoningMeasurement measureReasoningDuration(OWLOntology ont, String testCaseName, OWLBenchmarkTestCase testCase, String stage, int index, boolean buffering, Consumer<OWLReasoner> afterClassification) {
+        MeasuredReasoner reasoner = MeasuredReasoner.perMeasurement(ReasonerAdapters.get(testCase.getReasoner()), ont, getReasonerConfig(testCase), buffering);
+        return measureReasoningDuration(reasoner, ont, testCaseName, testCase, stage, index, afterClassification);
+    }
 
+    /**
+     * Measures a single warmup or run: the creation of the reasoner, the consistency check and the precomputation of the inferences of the case.
+     *
+     * @param ont the ontology of the reasoner, for the diagnostics of an inconsistent case in debug mode
+     * @param afterClassification may be null, otherwise called with the classified reasoner before it is disposed, which must not be a reused knowledge base
+     */
+    private ReasoningMeasurement measureReasoningDuration(MeasuredReasoner reasoner, OWLOntology ont, String testCaseName, OWLBenchmarkTestCase testCase, String stage, int index, Consumer<OWLReasoner> afterClassification) {
+        logger.info("[" + testCaseName + "]: starting test case...");
+
+        boolean debug = testCase.isDebug();
+        ReasoningMeasurement measurement = new ReasoningMeasurement();
+
+        ReasonerAdapter reasonerAdapter = ReasonerAdapters.get(testCase.getReasoner());
+
+        // the baseline for the retained size, excluding the garbage of the previous runs
+        long usedHeapBefore = config.isForceGC() ? MemoryProbe.usedHeapAfterGC() : -1;
+        MemoryProbe memoryProbe = new MemoryProbe();
+
+        ReasoningEvent creationEvent = ReasoningEvent.begin(testCase.getName(), stage, index, ReasoningMeasurement.Phase.CREATION.getLabel(), null);
+        long t0 = System.nanoTime();
+        reasoner.create();
+        measurement.setDuration(ReasoningMeasurement.Phase.CREATION, System.nanoTime() - t0);
+        creationEvent.commit();
+
+        ScheduledFuture<?> interruption = scheduleInterruption(testCaseName, testCase, reasoner::interrupt, t0);
+
+        // null if the knowledge base is reused, which has no explanations
+        OWLReasoner owlReasoner = reasoner.getOWLReasoner();
+
+        try {
+            logger.info("[" + testCaseName + "]: created reasoner instance, checking consistency...");
+
+            if (debug && owlReasoner != null) {
+                reasonerAdapter.setExplanationsEnabled(owlReasoner, true);
+            }
+
+            ReasoningEvent consistencyEvent = ReasoningEvent.begin(testCase.getName(), stage, index, ReasoningMeasurement.Phase.CONSISTENCY.getLabel(), null);
             long t1 = System.nanoTime();
-            long precomputeInferencesDuration;
-            Exception ex = null;
+            boolean consistent;
             try {
-                reasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
-                precomputeInferencesDuration = System.nanoTime() - t1;
+                consistent = reasoner.isConsistent();
             }
-            catch (Exception ex2) {
-                precomputeInferencesDuration = System.nanoTime() - t1;
-                ex = ex2;
-                if (debug) {
-                    ex2.printStackTrace(System.err);
+            catch (RuntimeException ex) {
+                if (isTimeout(ex, interruption)) {
+                    measurement.setTimedOut(System.nanoTime() - t0);
+                    logger.warn("[" + testCaseName + "]: timed out during consistency check");
+                    return measurement;
                 }
+                throw ex;
+            }
+            finally {
+                consistencyEvent.commit();
             }
+            measurement.setDuration(ReasoningMeasurement.Phase.CONSISTENCY, System.nanoTime() - t1);
 
-            logger.info("[" + testCaseName + "]: precomputeInferences took " + Util.niceTime(precomputeInferencesDuration));
+            if (hasFired(interruption)) {
+                measurement.setTimedOut(System.nanoTime() - t0);
+                logger.warn("[" + testCaseName + "]: timed out during consistency check");
+                return measurement;
+            }
 
-            if (ex != null) {
+            if (!consistent) {
                 if (debug) {
-                    throw new RuntimeException(testCaseName + ": exception occurred", ex);
+                    logger.error("[" + testCaseName + "]: inconsistent");
+
+                    if (owlReasoner != null) {
+                        diagnostics.diagnose(testCase.getName(), testCaseName, ont, reasonerAdapter, owlReasoner);
+                    }
+
+                    throw new RuntimeException(testCaseName + ": inconsistent");
                 }
-                return -2;
+                measurement.setFailed();
+                return measurement;
             }
             else {
-                return precomputeInferencesDuration;
+                if (debug && owlReasoner != null) {
+                    reasonerAdapter.setExplanationsEnabled(owlReasoner, false);
+                }
+
+                logger.info("[" + testCaseName + "]: consistent, precomputeInferences...");
+
+                long t2 = System.nanoTime();
+                long precomputeInferencesDuration;
+                Exception ex = null;
+                for (InferenceType inferenceType : testCase.getInferences()) {
+                    ReasoningEvent classificationEvent = ReasoningEvent.begin(testCase.getName(), stage, index, ReasoningMeasurement.Phase.CLASSIFICATION.getLabel(), inferenceType);
+                    long t3 = System.nanoTime();
+                    try {
+                        reasoner.precomputeInferences(inferenceType);
+                        long inferenceDuration = System.nanoTime() - t3;
+                        measurement.setInferenceDuration(inferenceType, inferenceDuration);
+                        logger.debug("[" + testCaseName + "]: " + inferenceType + " took " + Util.niceTime(inferenceDuration));
+                    }
+                    catch (Exception ex2) {
+                        ex = ex2;
+                        if (debug && !isTimeout(ex2, interruption)) {
+                            ex2.printStackTrace(System.err);
+                        }
+                        break;
+                    }
+                    finally {
+                        classificationEvent.commit();
+                    }
+                }
+                precomputeInferencesDuration = System.nanoTime() - t2;
+
+                logger.info("[" + testCaseName + "]: precomputeInferences took " + Util.niceTime(precomputeInferencesDuration));
+
+                if ((ex != null && isTimeout(ex, interruption)) || hasFired(interruption)) {
+                    measurement.setTimedOut(System.nanoTime() - t0);
+                    logger.warn("[" + testCaseName + "]: timed out during precomputeInferences");
+                }
+                else if (ex != null) {
+                    if (debug) {
+                        throw new RuntimeException(testCaseName + ": exception occurred", ex);
+                    }
+                    measurement.setFailed();
+                }
+                else {
+                    measurement.setDuration(ReasoningMeasurement.Phase.CLASSIFICATION, precomputeInferencesDuration);
+
+                    memoryProbe.stop(measurement);
+                    if (usedHeapBefore >= 0) {
+                        measurement.setRetainedBytes(Math.max(MemoryProbe.usedHeapAfterGC() - usedHeapBefore, 0));
+                    }
+
+                    if (afterClassification != null) {
+                        if (interruption != null) {
+                            interruption.cancel(false);
+                        }
+                        afterClassification.accept(owlReasoner);
+                    }
+                }
+
+                return measurement;
+            }
+        }
+        finally {
+            if (interruption != null) {
+                interruption.cancel(false);
             }
+
+            memoryProbe.stop(measurement);
+
+            reasoner.dispose();
         }
     }
+
+    /**
+     * Backs the timeout of the reasoner configuration, as not every reasoner checks it for every operation.
+     *
+     * @param startTime of the creation of the reasoner, see {@link System#nanoTime()}
+     * @return the scheduled interruption of the reasoner, or null if the case has no timeout
+     */
+    private ScheduledFuture<?> scheduleInterruption(String testCaseName, OWLBenchmarkTestCase testCase, Runnable interruptReasoner, long startTime) {
+        if (testCase.getTimeout() <= 0) {
+            return null;
+        }
+
+        long delay = startTime + TimeUnit.MILLISECONDS.toNanos(testCase.getTimeout()) - System.nanoTime();
+
+        return watchdog.schedule(() -> {
+            logger.warn("[" + testCaseName + "]: timeout of " + testCase.getTimeout() + " ms exceeded, interrupting reasoner");
+            try {
+                interruptReasoner.run();
+            }
+            catch (RuntimeException ex) {
+                logger.warn("[" + testCaseName + "]: unable to interrupt reasoner", ex);
+            }
+        }, delay, TimeUnit.NANOSECONDS);
+    }
+
+    private static boolean hasFired(ScheduledFuture<?> interruption) {
+        return interruption != null && interruption.isDone() && !interruption.isCancelled();
+    }
+
+    private static boolean isTimeout(Exception ex, ScheduledFuture<?> interruption) {
+        return ex instanceof TimeOutException || ex instanceof ReasonerInterruptedException || hasFired(interruption);
+    }
 }
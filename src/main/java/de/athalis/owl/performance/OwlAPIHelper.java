@@ -12,6 +12,8 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.LinkedList;
+import java.util.List;
 
 public class OwlAPIHelper {
     private static final Logger logger = LoggerFactory.getLogger(OwlAPIHelper.class);
@@ -20,17 +22,62 @@ public class OwlAPIHelper {
         OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
 
         for (OWLFile f : testCase.getFiles()) {
-            logger.info("[" + testCase.getName() + "] loading: " + f);
+            loadOntology(manager, testCase.getName(), f);
+        }
 
-            try (InputStream ontIn = f.getPathURI().toURL().openStream()) {
-                IRI iri = IRI.create(f.getIri());
-                StreamDocumentSource s = new StreamDocumentSource(ontIn, iri);
-                OWLOntology ont = manager.loadOntologyFromOntologyDocument(s);
+        return manager;
+    }
 
-                logger.info("[" + testCase.getName() + "] loaded to manager: " + ont.getOntologyID().getOntologyIRI());
-            }
+    public static OWLOntologyManager createPreloadedManager(OWLBenchmarkTestCase testCase, OntologyCache cache) throws IOException, OWLOntologyCreationException {
+        if (cache == null) {
+            return createPreloadedManager(testCase);
+        }
+
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+
+        // in order: the imports of a file are only known after parsing it, and they are resolved against the files before it
+        List<OWLFile> precedingFiles = new LinkedList<>();
+        List<OWLOntology> preceding = new LinkedList<>();
+        for (OWLFile f : testCase.getFiles()) {
+            OWLOntology cached = cache.get(testCase.getName(), f, precedingFiles, preceding);
+            precedingFiles.add(f);
+            preceding.add(cached);
+
+            OntologyCache.copyImportsClosure(cached, manager);
+
+            logger.info("[" + testCase.getName() + "] copied to manager: " + cached.getOntologyID().getOntologyIRI());
         }
 
         return manager;
     }
+
+    /**
+     * Loads the snapshot of the file if it is up to date, parses the file otherwise.
+     *
+     * @see OntologySnapshot
+     */
+    public static OWLOntology loadOntology(OWLOntologyManager manager, String caseName, OWLFile f) throws IOException, OWLOntologyCreationException {
+        OWLOntology snapshot = OntologySnapshot.load(manager, caseName, f);
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        return parseOntology(manager, caseName, f);
+    }
+
+    public static OWLOntology parseOntology(OWLOntologyManager manager, String caseName, OWLFile f) throws IOException, OWLOntologyCreationException {
+        logger.info("[" + caseName + "] loading: " + f);
+
+        long t0 = System.nanoTime();
+
+        try (InputStream ontIn = f.getPathURI().toURL().openStream()) {
+            IRI iri = IRI.create(f.getIri());
+            StreamDocumentSource s = new StreamDocumentSource(ontIn, iri);
+            OWLOntology ont = manager.loadOntologyFromOntologyDocument(s);
+
+            logger.info("[" + caseName + "] parsed to manager in " + Util.niceTime(System.nanoTime() - t0) + ": " + ont.getOntologyID().getOntologyIRI());
+
+            return ont;
+        }
+    }
 }
@@ -0,0 +1,90 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.OWLBenchmarkTestCase;
+import de.athalis.owl.performance.config.YamlConfigFile;
+import de.athalis.owl.performance.reasoner.ReasonerAdapters;
+
+import java.net.URL;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.yaml.snakeyaml.LoaderOptions;
+
+/**
+ * JMH benchmark for a single benchmark test case, see {@link JmhRunner}.
+ * Like {@link OwlAPIBenchmark}, only {@code precomputeInferences} is measured:
+ * creating the reasoner and checking the consistency is done in the invocation level setup.
+ */
+public class OwlAPIJmhBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class TestCaseState {
+        @Param({""})
+        public String configURL;
+
+        @Param({"50"})
+        public int maxAliasesForCollections;
+
+        @Param({"0"})
+        public long caseIndex;
+
+        OWLBenchmarkTestCase testCase;
+        OwlAPIBenchmark owlAPIBenchmark;
+        OWLOntology ont;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            LoaderOptions loadingConfig = new LoaderOptions();
+            loadingConfig.setMaxAliasesForCollections(maxAliasesForCollections);
+
+            YamlConfigFile config = YamlConfigFile.readYaml(new URL(configURL), loadingConfig);
+
+            testCase = config.getTestCase(caseIndex);
+            owlAPIBenchmark = new OwlAPIBenchmark(config);
+
+            OwlAPIBenchmark.initReasoners(List.of(testCase));
+            ont = owlAPIBenchmark.createMergedModel(testCase);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            if (ont != null) {
+                ont.getOWLOntologyManager().clearOntologies();
+                ont = null;
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ReasonerState {
+        OWLReasoner reasoner;
+
+        @Setup(Level.Invocation)
+        public void setup(TestCaseState state) {
+            reasoner = ReasonerAdapters.get(state.testCase.getReasoner()).createReasoner(state.ont, state.owlAPIBenchmark.getReasonerConfig(state.testCase));
+
+            if (!reasoner.isConsistent()) {
+                throw new IllegalStateException(state.testCase.getName() + ": inconsistent");
+            }
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown() {
+            reasoner.dispose();
+            reasoner = null;
+        }
+    }
+
+    @Benchmark
+    public void precomputeInferences(TestCaseState state, ReasonerState reasonerState, Blackhole blackhole) {
+        for (InferenceType inferenceType : state.testCase.getInferences()) {
+            reasonerState.reasoner.precomputeInferences(inferenceType);
+        }
+        blackhole.consume(reasonerState.reasoner.getTopClassNode());
+    }
+}
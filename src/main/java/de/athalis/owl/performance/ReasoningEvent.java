@@ -0,0 +1,53 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import jdk.jfr.*;
+
+/**
+ * Java Flight Recorder event for a phase of a benchmark test case, e.g. the consistency check of a run.
+ * It is only recorded while a recording is running, see {@link FlightRecording} or {@code -XX:StartFlightRecording}.
+ */
+@Name("de.athalis.owl.performance.Reasoning")
+@Label("Reasoning Phase")
+@Category("OWL Performance")
+@Description("A phase of a warmup or run of a benchmark test case")
+@StackTrace(false)
+public class ReasoningEvent extends Event {
+
+    @Label("Case")
+    String caseName;
+
+    @Label("Stage")
+    @Description("load, warmup, run or preparation")
+    String stage;
+
+    @Label("Index")
+    @Description("Index of the warmup or run, starting at 1")
+    int index;
+
+    @Label("Phase")
+    @Description("load, creation, consistency or classification")
+    String phase;
+
+    @Label("Inference Type")
+    @Description("The inference type of the classification, otherwise null")
+    String inferenceType;
+
+    /**
+     * @return the started event, to be committed at the end of the phase
+     */
+    static ReasoningEvent begin(String caseName, String stage, int index, String phase, Object inferenceType) {
+        ReasoningEvent event = new ReasoningEvent();
+
+        if (event.isEnabled()) {
+            event.caseName = caseName;
+            event.stage = stage;
+            event.index = index;
+            event.phase = phase;
+            event.inferenceType = inferenceType != null ? inferenceType.toString() : null;
+        }
+
+        event.begin();
+        return event;
+    }
+}
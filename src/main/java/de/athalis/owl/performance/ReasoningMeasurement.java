@@ -0,0 +1,138 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.semanticweb.owlapi.reasoner.InferenceType;
+
+/**
+ * Durations of the phases of a single warmup or run, in nanoseconds.
+ */
+public class ReasoningMeasurement {
+
+    public enum Phase {
+        CREATION("creation"),
+        CONSISTENCY("consistency"),
+        CLASSIFICATION("classification");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final Map<Phase, Long> durations = new EnumMap<>(Phase.class);
+    private final Map<InferenceType, Long> inferenceDurations = new LinkedHashMap<>();
+
+    private boolean failed = false;
+    private long timedOutAfter = -1;
+
+    // -1 if not measured
+    private long allocatedBytes = -1;
+    private long peakHeapBytes = -1;
+    private long gcCount = -1;
+    private long gcTimeMillis = -1;
+    private long retainedBytes = -1;
+
+    void setDuration(Phase phase, long durationNanoSeconds) {
+        durations.put(phase, durationNanoSeconds);
+    }
+
+    void setInferenceDuration(InferenceType inferenceType, long durationNanoSeconds) {
+        inferenceDurations.put(inferenceType, durationNanoSeconds);
+    }
+
+    void setFailed() {
+        this.failed = true;
+    }
+
+    /**
+     * @param elapsedNanoSeconds since the creation of the reasoner started
+     */
+    void setTimedOut(long elapsedNanoSeconds) {
+        this.timedOutAfter = elapsedNanoSeconds;
+    }
+
+    void setMemory(long allocatedBytes, long peakHeapBytes, long gcCount, long gcTimeMillis) {
+        this.allocatedBytes = allocatedBytes;
+        this.peakHeapBytes = peakHeapBytes;
+        this.gcCount = gcCount;
+        this.gcTimeMillis = gcTimeMillis;
+    }
+
+    void setRetainedBytes(long retainedBytes) {
+        this.retainedBytes = retainedBytes;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    public boolean isTimedOut() {
+        return timedOutAfter >= 0;
+    }
+
+    /**
+     * @return the elapsed time until the timeout was detected, or -1 if not timed out
+     */
+    public long getTimedOutAfter() {
+        return timedOutAfter;
+    }
+
+    /**
+     * @return the phases that were reached, in order
+     */
+    public Map<Phase, Long> getDurations() {
+        return durations;
+    }
+
+    /**
+     * @return the durations of the single inference types of the classification phase, in the order they were precomputed
+     */
+    public Map<InferenceType, Long> getInferenceDurations() {
+        return inferenceDurations;
+    }
+
+    /**
+     * @return the measured duration of the phase, or -1 if the phase was not reached
+     */
+    public long getDuration(Phase phase) {
+        return durations.getOrDefault(phase, -1L);
+    }
+
+    /**
+     * @return the bytes allocated by the measuring thread, or -1 if not supported
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return the sum of the peak usages of the heap memory pools, or -1 if not measured
+     */
+    public long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    public long getGcTimeMillis() {
+        return gcTimeMillis;
+    }
+
+    /**
+     * @return the growth of the used heap after a forced GC with the classified reasoner, or -1 if not measured
+     */
+    public long getRetainedBytes() {
+        return retainedBytes;
+    }
+}
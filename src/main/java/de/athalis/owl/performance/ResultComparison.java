@@ -0,0 +1,373 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+import org.apache.commons.math3.stat.inference.MannWhitneyUTest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+/**
+ * Compares the results of two benchmarks, e.g. of the previous and the current version of an ontology.
+ * Cases are matched by name and reasoner, and the average durations are compared.
+ * If the samples directories of both benchmarks are given, the per-run samples are compared with a Mann-Whitney U test,
+ * and only significant differences count. Without samples, a case that got slower is never a regression, as a single noisy run could be.
+ */
+public class ResultComparison {
+    private static final Logger logger = LoggerFactory.getLogger(ResultComparison.class);
+
+    public static final String HEADER = "case\treasoner\tbaseline_avg_ns\tcurrent_avg_ns\tchange_percent\tspeedup\tp_value\tverdict";
+
+    public enum Verdict {
+        FASTER("faster"),
+        SLOWER("slower"),
+        UNCHANGED("unchanged"),
+        REGRESSION("regression"),
+        NOT_COMPARABLE("n.a."),
+        MISSING("missing"),
+        NEW("new");
+
+        private final String label;
+
+        Verdict(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    public static class Row {
+        private final String caseName;
+        private final String reasoner;
+        private final Long baseline;
+        private final Long current;
+        private final Double pValue;
+        private final Verdict verdict;
+
+        Row(String caseName, String reasoner, Long baseline, Long current, Double pValue, Verdict verdict) {
+            this.caseName = caseName;
+            this.reasoner = reasoner;
+            this.baseline = baseline;
+            this.current = current;
+            this.pValue = pValue;
+            this.verdict = verdict;
+        }
+
+        public String getCaseName() {
+            return caseName;
+        }
+
+        public String getReasoner() {
+            return reasoner;
+        }
+
+        /**
+         * @return the relative change of the average duration, e.g. 0.1 if the current benchmark is 10% slower, or null
+         */
+        public Double getChange() {
+            if (baseline == null || current == null || baseline == 0) {
+                return null;
+            }
+            return (double) current / baseline - 1;
+        }
+
+        /**
+         * @return the p-value of the Mann-Whitney U test, or null if there were not enough samples
+         */
+        public Double getPValue() {
+            return pValue;
+        }
+
+        public Verdict getVerdict() {
+            return verdict;
+        }
+
+        /**
+         * @return tab-separated columns as in {@link #HEADER}
+         */
+        @Override
+        public String toString() {
+            Double change = getChange();
+            return caseName + "\t" + reasoner + "\t" + format(baseline) + "\t" + format(current) + "\t" +
+                    (change != null ? String.format(Locale.ROOT, "%+.1f", change * 100) : BenchmarkResult.NOT_AVAILABLE) + "\t" +
+                    (change != null && current != 0 ? String.format(Locale.ROOT, "%.2fx", (double) baseline / current) : BenchmarkResult.NOT_AVAILABLE) + "\t" +
+                    (pValue != null ? String.format(Locale.ROOT, "%.4f", pValue) : BenchmarkResult.NOT_AVAILABLE) + "\t" +
+                    verdict.getLabel();
+        }
+
+        private static String format(Long value) {
+            return value != null ? String.valueOf(value) : BenchmarkResult.NOT_AVAILABLE;
+        }
+    }
+
+    private final double threshold;
+    private final double alpha;
+
+    /**
+     * @param thresholdPercent how much slower a case may get until it counts as regression
+     * @param alpha significance level of the Mann-Whitney U test
+     */
+    public ResultComparison(double thresholdPercent, double alpha) {
+        if (thresholdPercent < 0) {
+            throw new IllegalArgumentException("threshold must not be negative");
+        }
+        if (alpha <= 0 || alpha >= 1) {
+            throw new IllegalArgumentException("alpha must be between 0 and 1");
+        }
+
+        this.threshold = thresholdPercent / 100;
+        this.alpha = alpha;
+    }
+
+    /**
+     * @param baselineFile result file of the baseline, see {@link #readResults(File)}
+     * @param currentFile result file to compare with the baseline
+     * @param baselineSamples samples directory of the baseline, may be null
+     * @param currentSamples samples directory of the current benchmark, may be null
+     * @return the rows in the order of the current results, followed by the missing cases
+     */
+    public List<Row> compare(File baselineFile, File currentFile, File baselineSamples, File currentSamples) throws IOException {
+        Map<String, BenchmarkResult> baseline = new LinkedHashMap<>();
+        for (BenchmarkResult result : readResults(baselineFile)) {
+            baseline.put(key(result), result);
+        }
+
+        List<Row> rows = new LinkedList<>();
+
+        for (BenchmarkResult result : readResults(currentFile)) {
+            BenchmarkResult base = baseline.remove(key(result));
+
+            if (base == null) {
+                rows.add(new Row(result.getCaseName(), result.getReasoner(), null, result.getAverage(), null, Verdict.NEW));
+            }
+            else {
+                rows.add(compare(base, result, baselineSamples, currentSamples));
+            }
+        }
+
+        for (BenchmarkResult base : baseline.values()) {
+            rows.add(new Row(base.getCaseName(), base.getReasoner(), base.getAverage(), null, null, Verdict.MISSING));
+        }
+
+        return rows;
+    }
+
+    private Row compare(BenchmarkResult base, BenchmarkResult result, File baselineSamples, File currentSamples) throws IOException {
+        String caseName = result.getCaseName();
+        String reasoner = result.getReasoner();
+
+        if (result.getOutcome() != BenchmarkResult.Outcome.PASSED || base.getOutcome() != BenchmarkResult.Outcome.PASSED) {
+            boolean regressed = base.getOutcome() == BenchmarkResult.Outcome.PASSED && (result.getOutcome() == BenchmarkResult.Outcome.FAILED || result.getOutcome() == BenchmarkResult.Outcome.TIMEOUT);
+            return new Row(caseName, reasoner, base.getAverage(), result.getAverage(), null, regressed ? Verdict.REGRESSION : Verdict.NOT_COMPARABLE);
+        }
+
+        // isolated numbers are not comparable to numbers collected while other cases ran at the same time
+        if ((base.getConcurrency() == 1) != (result.getConcurrency() == 1)) {
+            logger.warn("[" + caseName + "]: concurrency differs (" + base.getConcurrency() + " / " + result.getConcurrency() + "), not comparing");
+            return new Row(caseName, reasoner, base.getAverage(), result.getAverage(), null, Verdict.NOT_COMPARABLE);
+        }
+
+        Double pValue = null;
+        if (baselineSamples != null && currentSamples != null) {
+            double[] x = readRunSamples(baselineSamples, caseName);
+            double[] y = readRunSamples(currentSamples, caseName);
+
+            if (x.length >= 2 && y.length >= 2) {
+                pValue = new MannWhitneyUTest().mannWhitneyUTest(x, y);
+            }
+            else {
+                logger.debug("[" + caseName + "]: not enough samples for the Mann-Whitney U test");
+            }
+        }
+
+        Row row = new Row(caseName, reasoner, base.getAverage(), result.getAverage(), pValue, Verdict.NOT_COMPARABLE);
+        Double change = row.getChange();
+        if (change == null) {
+            return row;
+        }
+
+        // without samples, the averages only tell the direction
+        boolean significant = pValue == null || pValue < alpha;
+
+        Verdict verdict;
+        if (!significant || change == 0) {
+            verdict = Verdict.UNCHANGED;
+        }
+        else if (change > threshold && pValue != null) {
+            verdict = Verdict.REGRESSION;
+        }
+        else if (change > 0) {
+            verdict = Verdict.SLOWER;
+        }
+        else {
+            verdict = Verdict.FASTER;
+        }
+
+        return new Row(caseName, reasoner, base.getAverage(), result.getAverage(), pValue, verdict);
+    }
+
+    private static String key(BenchmarkResult result) {
+        return result.getCaseName() + "\t" + result.getReasoner();
+    }
+
+    /**
+     * @param file written by a result sink of the format {@code jsonl} or {@code csv}, detected by the file extension
+     */
+    static List<BenchmarkResult> readResults(File file) throws IOException {
+        List<String> names = BenchmarkResult.getColumnNames();
+        List<BenchmarkResult> results = new LinkedList<>();
+
+        if (file.getName().endsWith(".csv")) {
+            List<List<String>> records = readCsv(file);
+            if (records.isEmpty() || !records.get(0).equals(names)) {
+                throw new IOException("unexpected header in " + file);
+            }
+
+            for (List<String> record : records.subList(1, records.size())) {
+                results.add(BenchmarkResult.parse(record));
+            }
+        }
+        else {
+            // JSON is a subset of YAML, result files may be shared, i.e. only standard types are constructed
+            Yaml yaml = new Yaml(new SafeConstructor());
+
+            for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                Object loaded = yaml.load(line);
+                if (!(loaded instanceof Map)) {
+                    throw new IOException("unexpected line in " + file + ": " + line);
+                }
+
+                @SuppressWarnings("unchecked")
+                Map<String, Object> object = (Map<String, Object>) loaded;
+                Map<BenchmarkResult.Column, Object> values = new EnumMap<>(BenchmarkResult.Column.class);
+                for (BenchmarkResult.Column column : BenchmarkResult.Column.values()) {
+                    if (!object.containsKey(column.getName())) {
+                        throw new IOException("missing column " + column.getName() + " in " + file);
+                    }
+                    values.put(column, column.convert(object.get(column.getName())));
+                }
+                results.add(BenchmarkResult.fromValues(values));
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * @return the records of a CSV file according to RFC 4180
+     */
+    static List<List<String>> readCsv(File file) throws IOException {
+        List<List<String>> records = new LinkedList<>();
+
+        try (Reader in = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            List<String> record = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean empty = true;
+
+            int c;
+            while ((c = in.read()) != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        in.mark(1);
+                        if (in.read() == '"') {
+                            field.append('"');
+                        }
+                        else {
+                            in.reset();
+                            quoted = false;
+                        }
+                    }
+                    else {
+                        field.append((char) c);
+                    }
+                }
+                else if (c == '"') {
+                    quoted = true;
+                    empty = false;
+                }
+                else if (c == ',') {
+                    record.add(field.toString());
+                    field.setLength(0);
+                    empty = false;
+                }
+                else if (c == '\n') {
+                    if (!empty || field.length() > 0) {
+                        record.add(field.toString());
+                        records.add(record);
+                    }
+                    record = new ArrayList<>();
+                    field.setLength(0);
+                    empty = true;
+                }
+                else if (c != '\r') {
+                    field.append((char) c);
+                    empty = false;
+                }
+            }
+
+            if (!empty || field.length() > 0) {
+                record.add(field.toString());
+                records.add(record);
+            }
+        }
+
+        return records;
+    }
+
+    /**
+     * Reads the durations of the runs, as written by {@link SampleWriter}:
+     * the classifications, or the re-classifications for the results of incremental cases.
+     *
+     * @return empty if there is no samples file for the case
+     */
+    static double[] readRunSamples(File samplesDirectory, String caseName) throws IOException {
+        String phase = ReasoningMeasurement.Phase.CLASSIFICATION.getLabel();
+        File file = new File(samplesDirectory, Util.fileName(caseName) + ".samples.tsv");
+
+        for (String suffix : List.of("incremental", "full")) {
+            if (!file.exists() && caseName.endsWith(" [" + suffix + "]")) {
+                phase = suffix;
+                file = new File(samplesDirectory, Util.fileName(caseName.substring(0, caseName.length() - suffix.length() - 3)) + ".samples.tsv");
+            }
+        }
+
+        if (!file.exists()) {
+            return new double[0];
+        }
+
+        List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        if (lines.isEmpty() || !SampleWriter.HEADER.equals(lines.get(0))) {
+            throw new IOException("unexpected header in " + file);
+        }
+
+        double[] samples = new double[lines.size() - 1];
+        int n = 0;
+        for (String line : lines.subList(1, lines.size())) {
+            String[] columns = line.split("\t");
+            if (columns.length == 4 && "run".equals(columns[0]) && phase.equals(columns[2])) {
+                samples[n++] = Long.parseLong(columns[3]);
+            }
+        }
+
+        return Arrays.copyOf(samples, n);
+    }
+
+    /**
+     * @return whether any case regressed
+     */
+    public static boolean hasRegression(List<Row> rows) {
+        return rows.stream().anyMatch(row -> row.getVerdict() == Verdict.REGRESSION);
+    }
+}
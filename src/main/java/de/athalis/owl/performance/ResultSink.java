@@ -0,0 +1,35 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.ResultFile;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Writes the results while the benchmark is running: each result is appended and flushed right away,
+ * i.e. the file is complete up to the last finished case, even if the benchmark is interrupted.
+ */
+public interface ResultSink extends Closeable {
+
+    void write(BenchmarkResult result) throws IOException;
+
+    /**
+     * @throws IllegalArgumentException if the format is unknown
+     */
+    static ResultSink open(ResultFile resultFile) throws IOException {
+        File file = new File(resultFile.getPath());
+
+        switch (resultFile.getFormat()) {
+            case ResultFile.FORMAT_CSV:
+                return new CsvResultSink(file);
+            case ResultFile.FORMAT_JSONL:
+                return new JsonLinesResultSink(file);
+            case ResultFile.FORMAT_JUNIT:
+                return new JUnitXmlResultSink(file);
+            default:
+                throw new IllegalArgumentException("unknown result format: " + resultFile.getFormat());
+        }
+    }
+}
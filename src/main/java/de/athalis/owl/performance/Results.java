@@ -0,0 +1,74 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.ResultFile;
+
+import java.io.IOException;
+import java.util.*;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The results of the benchmark test cases, in order. Each added result is passed to the sinks right away.
+ */
+public class Results implements Iterable<BenchmarkResult>, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(Results.class);
+
+    private final List<BenchmarkResult> results = new ArrayList<>();
+    private final List<ResultSink> sinks = new LinkedList<>();
+
+    public void openSinks(List<ResultFile> resultFiles) throws IOException {
+        for (ResultFile resultFile : resultFiles) {
+            logger.info("writing results to " + resultFile.getPath() + " (" + resultFile.getFormat() + ")");
+            sinks.add(ResultSink.open(resultFile));
+        }
+    }
+
+    public synchronized void add(BenchmarkResult result) {
+        results.add(result);
+
+        for (ResultSink sink : sinks) {
+            try {
+                sink.write(result);
+            }
+            catch (IOException ex) {
+                // the result is still reported at the end
+                logger.warn("could not write result of " + result.getCaseName(), ex);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return results.size();
+    }
+
+    public synchronized BenchmarkResult get(int index) {
+        return results.get(index);
+    }
+
+    /**
+     * @return an unmodifiable copy
+     */
+    public synchronized List<BenchmarkResult> asList() {
+        return List.copyOf(results);
+    }
+
+    @Override
+    public Iterator<BenchmarkResult> iterator() {
+        return asList().iterator();
+    }
+
+    @Override
+    public void close() {
+        for (ResultSink sink : sinks) {
+            try {
+                sink.close();
+            }
+            catch (IOException ex) {
+                logger.warn("could not close result sink", ex);
+            }
+        }
+        sinks.clear();
+    }
+}
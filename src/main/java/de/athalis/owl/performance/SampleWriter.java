@@ -0,0 +1,47 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streams the single samples of a benchmark test case to a tab-separated file, flushing after each sample.
+ */
+public class SampleWriter implements Closeable {
+
+    public static final String HEADER = "stage\tindex\tphase\tduration_ns";
+
+    private final File file;
+    private final PrintWriter out;
+
+    public SampleWriter(File directory, String caseName) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("unable to create directory: " + directory);
+        }
+
+        this.file = new File(directory, Util.fileName(caseName) + ".samples.tsv");
+        this.out = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+
+        out.println(HEADER);
+        out.flush();
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @param stage warmup or run
+     * @param index of the warmup or run
+     * @param phase of the reasoning
+     */
+    public void write(String stage, int index, String phase, long durationNanoSeconds) {
+        out.println(stage + "\t" + index + "\t" + phase + "\t" + durationNanoSeconds);
+        out.flush();
+    }
+
+    @Override
+    public void close() {
+        out.close();
+    }
+}
@@ -0,0 +1,145 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.ScalingSettings;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import org.apache.commons.math3.stat.regression.SimpleRegression;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.semanticweb.owlapi.util.OWLObjectDuplicator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Scales the ABox of a case in memory: copy {@code k} of the named individuals gets the IRIs with the suffix {@code _copyk},
+ * and the assertions about them (class, property, same and different individuals) are duplicated for it.
+ * Assertions with anonymous individuals are not duplicated.
+ * Copies are added one after another, each one seeded on its own, so that a scale factor gives the same ontology regardless of the smaller factors before.
+ * The ontology is restored by {@link #restore()}.
+ */
+class ScalingGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(ScalingGenerator.class);
+
+    private final String testCaseName;
+    private final OWLOntology ont;
+    private final ScalingSettings settings;
+
+    private final List<OWLNamedIndividual> individuals;
+    private final List<OWLAxiom> axioms;
+
+    private final List<AddAxiom> added = new LinkedList<>();
+    private int factor = 1;
+
+    ScalingGenerator(String testCaseName, OWLOntology ont, ScalingSettings settings) {
+        this.testCaseName = testCaseName;
+        this.ont = ont;
+        this.settings = settings;
+
+        this.individuals = ont.individualsInSignature(Imports.INCLUDED).sorted().collect(Collectors.toList());
+
+        Set<OWLNamedIndividual> set = new HashSet<>(individuals);
+        this.axioms = ont.axioms(Imports.INCLUDED)
+                .filter(a -> isAssertion(a, set))
+                .filter(a -> a.anonymousIndividuals().findAny().isEmpty())
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+
+        logger.info("[" + testCaseName + "]: replicating " + individuals.size() + " individuals with " + axioms.size() + " axioms");
+    }
+
+    private static boolean isAssertion(OWLAxiom axiom, Set<OWLNamedIndividual> individuals) {
+        if (axiom.isOfType(AxiomType.ABoxAxiomTypes)) {
+            return true;
+        }
+        return axiom instanceof OWLDeclarationAxiom && individuals.contains(((OWLDeclarationAxiom) axiom).getEntity());
+    }
+
+    /**
+     * Adds the copies up to the given factor.
+     *
+     * @param factor must not be smaller than the previous one
+     * @return the number of axioms added in total
+     */
+    int scaleTo(int factor) {
+        if (factor < this.factor) {
+            throw new IllegalArgumentException("scale factors must be ascending");
+        }
+
+        OWLOntologyManager manager = ont.getOWLOntologyManager();
+        OWLDataFactory df = manager.getOWLDataFactory();
+
+        for (int k = this.factor; k < factor; k++) {
+            Map<OWLEntity, IRI> replacements = new HashMap<>();
+            for (OWLNamedIndividual individual : individuals) {
+                replacements.put(individual, copyOf(df, individual, k).getIRI());
+            }
+            OWLObjectDuplicator duplicator = new OWLObjectDuplicator(replacements, df);
+
+            Random random = new Random(settings.getSeed() + k);
+
+            List<AddAxiom> copy = new ArrayList<>(axioms.size());
+            for (OWLAxiom axiom : axioms) {
+                OWLAxiom duplicate = duplicator.duplicateObject(axiom);
+
+                if (duplicate instanceof OWLObjectPropertyAssertionAxiom && settings.getCrossLinks() > 0) {
+                    OWLObjectPropertyAssertionAxiom assertion = (OWLObjectPropertyAssertionAxiom) axiom;
+                    if (assertion.getObject().isNamed() && random.nextDouble() < settings.getCrossLinks()) {
+                        // links the copies, so that they are not independent of each other
+                        OWLNamedIndividual object = copyOf(df, assertion.getObject().asOWLNamedIndividual(), random.nextInt(k));
+                        duplicate = df.getOWLObjectPropertyAssertionAxiom(assertion.getProperty(), ((OWLObjectPropertyAssertionAxiom) duplicate).getSubject(), object, assertion.annotationsAsList());
+                    }
+                }
+
+                copy.add(new AddAxiom(ont, duplicate));
+            }
+
+            manager.applyChanges(copy);
+            added.addAll(copy);
+        }
+
+        this.factor = factor;
+
+        logger.info("[" + testCaseName + "]: scaled to x" + factor + ", " + added.size() + " axioms added");
+
+        return added.size();
+    }
+
+    /**
+     * @param k 0 for the original individual
+     */
+    private static OWLNamedIndividual copyOf(OWLDataFactory df, OWLNamedIndividual individual, int k) {
+        return k == 0 ? individual : df.getOWLNamedIndividual(IRI.create(individual.getIRI() + "_copy" + k));
+    }
+
+    /**
+     * Removes all copies.
+     */
+    void restore() {
+        ont.getOWLOntologyManager().applyChanges(added.stream().map(AddAxiom::reverseChange).collect(Collectors.toList()));
+        added.clear();
+        factor = 1;
+    }
+
+    /**
+     * Fits {@code value = c * factor^exponent} by linear regression of the logarithms.
+     *
+     * @return the exponent, or null if there are less than 2 distinct factors with positive values
+     */
+    static Double growthExponent(List<Integer> factors, List<Double> values) {
+        SimpleRegression regression = new SimpleRegression();
+
+        for (int i = 0; i < factors.size(); i++) {
+            Double value = values.get(i);
+            if (value != null && value > 0) {
+                regression.addData(Math.log(factors.get(i)), Math.log(value));
+            }
+        }
+
+        double exponent = regression.getSlope();
+        return Double.isNaN(exponent) ? null : exponent;
+    }
+}
@@ -0,0 +1,1227 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.vocab.OWLFacet;
+
+/**
+ * The body of an {@link OntologySnapshot}: a table of all strings (IRIs, lexical forms and language tags of literals, and node IDs of anonymous individuals),
+ * followed by the ontology ID, imports declarations, annotations and axioms. Each object is written as a tag of this format and its parts,
+ * strings as indices into the table. Counts and indices are variable-length encoded: 7 bits per byte, least significant first.
+ * <p>
+ * The tags only depend on this class, not on the implementation classes of OWLAPI, i.e. adding a tag does not change the existing ones,
+ * but changing the layout of an object needs a new {@link OntologySnapshot} version.
+ */
+final class SnapshotCodec {
+
+    // entities, individuals and annotation values
+    private static final int CLASS = 1;
+    private static final int OBJECT_PROPERTY = 2;
+    private static final int DATA_PROPERTY = 3;
+    private static final int ANNOTATION_PROPERTY = 4;
+    private static final int NAMED_INDIVIDUAL = 5;
+    private static final int DATATYPE = 6;
+    private static final int ANONYMOUS_INDIVIDUAL = 7;
+    private static final int LITERAL = 8;
+    private static final int IRI_VALUE = 9;
+    private static final int OBJECT_INVERSE_OF = 10;
+
+    // class expressions, named classes use CLASS
+    private static final int OBJECT_INTERSECTION_OF = 20;
+    private static final int OBJECT_UNION_OF = 21;
+    private static final int OBJECT_COMPLEMENT_OF = 22;
+    private static final int OBJECT_ONE_OF = 23;
+    private static final int OBJECT_SOME_VALUES_FROM = 24;
+    private static final int OBJECT_ALL_VALUES_FROM = 25;
+    private static final int OBJECT_HAS_VALUE = 26;
+    private static final int OBJECT_HAS_SELF = 27;
+    private static final int OBJECT_MIN_CARDINALITY = 28;
+    private static final int OBJECT_EXACT_CARDINALITY = 29;
+    private static final int OBJECT_MAX_CARDINALITY = 30;
+    private static final int DATA_SOME_VALUES_FROM = 31;
+    private static final int DATA_ALL_VALUES_FROM = 32;
+    private static final int DATA_HAS_VALUE = 33;
+    private static final int DATA_MIN_CARDINALITY = 34;
+    private static final int DATA_EXACT_CARDINALITY = 35;
+    private static final int DATA_MAX_CARDINALITY = 36;
+
+    // data ranges, datatypes use DATATYPE
+    private static final int DATA_INTERSECTION_OF = 40;
+    private static final int DATA_UNION_OF = 41;
+    private static final int DATA_COMPLEMENT_OF = 42;
+    private static final int DATA_ONE_OF = 43;
+    private static final int DATATYPE_RESTRICTION = 44;
+
+    // axioms
+    private static final int DECLARATION = 60;
+    private static final int SUB_CLASS_OF = 61;
+    private static final int EQUIVALENT_CLASSES = 62;
+    private static final int DISJOINT_CLASSES = 63;
+    private static final int DISJOINT_UNION = 64;
+    private static final int CLASS_ASSERTION = 65;
+    private static final int SAME_INDIVIDUAL = 66;
+    private static final int DIFFERENT_INDIVIDUALS = 67;
+    private static final int OBJECT_PROPERTY_ASSERTION = 68;
+    private static final int NEGATIVE_OBJECT_PROPERTY_ASSERTION = 69;
+    private static final int DATA_PROPERTY_ASSERTION = 70;
+    private static final int NEGATIVE_DATA_PROPERTY_ASSERTION = 71;
+    private static final int EQUIVALENT_OBJECT_PROPERTIES = 72;
+    private static final int SUB_OBJECT_PROPERTY = 73;
+    private static final int INVERSE_OBJECT_PROPERTIES = 74;
+    private static final int FUNCTIONAL_OBJECT_PROPERTY = 75;
+    private static final int INVERSE_FUNCTIONAL_OBJECT_PROPERTY = 76;
+    private static final int SYMMETRIC_OBJECT_PROPERTY = 77;
+    private static final int ASYMMETRIC_OBJECT_PROPERTY = 78;
+    private static final int TRANSITIVE_OBJECT_PROPERTY = 79;
+    private static final int REFLEXIVE_OBJECT_PROPERTY = 80;
+    private static final int IRREFLEXIVE_OBJECT_PROPERTY = 81;
+    private static final int OBJECT_PROPERTY_DOMAIN = 82;
+    private static final int OBJECT_PROPERTY_RANGE = 83;
+    private static final int DISJOINT_OBJECT_PROPERTIES = 84;
+    private static final int SUB_PROPERTY_CHAIN_OF = 85;
+    private static final int EQUIVALENT_DATA_PROPERTIES = 86;
+    private static final int SUB_DATA_PROPERTY = 87;
+    private static final int FUNCTIONAL_DATA_PROPERTY = 88;
+    private static final int DATA_PROPERTY_DOMAIN = 89;
+    private static final int DATA_PROPERTY_RANGE = 90;
+    private static final int DISJOINT_DATA_PROPERTIES = 91;
+    private static final int HAS_KEY = 92;
+    private static final int SWRL_RULE = 93;
+    private static final int ANNOTATION_ASSERTION = 94;
+    private static final int SUB_ANNOTATION_PROPERTY_OF = 95;
+    private static final int ANNOTATION_PROPERTY_DOMAIN = 96;
+    private static final int ANNOTATION_PROPERTY_RANGE = 97;
+    private static final int DATATYPE_DEFINITION = 98;
+
+    // SWRL atoms and arguments
+    private static final int SWRL_CLASS_ATOM = 110;
+    private static final int SWRL_DATA_RANGE_ATOM = 111;
+    private static final int SWRL_OBJECT_PROPERTY_ATOM = 112;
+    private static final int SWRL_DATA_PROPERTY_ATOM = 113;
+    private static final int SWRL_BUILT_IN_ATOM = 114;
+    private static final int SWRL_SAME_INDIVIDUAL_ATOM = 115;
+    private static final int SWRL_DIFFERENT_INDIVIDUALS_ATOM = 116;
+    private static final int SWRL_VARIABLE = 120;
+    private static final int SWRL_INDIVIDUAL_ARGUMENT = 121;
+    private static final int SWRL_LITERAL_ARGUMENT = 122;
+
+    // limits the nesting of class expressions, data ranges and annotations while reading, instead of overflowing the stack
+    private static final int MAX_DEPTH = 1000;
+
+    private SnapshotCodec() {
+    }
+
+    static void writeVarInt(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7f) != 0) {
+            out.write((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    static int readVarInt(ByteBuffer in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    throw new IOException("invalid number in snapshot");
+                }
+                return value;
+            }
+        }
+        throw new IOException("invalid number in snapshot");
+    }
+
+    static void writeString(OutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(ByteBuffer in) throws IOException {
+        int length = readVarInt(in);
+        if (length > in.remaining()) {
+            throw new IOException("truncated snapshot");
+        }
+
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Collects the strings of the snapshot into the table while encoding its objects, see {@link #writeTo(OutputStream)}.
+     */
+    static final class Encoder {
+
+        private final Map<String, Integer> indices = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        Encoder(OWLOntologyID ontologyID, List<OWLImportsDeclaration> importsDeclarations, List<OWLAnnotation> annotations, List<OWLAxiom> axioms) throws IOException {
+            optionalIRI(ontologyID.getOntologyIRI());
+            optionalIRI(ontologyID.getVersionIRI());
+
+            number(importsDeclarations.size());
+            for (OWLImportsDeclaration importsDeclaration : importsDeclarations) {
+                iri(importsDeclaration.getIRI());
+            }
+
+            annotations(annotations.stream());
+
+            number(axioms.size());
+            for (OWLAxiom axiom : axioms) {
+                axiom(axiom);
+            }
+        }
+
+        /**
+         * Writes the table of strings, followed by the encoded objects.
+         */
+        void writeTo(OutputStream out) throws IOException {
+            writeVarInt(out, strings.size());
+            for (String s : strings) {
+                writeString(out, s);
+            }
+            body.writeTo(out);
+        }
+
+        private void number(int n) throws IOException {
+            writeVarInt(body, n);
+        }
+
+        private void string(String s) throws IOException {
+            Integer index = indices.get(s);
+            if (index == null) {
+                index = strings.size();
+                strings.add(s);
+                indices.put(s, index);
+            }
+            number(index);
+        }
+
+        private void iri(IRI iri) throws IOException {
+            string(iri.toString());
+        }
+
+        private void optionalIRI(Optional<IRI> iri) throws IOException {
+            if (iri.isPresent()) {
+                number(1);
+                iri(iri.get());
+            }
+            else {
+                number(0);
+            }
+        }
+
+        /**
+         * Writes the number of elements, the caller writes the elements.
+         */
+        private <T> List<T> elements(Stream<? extends T> stream) throws IOException {
+            List<T> list = stream.collect(Collectors.toList());
+            number(list.size());
+            return list;
+        }
+
+        private void entity(OWLEntity entity) throws IOException {
+            if (entity.isOWLClass()) {
+                number(CLASS);
+            }
+            else if (entity.isOWLObjectProperty()) {
+                number(OBJECT_PROPERTY);
+            }
+            else if (entity.isOWLDataProperty()) {
+                number(DATA_PROPERTY);
+            }
+            else if (entity.isOWLAnnotationProperty()) {
+                number(ANNOTATION_PROPERTY);
+            }
+            else if (entity.isOWLNamedIndividual()) {
+                number(NAMED_INDIVIDUAL);
+            }
+            else if (entity.isOWLDatatype()) {
+                number(DATATYPE);
+            }
+            else {
+                throw new IOException("unsupported entity: " + entity);
+            }
+            iri(entity.getIRI());
+        }
+
+        private void individual(OWLIndividual individual) throws IOException {
+            if (individual.isNamed()) {
+                number(NAMED_INDIVIDUAL);
+                iri(individual.asOWLNamedIndividual().getIRI());
+            }
+            else {
+                number(ANONYMOUS_INDIVIDUAL);
+                string(individual.asOWLAnonymousIndividual().getID().getID());
+            }
+        }
+
+        private void literal(OWLLiteral literal) throws IOException {
+            string(literal.getLiteral());
+            if (literal.hasLang()) {
+                number(1);
+                string(literal.getLang());
+            }
+            else {
+                number(0);
+                iri(literal.getDatatype().getIRI());
+            }
+        }
+
+        private void objectProperty(OWLObjectPropertyExpression property) throws IOException {
+            if (property.isAnonymous()) {
+                number(OBJECT_INVERSE_OF);
+            }
+            else {
+                number(OBJECT_PROPERTY);
+            }
+            iri(property.getNamedProperty().getIRI());
+        }
+
+        private void dataProperty(OWLDataPropertyExpression property) throws IOException {
+            iri(property.asOWLDataProperty().getIRI());
+        }
+
+        private void property(OWLPropertyExpression property) throws IOException {
+            if (property.isObjectPropertyExpression()) {
+                objectProperty((OWLObjectPropertyExpression) property);
+            }
+            else if (property.isDataPropertyExpression()) {
+                number(DATA_PROPERTY);
+                dataProperty((OWLDataPropertyExpression) property);
+            }
+            else {
+                throw new IOException("unsupported property: " + property);
+            }
+        }
+
+        private void annotationValue(OWLAnnotationObject value) throws IOException {
+            if (value instanceof IRI) {
+                number(IRI_VALUE);
+                iri((IRI) value);
+            }
+            else if (value instanceof OWLLiteral) {
+                number(LITERAL);
+                literal((OWLLiteral) value);
+            }
+            else if (value instanceof OWLAnonymousIndividual) {
+                individual((OWLAnonymousIndividual) value);
+            }
+            else {
+                throw new IOException("unsupported annotation value: " + value);
+            }
+        }
+
+        private void annotations(Stream<OWLAnnotation> annotations) throws IOException {
+            for (OWLAnnotation annotation : elements(annotations)) {
+                iri(annotation.getProperty().getIRI());
+                annotationValue(annotation.getValue());
+                annotations(annotation.annotations());
+            }
+        }
+
+        private void classExpressions(Stream<? extends OWLClassExpression> classExpressions) throws IOException {
+            for (OWLClassExpression ce : elements(classExpressions)) {
+                classExpression(ce);
+            }
+        }
+
+        private void individuals(Stream<? extends OWLIndividual> individuals) throws IOException {
+            for (OWLIndividual individual : elements(individuals)) {
+                individual(individual);
+            }
+        }
+
+        private void classExpression(OWLClassExpression ce) throws IOException {
+            switch (ce.getClassExpressionType()) {
+                case OWL_CLASS:
+                    number(CLASS);
+                    iri(ce.asOWLClass().getIRI());
+                    break;
+                case OBJECT_INTERSECTION_OF:
+                    number(OBJECT_INTERSECTION_OF);
+                    classExpressions(((OWLObjectIntersectionOf) ce).operands());
+                    break;
+                case OBJECT_UNION_OF:
+                    number(OBJECT_UNION_OF);
+                    classExpressions(((OWLObjectUnionOf) ce).operands());
+                    break;
+                case OBJECT_COMPLEMENT_OF:
+                    number(OBJECT_COMPLEMENT_OF);
+                    classExpression(((OWLObjectComplementOf) ce).getOperand());
+                    break;
+                case OBJECT_ONE_OF:
+                    number(OBJECT_ONE_OF);
+                    individuals(((OWLObjectOneOf) ce).individuals());
+                    break;
+                case OBJECT_SOME_VALUES_FROM:
+                    number(OBJECT_SOME_VALUES_FROM);
+                    objectProperty(((OWLObjectSomeValuesFrom) ce).getProperty());
+                    classExpression(((OWLObjectSomeValuesFrom) ce).getFiller());
+                    break;
+                case OBJECT_ALL_VALUES_FROM:
+                    number(OBJECT_ALL_VALUES_FROM);
+                    objectProperty(((OWLObjectAllValuesFrom) ce).getProperty());
+                    classExpression(((OWLObjectAllValuesFrom) ce).getFiller());
+                    break;
+                case OBJECT_HAS_VALUE:
+                    number(OBJECT_HAS_VALUE);
+                    objectProperty(((OWLObjectHasValue) ce).getProperty());
+                    individual(((OWLObjectHasValue) ce).getFiller());
+                    break;
+                case OBJECT_HAS_SELF:
+                    number(OBJECT_HAS_SELF);
+                    objectProperty(((OWLObjectHasSelf) ce).getProperty());
+                    break;
+                case OBJECT_MIN_CARDINALITY:
+                    number(OBJECT_MIN_CARDINALITY);
+                    objectCardinality((OWLObjectCardinalityRestriction) ce);
+                    break;
+                case OBJECT_EXACT_CARDINALITY:
+                    number(OBJECT_EXACT_CARDINALITY);
+                    objectCardinality((OWLObjectCardinalityRestriction) ce);
+                    break;
+                case OBJECT_MAX_CARDINALITY:
+                    number(OBJECT_MAX_CARDINALITY);
+                    objectCardinality((OWLObjectCardinalityRestriction) ce);
+                    break;
+                case DATA_SOME_VALUES_FROM:
+                    number(DATA_SOME_VALUES_FROM);
+                    dataProperty(((OWLDataSomeValuesFrom) ce).getProperty());
+                    dataRange(((OWLDataSomeValuesFrom) ce).getFiller());
+                    break;
+                case DATA_ALL_VALUES_FROM:
+                    number(DATA_ALL_VALUES_FROM);
+                    dataProperty(((OWLDataAllValuesFrom) ce).getProperty());
+                    dataRange(((OWLDataAllValuesFrom) ce).getFiller());
+                    break;
+                case DATA_HAS_VALUE:
+                    number(DATA_HAS_VALUE);
+                    dataProperty(((OWLDataHasValue) ce).getProperty());
+                    literal(((OWLDataHasValue) ce).getFiller());
+                    break;
+                case DATA_MIN_CARDINALITY:
+                    number(DATA_MIN_CARDINALITY);
+                    dataCardinality((OWLDataCardinalityRestriction) ce);
+                    break;
+                case DATA_EXACT_CARDINALITY:
+                    number(DATA_EXACT_CARDINALITY);
+                    dataCardinality((OWLDataCardinalityRestriction) ce);
+                    break;
+                case DATA_MAX_CARDINALITY:
+                    number(DATA_MAX_CARDINALITY);
+                    dataCardinality((OWLDataCardinalityRestriction) ce);
+                    break;
+                default:
+                    throw new IOException("unsupported class expression: " + ce);
+            }
+        }
+
+        private void objectCardinality(OWLObjectCardinalityRestriction ce) throws IOException {
+            number(ce.getCardinality());
+            objectProperty(ce.getProperty());
+            classExpression(ce.getFiller());
+        }
+
+        private void dataCardinality(OWLDataCardinalityRestriction ce) throws IOException {
+            number(ce.getCardinality());
+            dataProperty(ce.getProperty());
+            dataRange(ce.getFiller());
+        }
+
+        private void dataRanges(Stream<? extends OWLDataRange> dataRanges) throws IOException {
+            for (OWLDataRange dataRange : elements(dataRanges)) {
+                dataRange(dataRange);
+            }
+        }
+
+        private void dataRange(OWLDataRange dataRange) throws IOException {
+            switch (dataRange.getDataRangeType()) {
+                case DATATYPE:
+                    number(DATATYPE);
+                    iri(dataRange.asOWLDatatype().getIRI());
+                    break;
+                case DATA_INTERSECTION_OF:
+                    number(DATA_INTERSECTION_OF);
+                    dataRanges(((OWLDataIntersectionOf) dataRange).operands());
+                    break;
+                case DATA_UNION_OF:
+                    number(DATA_UNION_OF);
+                    dataRanges(((OWLDataUnionOf) dataRange).operands());
+                    break;
+                case DATA_COMPLEMENT_OF:
+                    number(DATA_COMPLEMENT_OF);
+                    dataRange(((OWLDataComplementOf) dataRange).getDataRange());
+                    break;
+                case DATA_ONE_OF:
+                    number(DATA_ONE_OF);
+                    for (OWLLiteral value : elements(((OWLDataOneOf) dataRange).values())) {
+                        literal(value);
+                    }
+                    break;
+                case DATATYPE_RESTRICTION:
+                    number(DATATYPE_RESTRICTION);
+                    OWLDatatypeRestriction restriction = (OWLDatatypeRestriction) dataRange;
+                    iri(restriction.getDatatype().getIRI());
+                    for (OWLFacetRestriction facetRestriction : elements(restriction.facetRestrictions())) {
+                        iri(facetRestriction.getFacet().getIRI());
+                        literal(facetRestriction.getFacetValue());
+                    }
+                    break;
+                default:
+                    throw new IOException("unsupported data range: " + dataRange);
+            }
+        }
+
+        private void swrlIArgument(SWRLIArgument argument) throws IOException {
+            if (argument instanceof SWRLVariable) {
+                number(SWRL_VARIABLE);
+                iri(((SWRLVariable) argument).getIRI());
+            }
+            else {
+                number(SWRL_INDIVIDUAL_ARGUMENT);
+                individual(((SWRLIndividualArgument) argument).getIndividual());
+            }
+        }
+
+        private void swrlDArgument(SWRLDArgument argument) throws IOException {
+            if (argument instanceof SWRLVariable) {
+                number(SWRL_VARIABLE);
+                iri(((SWRLVariable) argument).getIRI());
+            }
+            else {
+                number(SWRL_LITERAL_ARGUMENT);
+                literal(((SWRLLiteralArgument) argument).getLiteral());
+            }
+        }
+
+        private void swrlAtoms(Stream<SWRLAtom> atoms) throws IOException {
+            for (SWRLAtom atom : elements(atoms)) {
+                if (atom instanceof SWRLClassAtom) {
+                    number(SWRL_CLASS_ATOM);
+                    classExpression(((SWRLClassAtom) atom).getPredicate());
+                    swrlIArgument(((SWRLClassAtom) atom).getArgument());
+                }
+                else if (atom instanceof SWRLDataRangeAtom) {
+                    number(SWRL_DATA_RANGE_ATOM);
+                    dataRange(((SWRLDataRangeAtom) atom).getPredicate());
+                    swrlDArgument(((SWRLDataRangeAtom) atom).getArgument());
+                }
+                else if (atom instanceof SWRLObjectPropertyAtom) {
+                    number(SWRL_OBJECT_PROPERTY_ATOM);
+                    objectProperty(((SWRLObjectPropertyAtom) atom).getPredicate());
+                    swrlIArgument(((SWRLObjectPropertyAtom) atom).getFirstArgument());
+                    swrlIArgument(((SWRLObjectPropertyAtom) atom).getSecondArgument());
+                }
+                else if (atom instanceof SWRLDataPropertyAtom) {
+                    number(SWRL_DATA_PROPERTY_ATOM);
+                    dataProperty(((SWRLDataPropertyAtom) atom).getPredicate());
+                    swrlIArgument(((SWRLDataPropertyAtom) atom).getFirstArgument());
+                    swrlDArgument(((SWRLDataPropertyAtom) atom).getSecondArgument());
+                }
+                else if (atom instanceof SWRLBuiltInAtom) {
+                    number(SWRL_BUILT_IN_ATOM);
+                    iri(((SWRLBuiltInAtom) atom).getPredicate());
+                    for (SWRLDArgument argument : elements(((SWRLBuiltInAtom) atom).getArguments().stream())) {
+                        swrlDArgument(argument);
+                    }
+                }
+                else if (atom instanceof SWRLSameIndividualAtom) {
+                    number(SWRL_SAME_INDIVIDUAL_ATOM);
+                    swrlIArgument(((SWRLSameIndividualAtom) atom).getFirstArgument());
+                    swrlIArgument(((SWRLSameIndividualAtom) atom).getSecondArgument());
+                }
+                else if (atom instanceof SWRLDifferentIndividualsAtom) {
+                    number(SWRL_DIFFERENT_INDIVIDUALS_ATOM);
+                    swrlIArgument(((SWRLDifferentIndividualsAtom) atom).getFirstArgument());
+                    swrlIArgument(((SWRLDifferentIndividualsAtom) atom).getSecondArgument());
+                }
+                else {
+                    throw new IOException("unsupported SWRL atom: " + atom);
+                }
+            }
+        }
+
+        /**
+         * Writes the tag and the annotations of the axiom, the caller writes the rest.
+         */
+        private void header(int tag, OWLAxiom axiom) throws IOException {
+            number(tag);
+            annotations(axiom.annotations());
+        }
+
+        private void axiom(OWLAxiom axiom) throws IOException {
+            if (axiom instanceof OWLDeclarationAxiom) {
+                header(DECLARATION, axiom);
+                entity(((OWLDeclarationAxiom) axiom).getEntity());
+            }
+            else if (axiom instanceof OWLSubClassOfAxiom) {
+                header(SUB_CLASS_OF, axiom);
+                classExpression(((OWLSubClassOfAxiom) axiom).getSubClass());
+                classExpression(((OWLSubClassOfAxiom) axiom).getSuperClass());
+            }
+            else if (axiom instanceof OWLEquivalentClassesAxiom) {
+                header(EQUIVALENT_CLASSES, axiom);
+                classExpressions(((OWLEquivalentClassesAxiom) axiom).classExpressions());
+            }
+            else if (axiom instanceof OWLDisjointClassesAxiom) {
+                header(DISJOINT_CLASSES, axiom);
+                classExpressions(((OWLDisjointClassesAxiom) axiom).classExpressions());
+            }
+            else if (axiom instanceof OWLDisjointUnionAxiom) {
+                header(DISJOINT_UNION, axiom);
+                iri(((OWLDisjointUnionAxiom) axiom).getOWLClass().getIRI());
+                classExpressions(((OWLDisjointUnionAxiom) axiom).classExpressions());
+            }
+            else if (axiom instanceof OWLClassAssertionAxiom) {
+                header(CLASS_ASSERTION, axiom);
+                classExpression(((OWLClassAssertionAxiom) axiom).getClassExpression());
+                individual(((OWLClassAssertionAxiom) axiom).getIndividual());
+            }
+            else if (axiom instanceof OWLSameIndividualAxiom) {
+                header(SAME_INDIVIDUAL, axiom);
+                individuals(((OWLSameIndividualAxiom) axiom).individuals());
+            }
+            else if (axiom instanceof OWLDifferentIndividualsAxiom) {
+                header(DIFFERENT_INDIVIDUALS, axiom);
+                individuals(((OWLDifferentIndividualsAxiom) axiom).individuals());
+            }
+            else if (axiom instanceof OWLObjectPropertyAssertionAxiom) {
+                header(OBJECT_PROPERTY_ASSERTION, axiom);
+                OWLObjectPropertyAssertionAxiom assertion = (OWLObjectPropertyAssertionAxiom) axiom;
+                objectProperty(assertion.getProperty());
+                individual(assertion.getSubject());
+                individual(assertion.getObject());
+            }
+            else if (axiom instanceof OWLNegativeObjectPropertyAssertionAxiom) {
+                header(NEGATIVE_OBJECT_PROPERTY_ASSERTION, axiom);
+                OWLNegativeObjectPropertyAssertionAxiom assertion = (OWLNegativeObjectPropertyAssertionAxiom) axiom;
+                objectProperty(assertion.getProperty());
+                individual(assertion.getSubject());
+                individual(assertion.getObject());
+            }
+            else if (axiom instanceof OWLDataPropertyAssertionAxiom) {
+                header(DATA_PROPERTY_ASSERTION, axiom);
+                OWLDataPropertyAssertionAxiom assertion = (OWLDataPropertyAssertionAxiom) axiom;
+                dataProperty(assertion.getProperty());
+                individual(assertion.getSubject());
+                literal(assertion.getObject());
+            }
+            else if (axiom instanceof OWLNegativeDataPropertyAssertionAxiom) {
+                header(NEGATIVE_DATA_PROPERTY_ASSERTION, axiom);
+                OWLNegativeDataPropertyAssertionAxiom assertion = (OWLNegativeDataPropertyAssertionAxiom) axiom;
+                dataProperty(assertion.getProperty());
+                individual(assertion.getSubject());
+                literal(assertion.getObject());
+            }
+            else if (axiom instanceof OWLEquivalentObjectPropertiesAxiom) {
+                header(EQUIVALENT_OBJECT_PROPERTIES, axiom);
+                for (OWLObjectPropertyExpression property : elements(((OWLEquivalentObjectPropertiesAxiom) axiom).properties())) {
+                    objectProperty(property);
+                }
+            }
+            else if (axiom instanceof OWLDisjointObjectPropertiesAxiom) {
+                header(DISJOINT_OBJECT_PROPERTIES, axiom);
+                for (OWLObjectPropertyExpression property : elements(((OWLDisjointObjectPropertiesAxiom) axiom).properties())) {
+                    objectProperty(property);
+                }
+            }
+            else if (axiom instanceof OWLSubObjectPropertyOfAxiom) {
+                header(SUB_OBJECT_PROPERTY, axiom);
+                objectProperty(((OWLSubObjectPropertyOfAxiom) axiom).getSubProperty());
+                objectProperty(((OWLSubObjectPropertyOfAxiom) axiom).getSuperProperty());
+            }
+            else if (axiom instanceof OWLInverseObjectPropertiesAxiom) {
+                header(INVERSE_OBJECT_PROPERTIES, axiom);
+                objectProperty(((OWLInverseObjectPropertiesAxiom) axiom).getFirstProperty());
+                objectProperty(((OWLInverseObjectPropertiesAxiom) axiom).getSecondProperty());
+            }
+            else if (axiom instanceof OWLFunctionalObjectPropertyAxiom) {
+                header(FUNCTIONAL_OBJECT_PROPERTY, axiom);
+                objectProperty(((OWLFunctionalObjectPropertyAxiom) axiom).getProperty());
+            }
+            else if (axiom instanceof OWLInverseFunctionalObjectPropertyAxiom) {
+                header(INVERSE_FUNCTIONAL_OBJECT_PROPERTY, axiom);
+                objectProperty(((OWLInverseFunctionalObjectPropertyAxiom) axiom).getProperty());
+            }
+            else if (axiom instanceof OWLSymmetricObjectPropertyAxiom) {
+                header(SYMMETRIC_OBJECT_PROPERTY, axiom);
+                objectProperty(((OWLSymmetricObjectPropertyAxiom) axiom).getProperty());
+            }
+            else if (axiom instanceof OWLAsymmetricObjectPropertyAxiom) {
+                header(ASYMMETRIC_OBJECT_PROPERTY, axiom);
+                objectProperty(((OWLAsymmetricObjectPropertyAxiom) axiom).getProperty());
+            }
+            else if (axiom instanceof OWLTransitiveObjectPropertyAxiom) {
+                header(TRANSITIVE_OBJECT_PROPERTY, axiom);
+                objectProperty(((OWLTransitiveObjectPropertyAxiom) axiom).getProperty());
+            }
+            else if (axiom instanceof OWLReflexiveObjectPropertyAxiom) {
+                header(REFLEXIVE_OBJECT_PROPERTY, axiom);
+                objectProperty(((OWLReflexiveObjectPropertyAxiom) axiom).getProperty());
+            }
+            else if (axiom instanceof OWLIrreflexiveObjectPropertyAxiom) {
+                header(IRREFLEXIVE_OBJECT_PROPERTY, axiom);
+                objectProperty(((OWLIrreflexiveObjectPropertyAxiom) axiom).getProperty());
+            }
+            else if (axiom instanceof OWLObjectPropertyDomainAxiom) {
+                header(OBJECT_PROPERTY_DOMAIN, axiom);
+                objectProperty(((OWLObjectPropertyDomainAxiom) axiom).getProperty());
+                classExpression(((OWLObjectPropertyDomainAxiom) axiom).getDomain());
+            }
+            else if (axiom instanceof OWLObjectPropertyRangeAxiom) {
+                header(OBJECT_PROPERTY_RANGE, axiom);
+                objectProperty(((OWLObjectPropertyRangeAxiom) axiom).getProperty());
+                classExpression(((OWLObjectPropertyRangeAxiom) axiom).getRange());
+            }
+            else if (axiom instanceof OWLSubPropertyChainOfAxiom) {
+                header(SUB_PROPERTY_CHAIN_OF, axiom);
+                for (OWLObjectPropertyExpression property : elements(((OWLSubPropertyChainOfAxiom) axiom).getPropertyChain().stream())) {
+                    objectProperty(property);
+                }
+                objectProperty(((OWLSubPropertyChainOfAxiom) axiom).getSuperProperty());
+            }
+            else if (axiom instanceof OWLEquivalentDataPropertiesAxiom) {
+                header(EQUIVALENT_DATA_PROPERTIES, axiom);
+                for (OWLDataPropertyExpression property : elements(((OWLEquivalentDataPropertiesAxiom) axiom).properties())) {
+                    dataProperty(property);
+                }
+            }
+            else if (axiom instanceof OWLDisjointDataPropertiesAxiom) {
+                header(DISJOINT_DATA_PROPERTIES, axiom);
+                for (OWLDataPropertyExpression property : elements(((OWLDisjointDataPropertiesAxiom) axiom).properties())) {
+                    dataProperty(property);
+                }
+            }
+            else if (axiom instanceof OWLSubDataPropertyOfAxiom) {
+                header(SUB_DATA_PROPERTY, axiom);
+                dataProperty(((OWLSubDataPropertyOfAxiom) axiom).getSubProperty());
+                dataProperty(((OWLSubDataPropertyOfAxiom) axiom).getSuperProperty());
+            }
+            else if (axiom instanceof OWLFunctionalDataPropertyAxiom) {
+                header(FUNCTIONAL_DATA_PROPERTY, axiom);
+                dataProperty(((OWLFunctionalDataPropertyAxiom) axiom).getProperty());
+            }
+            else if (axiom instanceof OWLDataPropertyDomainAxiom) {
+                header(DATA_PROPERTY_DOMAIN, axiom);
+                dataProperty(((OWLDataPropertyDomainAxiom) axiom).getProperty());
+                classExpression(((OWLDataPropertyDomainAxiom) axiom).getDomain());
+            }
+            else if (axiom instanceof OWLDataPropertyRangeAxiom) {
+                header(DATA_PROPERTY_RANGE, axiom);
+                dataProperty(((OWLDataPropertyRangeAxiom) axiom).getProperty());
+                dataRange(((OWLDataPropertyRangeAxiom) axiom).getRange());
+            }
+            else if (axiom instanceof OWLHasKeyAxiom) {
+                header(HAS_KEY, axiom);
+                classExpression(((OWLHasKeyAxiom) axiom).getClassExpression());
+                for (OWLPropertyExpression property : elements(((OWLHasKeyAxiom) axiom).propertyExpressions())) {
+                    property(property);
+                }
+            }
+            else if (axiom instanceof SWRLRule) {
+                header(SWRL_RULE, axiom);
+                swrlAtoms(((SWRLRule) axiom).body());
+                swrlAtoms(((SWRLRule) axiom).head());
+            }
+            else if (axiom instanceof OWLAnnotationAssertionAxiom) {
+                header(ANNOTATION_ASSERTION, axiom);
+                OWLAnnotationAssertionAxiom assertion = (OWLAnnotationAssertionAxiom) axiom;
+                iri(assertion.getProperty().getIRI());
+                annotationValue(assertion.getSubject());
+                annotationValue(assertion.getValue());
+            }
+            else if (axiom instanceof OWLSubAnnotationPropertyOfAxiom) {
+                header(SUB_ANNOTATION_PROPERTY_OF, axiom);
+                iri(((OWLSubAnnotationPropertyOfAxiom) axiom).getSubProperty().getIRI());
+                iri(((OWLSubAnnotationPropertyOfAxiom) axiom).getSuperProperty().getIRI());
+            }
+            else if (axiom instanceof OWLAnnotationPropertyDomainAxiom) {
+                header(ANNOTATION_PROPERTY_DOMAIN, axiom);
+                iri(((OWLAnnotationPropertyDomainAxiom) axiom).getProperty().getIRI());
+                iri(((OWLAnnotationPropertyDomainAxiom) axiom).getDomain());
+            }
+            else if (axiom instanceof OWLAnnotationPropertyRangeAxiom) {
+                header(ANNOTATION_PROPERTY_RANGE, axiom);
+                iri(((OWLAnnotationPropertyRangeAxiom) axiom).getProperty().getIRI());
+                iri(((OWLAnnotationPropertyRangeAxiom) axiom).getRange());
+            }
+            else if (axiom instanceof OWLDatatypeDefinitionAxiom) {
+                header(DATATYPE_DEFINITION, axiom);
+                iri(((OWLDatatypeDefinitionAxiom) axiom).getDatatype().getIRI());
+                dataRange(((OWLDatatypeDefinitionAxiom) axiom).getDataRange());
+            }
+            else {
+                throw new IOException("unsupported axiom: " + axiom);
+            }
+        }
+    }
+
+    /**
+     * Reads the table of strings and then the objects directly from the buffer, e.g. a memory-mapped file.
+     * Any malformed content fails with an {@link IOException}.
+     */
+    static final class Decoder {
+
+        @FunctionalInterface
+        private interface ElementReader<T> {
+            T read() throws IOException;
+        }
+
+        private final ByteBuffer in;
+        private final OWLDataFactory df;
+
+        private final String[] strings;
+        // created on first use, i.e. each IRI of the table is only created once
+        private final IRI[] iris;
+
+        private int depth = 0;
+
+        Decoder(ByteBuffer in, OWLDataFactory df) throws IOException {
+            this.in = in;
+            this.df = df;
+
+            try {
+                this.strings = new String[count()];
+                for (int i = 0; i < strings.length; i++) {
+                    strings[i] = readString(in);
+                }
+            }
+            catch (BufferUnderflowException ex) {
+                throw new IOException("truncated snapshot", ex);
+            }
+            this.iris = new IRI[strings.length];
+        }
+
+        OntologySnapshot decode() throws IOException {
+            try {
+                IRI ontologyIRI = optionalIRI();
+                IRI versionIRI = optionalIRI();
+                OWLOntologyID ontologyID = new OWLOntologyID(Optional.ofNullable(ontologyIRI), Optional.ofNullable(versionIRI));
+
+                List<OWLImportsDeclaration> importsDeclarations = list(() -> df.getOWLImportsDeclaration(iri()));
+                List<OWLAnnotation> annotations = annotations();
+                List<OWLAxiom> axioms = list(this::axiom);
+
+                if (in.hasRemaining()) {
+                    throw new IOException("unexpected content at the end of the snapshot");
+                }
+
+                return new OntologySnapshot(ontologyID, importsDeclarations, annotations, axioms);
+            }
+            catch (BufferUnderflowException ex) {
+                throw new IOException("truncated snapshot", ex);
+            }
+        }
+
+        /**
+         * @return a count that the remaining bytes can hold, as each element takes at least one byte
+         */
+        private int count() throws IOException {
+            int n = readVarInt(in);
+            if (n > in.remaining()) {
+                throw new IOException("invalid count in snapshot: " + n);
+            }
+            return n;
+        }
+
+        private <T> List<T> list(ElementReader<T> reader) throws IOException {
+            int n = count();
+            List<T> list = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                list.add(reader.read());
+            }
+            return list;
+        }
+
+        private void enter() throws IOException {
+            if (++depth > MAX_DEPTH) {
+                throw new IOException("snapshot is nested too deeply");
+            }
+        }
+
+        private String string() throws IOException {
+            int index = readVarInt(in);
+            if (index >= strings.length) {
+                throw new IOException("invalid string index in snapshot: " + index);
+            }
+            return strings[index];
+        }
+
+        private IRI iri() throws IOException {
+            int index = readVarInt(in);
+            if (index >= strings.length) {
+                throw new IOException("invalid string index in snapshot: " + index);
+            }
+            if (iris[index] == null) {
+                iris[index] = IRI.create(strings[index]);
+            }
+            return iris[index];
+        }
+
+        private IRI optionalIRI() throws IOException {
+            return readVarInt(in) != 0 ? iri() : null;
+        }
+
+        private OWLEntity entity() throws IOException {
+            int tag = readVarInt(in);
+            switch (tag) {
+                case CLASS:
+                    return df.getOWLClass(iri());
+                case OBJECT_PROPERTY:
+                    return df.getOWLObjectProperty(iri());
+                case DATA_PROPERTY:
+                    return df.getOWLDataProperty(iri());
+                case ANNOTATION_PROPERTY:
+                    return df.getOWLAnnotationProperty(iri());
+                case NAMED_INDIVIDUAL:
+                    return df.getOWLNamedIndividual(iri());
+                case DATATYPE:
+                    return df.getOWLDatatype(iri());
+                default:
+                    throw new IOException("invalid entity tag in snapshot: " + tag);
+            }
+        }
+
+        private OWLIndividual individual() throws IOException {
+            int tag = readVarInt(in);
+            switch (tag) {
+                case NAMED_INDIVIDUAL:
+                    return df.getOWLNamedIndividual(iri());
+                case ANONYMOUS_INDIVIDUAL:
+                    return df.getOWLAnonymousIndividual(string());
+                default:
+                    throw new IOException("invalid individual tag in snapshot: " + tag);
+            }
+        }
+
+        private OWLLiteral literal() throws IOException {
+            String lexicalForm = string();
+            if (readVarInt(in) != 0) {
+                return df.getOWLLiteral(lexicalForm, string());
+            }
+            return df.getOWLLiteral(lexicalForm, df.getOWLDatatype(iri()));
+        }
+
+        private OWLObjectPropertyExpression objectProperty() throws IOException {
+            int tag = readVarInt(in);
+            switch (tag) {
+                case OBJECT_PROPERTY:
+                    return df.getOWLObjectProperty(iri());
+                case OBJECT_INVERSE_OF:
+                    return df.getOWLObjectInverseOf(df.getOWLObjectProperty(iri()));
+                default:
+                    throw new IOException("invalid object property tag in snapshot: " + tag);
+            }
+        }
+
+        private OWLDataProperty dataProperty() throws IOException {
+            return df.getOWLDataProperty(iri());
+        }
+
+        private OWLPropertyExpression property() throws IOException {
+            int tag = readVarInt(in);
+            switch (tag) {
+                case OBJECT_PROPERTY:
+                    return df.getOWLObjectProperty(iri());
+                case OBJECT_INVERSE_OF:
+                    return df.getOWLObjectInverseOf(df.getOWLObjectProperty(iri()));
+                case DATA_PROPERTY:
+                    return df.getOWLDataProperty(iri());
+                default:
+                    throw new IOException("invalid property tag in snapshot: " + tag);
+            }
+        }
+
+        private OWLAnnotationObject annotationValue() throws IOException {
+            int tag = readVarInt(in);
+            switch (tag) {
+                case IRI_VALUE:
+                    return iri();
+                case LITERAL:
+                    return literal();
+                case ANONYMOUS_INDIVIDUAL:
+                    return df.getOWLAnonymousIndividual(string());
+                default:
+                    throw new IOException("invalid annotation value tag in snapshot: " + tag);
+            }
+        }
+
+        private OWLAnnotationSubject annotationSubject() throws IOException {
+            OWLAnnotationObject subject = annotationValue();
+            if (!(subject instanceof OWLAnnotationSubject)) {
+                throw new IOException("invalid annotation subject in snapshot: " + subject);
+            }
+            return (OWLAnnotationSubject) subject;
+        }
+
+        private List<OWLAnnotation> annotations() throws IOException {
+            return list(() -> {
+                enter();
+                OWLAnnotationProperty property = df.getOWLAnnotationProperty(iri());
+                OWLAnnotationValue value = (OWLAnnotationValue) annotationValue();
+                OWLAnnotation annotation = df.getOWLAnnotation(property, value, annotations());
+                depth--;
+                return annotation;
+            });
+        }
+
+        private OWLClassExpression classExpression() throws IOException {
+            enter();
+            OWLClassExpression ce;
+
+            int tag = readVarInt(in);
+            switch (tag) {
+                case CLASS:
+                    ce = df.getOWLClass(iri());
+                    break;
+                case OBJECT_INTERSECTION_OF:
+                    ce = df.getOWLObjectIntersectionOf(list(this::classExpression));
+                    break;
+                case OBJECT_UNION_OF:
+                    ce = df.getOWLObjectUnionOf(list(this::classExpression));
+                    break;
+                case OBJECT_COMPLEMENT_OF:
+                    ce = df.getOWLObjectComplementOf(classExpression());
+                    break;
+                case OBJECT_ONE_OF:
+                    ce = df.getOWLObjectOneOf(list(this::individual));
+                    break;
+                case OBJECT_SOME_VALUES_FROM:
+                    ce = df.getOWLObjectSomeValuesFrom(objectProperty(), classExpression());
+                    break;
+                case OBJECT_ALL_VALUES_FROM:
+                    ce = df.getOWLObjectAllValuesFrom(objectProperty(), classExpression());
+                    break;
+                case OBJECT_HAS_VALUE:
+                    ce = df.getOWLObjectHasValue(objectProperty(), individual());
+                    break;
+                case OBJECT_HAS_SELF:
+                    ce = df.getOWLObjectHasSelf(objectProperty());
+                    break;
+                case OBJECT_MIN_CARDINALITY:
+                    ce = df.getOWLObjectMinCardinality(readVarInt(in), objectProperty(), classExpression());
+                    break;
+                case OBJECT_EXACT_CARDINALITY:
+                    ce = df.getOWLObjectExactCardinality(readVarInt(in), objectProperty(), classExpression());
+                    break;
+                case OBJECT_MAX_CARDINALITY:
+                    ce = df.getOWLObjectMaxCardinality(readVarInt(in), objectProperty(), classExpression());
+                    break;
+                case DATA_SOME_VALUES_FROM:
+                    ce = df.getOWLDataSomeValuesFrom(dataProperty(), dataRange());
+                    break;
+                case DATA_ALL_VALUES_FROM:
+                    ce = df.getOWLDataAllValuesFrom(dataProperty(), dataRange());
+                    break;
+                case DATA_HAS_VALUE:
+                    ce = df.getOWLDataHasValue(dataProperty(), literal());
+                    break;
+                case DATA_MIN_CARDINALITY:
+                    ce = df.getOWLDataMinCardinality(readVarInt(in), dataProperty(), dataRange());
+                    break;
+                case DATA_EXACT_CARDINALITY:
+                    ce = df.getOWLDataExactCardinality(readVarInt(in), dataProperty(), dataRange());
+                    break;
+                case DATA_MAX_CARDINALITY:
+                    ce = df.getOWLDataMaxCardinality(readVarInt(in), dataProperty(), dataRange());
+                    break;
+                default:
+                    throw new IOException("invalid class expression tag in snapshot: " + tag);
+            }
+
+            depth--;
+            return ce;
+        }
+
+        private OWLDataRange dataRange() throws IOException {
+            enter();
+            OWLDataRange dataRange;
+
+            int tag = readVarInt(in);
+            switch (tag) {
+                case DATATYPE:
+                    dataRange = df.getOWLDatatype(iri());
+                    break;
+                case DATA_INTERSECTION_OF:
+                    dataRange = df.getOWLDataIntersectionOf(list(this::dataRange));
+                    break;
+                case DATA_UNION_OF:
+                    dataRange = df.getOWLDataUnionOf(list(this::dataRange));
+                    break;
+                case DATA_COMPLEMENT_OF:
+                    dataRange = df.getOWLDataComplementOf(dataRange());
+                    break;
+                case DATA_ONE_OF:
+                    dataRange = df.getOWLDataOneOf(list(this::literal));
+                    break;
+                case DATATYPE_RESTRICTION:
+                    OWLDatatype datatype = df.getOWLDatatype(iri());
+                    dataRange = df.getOWLDatatypeRestriction(datatype, list(() -> {
+                        IRI facetIRI = iri();
+                        OWLFacet facet = OWLFacet.getFacet(facetIRI);
+                        if (facet == null) {
+                            throw new IOException("invalid facet in snapshot: " + facetIRI);
+                        }
+                        return df.getOWLFacetRestriction(facet, literal());
+                    }));
+                    break;
+                default:
+                    throw new IOException("invalid data range tag in snapshot: " + tag);
+            }
+
+            depth--;
+            return dataRange;
+        }
+
+        private SWRLIArgument swrlIArgument() throws IOException {
+            int tag = readVarInt(in);
+            switch (tag) {
+                case SWRL_VARIABLE:
+                    return df.getSWRLVariable(iri());
+                case SWRL_INDIVIDUAL_ARGUMENT:
+                    return df.getSWRLIndividualArgument(individual());
+                default:
+                    throw new IOException("invalid SWRL argument tag in snapshot: " + tag);
+            }
+        }
+
+        private SWRLDArgument swrlDArgument() throws IOException {
+            int tag = readVarInt(in);
+            switch (tag) {
+                case SWRL_VARIABLE:
+                    return df.getSWRLVariable(iri());
+                case SWRL_LITERAL_ARGUMENT:
+                    return df.getSWRLLiteralArgument(literal());
+                default:
+                    throw new IOException("invalid SWRL argument tag in snapshot: " + tag);
+            }
+        }
+
+        private SWRLAtom swrlAtom() throws IOException {
+            int tag = readVarInt(in);
+            switch (tag) {
+                case SWRL_CLASS_ATOM:
+                    return df.getSWRLClassAtom(classExpression(), swrlIArgument());
+                case SWRL_DATA_RANGE_ATOM:
+                    return df.getSWRLDataRangeAtom(dataRange(), swrlDArgument());
+                case SWRL_OBJECT_PROPERTY_ATOM:
+                    return df.getSWRLObjectPropertyAtom(objectProperty(), swrlIArgument(), swrlIArgument());
+                case SWRL_DATA_PROPERTY_ATOM:
+                    return df.getSWRLDataPropertyAtom(dataProperty(), swrlIArgument(), swrlDArgument());
+                case SWRL_BUILT_IN_ATOM:
+                    return df.getSWRLBuiltInAtom(iri(), list(this::swrlDArgument));
+                case SWRL_SAME_INDIVIDUAL_ATOM:
+                    return df.getSWRLSameIndividualAtom(swrlIArgument(), swrlIArgument());
+                case SWRL_DIFFERENT_INDIVIDUALS_ATOM:
+                    return df.getSWRLDifferentIndividualsAtom(swrlIArgument(), swrlIArgument());
+                default:
+                    throw new IOException("invalid SWRL atom tag in snapshot: " + tag);
+            }
+        }
+
+        private OWLAxiom axiom() throws IOException {
+            int tag = readVarInt(in);
+            List<OWLAnnotation> a = annotations();
+
+            switch (tag) {
+                case DECLARATION:
+                    return df.getOWLDeclarationAxiom(entity(), a);
+                case SUB_CLASS_OF:
+                    return df.getOWLSubClassOfAxiom(classExpression(), classExpression(), a);
+                case EQUIVALENT_CLASSES:
+                    return df.getOWLEquivalentClassesAxiom(list(this::classExpression), a);
+                case DISJOINT_CLASSES:
+                    return df.getOWLDisjointClassesAxiom(list(this::classExpression), a);
+                case DISJOINT_UNION:
+                    return df.getOWLDisjointUnionAxiom(df.getOWLClass(iri()), list(this::classExpression), a);
+                case CLASS_ASSERTION:
+                    return df.getOWLClassAssertionAxiom(classExpression(), individual(), a);
+                case SAME_INDIVIDUAL:
+                    return df.getOWLSameIndividualAxiom(list(this::individual), a);
+                case DIFFERENT_INDIVIDUALS:
+                    return df.getOWLDifferentIndividualsAxiom(list(this::individual), a);
+                case OBJECT_PROPERTY_ASSERTION:
+                    return df.getOWLObjectPropertyAssertionAxiom(objectProperty(), individual(), individual(), a);
+                case NEGATIVE_OBJECT_PROPERTY_ASSERTION:
+                    return df.getOWLNegativeObjectPropertyAssertionAxiom(objectProperty(), individual(), individual(), a);
+                case DATA_PROPERTY_ASSERTION:
+                    return df.getOWLDataPropertyAssertionAxiom(dataProperty(), individual(), literal(), a);
+                case NEGATIVE_DATA_PROPERTY_ASSERTION:
+                    return df.getOWLNegativeDataPropertyAssertionAxiom(dataProperty(), individual(), literal(), a);
+                case EQUIVALENT_OBJECT_PROPERTIES:
+                    return df.getOWLEquivalentObjectPropertiesAxiom(list(this::objectProperty), a);
+                case DISJOINT_OBJECT_PROPERTIES:
+                    return df.getOWLDisjointObjectPropertiesAxiom(list(this::objectProperty), a);
+                case SUB_OBJECT_PROPERTY:
+                    return df.getOWLSubObjectPropertyOfAxiom(objectProperty(), objectProperty(), a);
+                case INVERSE_OBJECT_PROPERTIES:
+                    return df.getOWLInverseObjectPropertiesAxiom(objectProperty(), objectProperty(), a);
+                case FUNCTIONAL_OBJECT_PROPERTY:
+                    return df.getOWLFunctionalObjectPropertyAxiom(objectProperty(), a);
+                case INVERSE_FUNCTIONAL_OBJECT_PROPERTY:
+                    return df.getOWLInverseFunctionalObjectPropertyAxiom(objectProperty(), a);
+                case SYMMETRIC_OBJECT_PROPERTY:
+                    return df.getOWLSymmetricObjectPropertyAxiom(objectProperty(), a);
+                case ASYMMETRIC_OBJECT_PROPERTY:
+                    return df.getOWLAsymmetricObjectPropertyAxiom(objectProperty(), a);
+                case TRANSITIVE_OBJECT_PROPERTY:
+                    return df.getOWLTransitiveObjectPropertyAxiom(objectProperty(), a);
+                case REFLEXIVE_OBJECT_PROPERTY:
+                    return df.getOWLReflexiveObjectPropertyAxiom(objectProperty(), a);
+                case IRREFLEXIVE_OBJECT_PROPERTY:
+                    return df.getOWLIrreflexiveObjectPropertyAxiom(objectProperty(), a);
+                case OBJECT_PROPERTY_DOMAIN:
+                    return df.getOWLObjectPropertyDomainAxiom(objectProperty(), classExpression(), a);
+                case OBJECT_PROPERTY_RANGE:
+                    return df.getOWLObjectPropertyRangeAxiom(objectProperty(), classExpression(), a);
+                case SUB_PROPERTY_CHAIN_OF:
+                    return df.getOWLSubPropertyChainOfAxiom(list(this::objectProperty), objectProperty(), a);
+                case EQUIVALENT_DATA_PROPERTIES:
+                    return df.getOWLEquivalentDataPropertiesAxiom(list(this::dataProperty), a);
+                case DISJOINT_DATA_PROPERTIES:
+                    return df.getOWLDisjointDataPropertiesAxiom(list(this::dataProperty), a);
+                case SUB_DATA_PROPERTY:
+                    return df.getOWLSubDataPropertyOfAxiom(dataProperty(), dataProperty(), a);
+                case FUNCTIONAL_DATA_PROPERTY:
+                    return df.getOWLFunctionalDataPropertyAxiom(dataProperty(), a);
+                case DATA_PROPERTY_DOMAIN:
+                    return df.getOWLDataPropertyDomainAxiom(dataProperty(), classExpression(), a);
+                case DATA_PROPERTY_RANGE:
+                    return df.getOWLDataPropertyRangeAxiom(dataProperty(), dataRange(), a);
+                case HAS_KEY:
+                    return df.getOWLHasKeyAxiom(classExpression(), list(this::property), a);
+                case SWRL_RULE:
+                    return df.getSWRLRule(list(this::swrlAtom), list(this::swrlAtom), a);
+                case ANNOTATION_ASSERTION:
+                    return df.getOWLAnnotationAssertionAxiom(df.getOWLAnnotationProperty(iri()), annotationSubject(), (OWLAnnotationValue) annotationValue(), a);
+                case SUB_ANNOTATION_PROPERTY_OF:
+                    return df.getOWLSubAnnotationPropertyOfAxiom(df.getOWLAnnotationProperty(iri()), df.getOWLAnnotationProperty(iri()), a);
+                case ANNOTATION_PROPERTY_DOMAIN:
+                    return df.getOWLAnnotationPropertyDomainAxiom(df.getOWLAnnotationProperty(iri()), iri(), a);
+                case ANNOTATION_PROPERTY_RANGE:
+                    return df.getOWLAnnotationPropertyRangeAxiom(df.getOWLAnnotationProperty(iri()), iri(), a);
+                case DATATYPE_DEFINITION:
+                    return df.getOWLDatatypeDefinitionAxiom(df.getOWLDatatype(iri()), dataRange(), a);
+                default:
+                    throw new IOException("invalid axiom tag in snapshot: " + tag);
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.AdaptiveSettings;
+import de.athalis.owl.performance.config.OWLBenchmarkTestCase;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures the warmups and then the runs of a case, until all are done, or one failed or timed out,
+ * and creates the result from the counts and statistics, see {@link OwlAPIBenchmark}.
+ */
+class StageRunner {
+    private static final Logger logger = LoggerFactory.getLogger(StageRunner.class);
+
+    @FunctionalInterface
+    interface Measurement {
+        /**
+         * @param testCaseName the name of the warmup or run, for logging
+         * @param stage warmup or run
+         * @param index of the warmup or run, starting at 1
+         */
+        ReasoningMeasurement measure(String testCaseName, String stage, int index);
+    }
+
+    private final String name;
+    private final OWLBenchmarkTestCase testCase;
+
+    // null if not adaptive
+    private final AdaptiveStopping adaptive;
+
+    // the maximum counts in adaptive mode
+    private final int warmups;
+    private final int runs;
+
+    private final StageStatistics warmupStatistics;
+    private final StageStatistics runStatistics;
+
+    // the completed warmups and runs, including a failed one
+    private int w = 0;
+    private int r = 0;
+
+    private boolean failure = false;
+
+    // elapsed time of the warmup or run that timed out
+    private long warmupTimeout = 0;
+    private long runTimeout = 0;
+
+    /**
+     * @param name the name of the case, e.g. including its scale factor
+     * @param adaptive whether to stop according to the adaptive settings of the case, if it has any
+     * @param sampleWriter may be null
+     */
+    StageRunner(String name, OWLBenchmarkTestCase testCase, boolean adaptive, SampleWriter sampleWriter) {
+        this.name = name;
+        this.testCase = testCase;
+
+        AdaptiveSettings adaptiveSettings = adaptive ? testCase.getAdaptive() : null;
+        this.adaptive = adaptiveSettings != null ? new AdaptiveStopping(adaptiveSettings, testCase.getWarmups(), testCase.getRuns()) : null;
+        this.warmups = adaptiveSettings != null ? adaptiveSettings.getMaxWarmups() : testCase.getWarmups();
+        this.runs = adaptiveSettings != null ? adaptiveSettings.getMaxRuns() : testCase.getRuns();
+
+        this.warmupStatistics = new StageStatistics("warmup", sampleWriter);
+        this.runStatistics = new StageStatistics("run", sampleWriter);
+    }
+
+    /**
+     * An exception fails the case in non-debug mode.
+     *
+     * @return this
+     */
+    StageRunner run(Measurement measurement) {
+        try {
+            if (warmups > 0) {
+                logger.info("[" + name + "]: starting warmups...");
+            }
+            else {
+                logger.debug("[" + name + "]: no warmups");
+            }
+
+            while (!failure && warmupTimeout == 0 && (adaptive != null ? adaptive.continueWarmups(w) : w < warmups)) {
+                w++;
+                ReasoningMeasurement m = measurement.measure(name + ", warmup " + w + "/" + warmups, "warmup", w);
+                warmupStatistics.record(w, m);
+
+                if (m.isFailed()) {
+                    failure = true;
+                }
+                else if (m.isTimedOut()) {
+                    warmupTimeout = m.getTimedOutAfter();
+                    w--;
+                }
+                else if (adaptive != null) {
+                    adaptive.recordWarmup(m.getDuration(ReasoningMeasurement.Phase.CLASSIFICATION));
+                }
+            }
+
+            if (warmups > 0) {
+                logger.info("[" + name + "]: warmup took " + Util.niceTime(warmupStatistics.getClassification().getSum()) + " " + warmupStatistics);
+            }
+
+            if (runs > 0) {
+                logger.info("[" + name + "]: starting runs...");
+            }
+            else {
+                logger.debug("[" + name + "]: no runs");
+            }
+
+            while (!failure && warmupTimeout == 0 && runTimeout == 0 && (adaptive != null ? adaptive.continueRuns(r, runStatistics.getClassification()) : r < runs)) {
+                r++;
+                ReasoningMeasurement m = measurement.measure(name + ", run " + r + "/" + runs, "run", r);
+                runStatistics.record(r, m);
+
+                if (m.isFailed()) {
+                    failure = true;
+                }
+                else if (m.isTimedOut()) {
+                    runTimeout = m.getTimedOutAfter();
+                    r--;
+                }
+            }
+
+            if (runs > 0) {
+                logger.info("[" + name + "]: runs took " + Util.niceTime(runStatistics.getClassification().getSum()) + " " + runStatistics);
+            }
+
+            if (adaptive != null) {
+                logger.info("[" + name + "]: " + w + " warmup(s) and " + r + " run(s) (" + adaptive + ")");
+            }
+        }
+        catch (RuntimeException ex) {
+            if (testCase.isDebug()) {
+                throw ex;
+            }
+
+            logger.warn("[" + name + "]: exception occurred", ex);
+            failure = true;
+        }
+
+        return this;
+    }
+
+    BenchmarkResult.Outcome getOutcome() {
+        if (failure) {
+            return BenchmarkResult.Outcome.FAILED;
+        }
+        if (warmupTimeout > 0 || runTimeout > 0) {
+            return BenchmarkResult.Outcome.TIMEOUT;
+        }
+        if (r == 0) {
+            return BenchmarkResult.Outcome.IGNORED;
+        }
+        return BenchmarkResult.Outcome.PASSED;
+    }
+
+    StageStatistics getRunStatistics() {
+        return runStatistics;
+    }
+
+    /**
+     * @return the result with the durations of the successful classifications
+     */
+    BenchmarkResult createResult(String resultName) {
+        return createResult(resultName, warmupStatistics.getClassification(), runStatistics.getClassification());
+    }
+
+    /**
+     * @param warmupDurations summed up as the duration of the warmups
+     * @param runDurations summed up as the duration of the runs, and reported in the average and the distribution columns
+     */
+    BenchmarkResult createResult(String resultName, DurationStatistics warmupDurations, DurationStatistics runDurations) {
+        BenchmarkResult.Outcome outcome = getOutcome();
+
+        long warmupDuration = warmupDurations.getSum();
+        long runDuration = runDurations.getSum();
+        Long average = null;
+
+        if (outcome == BenchmarkResult.Outcome.TIMEOUT) {
+            // including the elapsed time of the warmup or run that timed out, but only the completed warmups and runs are counted
+            warmupDuration += warmupTimeout;
+            runDuration += runTimeout;
+        }
+        else if (outcome == BenchmarkResult.Outcome.PASSED) {
+            average = Math.round(runDurations.getMean());
+        }
+
+        return new BenchmarkResult(resultName, testCase.getReasoner(), outcome, warmupDuration, runDuration, average, (long) w, (long) r, runStatistics.summarize(runDurations), null);
+    }
+}
@@ -0,0 +1,142 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import java.util.*;
+
+import org.semanticweb.owlapi.reasoner.InferenceType;
+
+/**
+ * Statistics of either the warmups or the runs of a benchmark test case.
+ */
+class StageStatistics {
+
+    private final String stage;
+    private final SampleWriter sampleWriter;
+
+    // successful measurements only
+    private final DurationStatistics classification = new DurationStatistics();
+
+    private final Map<ReasoningMeasurement.Phase, DurationStatistics> phases = new EnumMap<>(ReasoningMeasurement.Phase.class);
+    private final Map<InferenceType, DurationStatistics> inferences = new LinkedHashMap<>();
+
+    // not durations, but the same statistics apply
+    private final DurationStatistics allocatedBytes = new DurationStatistics();
+    private final DurationStatistics peakHeapBytes = new DurationStatistics();
+    private final DurationStatistics gcCount = new DurationStatistics();
+    private final DurationStatistics gcTimeMillis = new DurationStatistics();
+    private final DurationStatistics retainedBytes = new DurationStatistics();
+
+    /**
+     * @param stage warmup or run
+     * @param sampleWriter may be null
+     */
+    StageStatistics(String stage, SampleWriter sampleWriter) {
+        this.stage = stage;
+        this.sampleWriter = sampleWriter;
+
+        for (ReasoningMeasurement.Phase phase : ReasoningMeasurement.Phase.values()) {
+            phases.put(phase, new DurationStatistics());
+        }
+    }
+
+    void record(int index, ReasoningMeasurement measurement) {
+        for (Map.Entry<ReasoningMeasurement.Phase, Long> e : measurement.getDurations().entrySet()) {
+            phases.get(e.getKey()).record(e.getValue());
+
+            if (sampleWriter != null) {
+                sampleWriter.write(stage, index, e.getKey().getLabel(), e.getValue());
+            }
+        }
+
+        for (Map.Entry<InferenceType, Long> e : measurement.getInferenceDurations().entrySet()) {
+            inferences.computeIfAbsent(e.getKey(), k -> new DurationStatistics()).record(e.getValue());
+
+            if (sampleWriter != null) {
+                sampleWriter.write(stage, index, e.getKey().name(), e.getValue());
+            }
+        }
+
+        recordIfMeasured(allocatedBytes, measurement.getAllocatedBytes());
+        recordIfMeasured(peakHeapBytes, measurement.getPeakHeapBytes());
+        recordIfMeasured(gcCount, measurement.getGcCount());
+        recordIfMeasured(gcTimeMillis, measurement.getGcTimeMillis());
+        recordIfMeasured(retainedBytes, measurement.getRetainedBytes());
+
+        if (!measurement.isFailed() && !measurement.isTimedOut()) {
+            classification.record(measurement.getDuration(ReasoningMeasurement.Phase.CLASSIFICATION));
+        }
+    }
+
+    private static void recordIfMeasured(DurationStatistics statistics, long value) {
+        if (value >= 0) {
+            statistics.record(value);
+        }
+    }
+
+    /**
+     * @return the durations of the successful classifications
+     */
+    DurationStatistics getClassification() {
+        return classification;
+    }
+
+    /**
+     * @return the bytes allocated by the successful and failed measurements
+     */
+    DurationStatistics getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return the statistics columns of a result, with the distribution of the successful classifications
+     */
+    StageSummary summarize() {
+        return summarize(classification);
+    }
+
+    /**
+     * @param distribution reported instead of the durations of the classifications, e.g. query latencies
+     */
+    StageSummary summarize(DurationStatistics distribution) {
+        StageSummary summary = new StageSummary();
+
+        summary.setDistribution(distribution);
+
+        summary.creationAverage = average(phases.get(ReasoningMeasurement.Phase.CREATION));
+        summary.consistencyAverage = average(phases.get(ReasoningMeasurement.Phase.CONSISTENCY));
+        summary.classificationAverage = average(phases.get(ReasoningMeasurement.Phase.CLASSIFICATION));
+
+        for (Map.Entry<InferenceType, DurationStatistics> e : inferences.entrySet()) {
+            summary.inferenceAverages.put(e.getKey(), average(e.getValue()));
+        }
+
+        summary.allocatedAverage = average(allocatedBytes);
+        summary.peakHeapMax = peakHeapBytes.getCount() > 0 ? peakHeapBytes.getMax() : null;
+        summary.gcCountAverage = gcCount.getCount() > 0 ? gcCount.getMean() : null;
+        summary.gcTimeAverage = average(gcTimeMillis);
+        summary.retainedAverage = average(retainedBytes);
+
+        return summary;
+    }
+
+    private static Long average(DurationStatistics statistics) {
+        return statistics.getCount() > 0 ? Math.round(statistics.getMean()) : null;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner sj = new StringJoiner(", ", "(", ")");
+
+        for (Map.Entry<ReasoningMeasurement.Phase, DurationStatistics> e : phases.entrySet()) {
+            sj.add(e.getKey().getLabel() + ": " + Util.niceTime(e.getValue().getSum()));
+        }
+
+        if (inferences.size() > 1) {
+            for (Map.Entry<InferenceType, DurationStatistics> e : inferences.entrySet()) {
+                sj.add(e.getKey().name() + ": " + Util.niceTime(e.getValue().getSum()));
+            }
+        }
+
+        return sj.toString();
+    }
+}
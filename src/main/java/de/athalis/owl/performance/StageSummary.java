@@ -0,0 +1,60 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.semanticweb.owlapi.reasoner.InferenceType;
+
+/**
+ * The statistics columns of a result, see {@link StageStatistics#summarize()}.
+ * Each value is null if not available. Not changed once it is part of a {@link BenchmarkResult}.
+ */
+class StageSummary {
+
+    // the distribution of the durations in nanoseconds, e.g. of the classifications
+    Long min;
+    Long p50;
+    Long p90;
+    Long p99;
+    Long max;
+    Long standardDeviation;
+    Long confidenceLow;
+    Long confidenceHigh;
+
+    // the averages of the phases in nanoseconds
+    Long creationAverage;
+    Long consistencyAverage;
+    Long classificationAverage;
+
+    // the averages in nanoseconds in the order the inference types were precomputed, empty if not available
+    final Map<InferenceType, Long> inferenceAverages = new LinkedHashMap<>();
+
+    Long allocatedAverage;
+    Long peakHeapMax;
+    Double gcCountAverage;
+    Long gcTimeAverage;
+    Long retainedAverage;
+
+    /**
+     * Sets the distribution columns, leaving them null if there is no duration.
+     */
+    void setDistribution(DurationStatistics distribution) {
+        if (distribution.getCount() == 0) {
+            return;
+        }
+
+        min = distribution.getMin();
+        p50 = distribution.getPercentile(50);
+        p90 = distribution.getPercentile(90);
+        p99 = distribution.getPercentile(99);
+        max = distribution.getMax();
+        standardDeviation = Math.round(distribution.getStandardDeviation());
+
+        double ci = distribution.getConfidenceIntervalHalfWidth(0.95);
+        if (!Double.isNaN(ci)) {
+            confidenceLow = Math.round(distribution.getMean() - ci);
+            confidenceHigh = Math.round(distribution.getMean() + ci);
+        }
+    }
+}
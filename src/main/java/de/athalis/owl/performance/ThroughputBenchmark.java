@@ -0,0 +1,167 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.ThroughputSettings;
+import de.athalis.owl.performance.reasoner.ReasonerAdapter;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLClass;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Concurrent queries against prepared reasoners:
+ * each thread issues a random mix of {@code getSubClasses}, {@code getInstances} and {@code isEntailed} for a fixed duration.
+ * A reasoner that is thread-safe is shared by all threads, see {@link ReasonerAdapter#isThreadSafe()},
+ * otherwise each thread queries its own reasoner.
+ */
+class ThroughputBenchmark {
+    private static final Logger logger = LoggerFactory.getLogger(ThroughputBenchmark.class);
+
+    private final String testCaseName;
+    private final ThroughputSettings settings;
+    // a single reasoner shared by all threads, or one reasoner per thread
+    private final List<OWLReasoner> reasoners;
+
+    private final List<OWLClass> classes;
+    private final List<OWLAxiom> axioms;
+
+    /**
+     * @param reasoners a single thread-safe reasoner, or one reasoner per thread, i.e. at least as many as the highest thread count
+     */
+    ThroughputBenchmark(String testCaseName, ThroughputSettings settings, OWLOntology ont, List<OWLReasoner> reasoners) {
+        this.testCaseName = testCaseName;
+        this.settings = settings;
+        this.reasoners = reasoners;
+
+        OWLReasoner reasoner = reasoners.get(0);
+
+        this.classes = ont.classesInSignature(Imports.INCLUDED).collect(Collectors.toList());
+        if (classes.isEmpty()) {
+            classes.add(ont.getOWLOntologyManager().getOWLDataFactory().getOWLThing());
+        }
+
+        this.axioms = ont.axioms(Imports.INCLUDED)
+                .filter(OWLAxiom::isLogicalAxiom)
+                .filter(a -> reasoner.isEntailmentCheckingSupported(a.getAxiomType()))
+                .collect(Collectors.toList());
+
+        logger.info("[" + testCaseName + "]: querying " + classes.size() + " classes and " + axioms.size() + " axioms");
+    }
+
+    Result run(int threads) throws InterruptedException, ExecutionException {
+        if (reasoners.size() > 1 && threads > reasoners.size()) {
+            throw new IllegalArgumentException(testCaseName + ": " + threads + " threads, but only " + reasoners.size() + " reasoners");
+        }
+
+        ExecutorService executor = createExecutor(threads);
+
+        try {
+            Result result = new Result(threads);
+
+            if (settings.getWarmup() > 0) {
+                logger.info("[" + testCaseName + "]: warmup with " + threads + " thread(s)...");
+                DurationStatistics warmupLatency = new DurationStatistics();
+                result.warmupDuration = measure(executor, threads, settings.getWarmup(), warmupLatency);
+                result.warmupOperations = warmupLatency.getCount();
+            }
+
+            logger.info("[" + testCaseName + "]: measuring with " + threads + " thread(s)...");
+            result.duration = measure(executor, threads, settings.getDuration(), result.latency);
+
+            logger.info("[" + testCaseName + "]: " + threads + " thread(s): " + Math.round(result.getOperationsPerSecond()) + " ops/s");
+
+            return result;
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ExecutorService createExecutor(int threads) {
+        if (settings.isVirtualThreads()) {
+            try {
+                // Java 21+
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            }
+            catch (ReflectiveOperationException ex) {
+                logger.warn("[" + testCaseName + "]: virtual threads are not available, using platform threads");
+            }
+        }
+
+        return Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * @return the elapsed time in nanoseconds
+     */
+    private long measure(ExecutorService executor, int threads, long durationMillis, DurationStatistics latency) throws InterruptedException, ExecutionException {
+        CountDownLatch start = new CountDownLatch(1);
+        long[] deadline = new long[1];
+
+        List<Future<DurationStatistics>> futures = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            Random random = new Random(settings.getSeed() + i);
+            OWLReasoner reasoner = reasoners.size() > 1 ? reasoners.get(i) : reasoners.get(0);
+
+            futures.add(executor.submit(() -> {
+                start.await();
+
+                DurationStatistics threadLatency = new DurationStatistics();
+                while (System.nanoTime() < deadline[0]) {
+                    long t = System.nanoTime();
+                    query(reasoner, random);
+                    threadLatency.record(System.nanoTime() - t);
+                }
+                return threadLatency;
+            }));
+        }
+
+        long t0 = System.nanoTime();
+        deadline[0] = t0 + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+        // the latch publishes the deadline
+        start.countDown();
+
+        for (Future<DurationStatistics> f : futures) {
+            latency.add(f.get());
+        }
+
+        return System.nanoTime() - t0;
+    }
+
+    private boolean query(OWLReasoner reasoner, Random random) {
+        switch (random.nextInt(axioms.isEmpty() ? 2 : 3)) {
+            case 0:
+                return reasoner.getSubClasses(classes.get(random.nextInt(classes.size())), false).isEmpty();
+            case 1:
+                return reasoner.getInstances(classes.get(random.nextInt(classes.size())), false).isEmpty();
+            default:
+                return reasoner.isEntailed(axioms.get(random.nextInt(axioms.size())));
+        }
+    }
+
+    static class Result {
+        final int threads;
+
+        long warmupOperations = 0;
+        long warmupDuration = 0;
+
+        long duration = 0;
+        final DurationStatistics latency = new DurationStatistics();
+
+        Result(int threads) {
+            this.threads = threads;
+        }
+
+        double getOperationsPerSecond() {
+            return duration > 0 ? latency.getCount() * 1e9 / duration : 0;
+        }
+    }
+}
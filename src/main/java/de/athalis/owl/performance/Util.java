@@ -1,6 +1,9 @@
 // SPDX-License-Identifier: MIT
 package de.athalis.owl.performance;
 
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
 class Util {
     protected static String niceTime(long durationNanoSeconds) {
         long seconds = Math.round(durationNanoSeconds / 1e9);
@@ -11,4 +14,21 @@ class Util {
             return Math.round(durationNanoSeconds / 1e6) + " ms";
         }
     }
+
+    /**
+     * Names that differ only in replaced characters (e.g. {@code a b} and {@code a/b}) would result in the same file name,
+     * so a short hash of the given name is appended if any character was replaced.
+     *
+     * @return the given name with all characters replaced that are not safe for file names
+     */
+    protected static String fileName(String name) {
+        String safe = name.replaceAll("[^A-Za-z0-9._-]", "_");
+        if (safe.equals(name)) {
+            return safe;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(name.getBytes(StandardCharsets.UTF_8));
+        return safe + "-" + String.format("%08x", crc.getValue());
+    }
 }
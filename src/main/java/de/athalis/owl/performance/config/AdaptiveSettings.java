@@ -0,0 +1,110 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance.config;
+
+/**
+ * Settings for an adaptive number of warmups and runs of benchmark test cases of type {@code classification}.
+ * The warmups continue until the durations of the last warmups are stable, the runs until the confidence interval of the mean is narrow enough.
+ * The {@code warmups} and {@code runs} of the case are the minimum counts.
+ */
+public class AdaptiveSettings {
+
+    private Integer maxWarmups = 20;
+    private Integer warmupWindow = 3;
+    private Double warmupCv = 0.05;
+    private Integer maxRuns = 30;
+    private Double ciWidth = 0.05;
+    private Integer timeBudget = 0;
+
+    @Override
+    public String toString() {
+        return "AdaptiveSettings{" +
+                "maxWarmups=" + maxWarmups +
+                ", warmupWindow=" + warmupWindow +
+                ", warmupCv=" + warmupCv +
+                ", maxRuns=" + maxRuns +
+                ", ciWidth=" + ciWidth +
+                ", timeBudget=" + timeBudget +
+                '}';
+    }
+
+    protected void validate(String caseName, int warmups, int runs) {
+        if (maxWarmups == null || maxWarmups < warmups) {
+            throw new IllegalArgumentException("case '" + caseName + "' has adaptive max warmups below its warmups");
+        }
+        if (warmupWindow == null || warmupWindow < 2) {
+            throw new IllegalArgumentException("case '" + caseName + "' has an adaptive warmup window below 2");
+        }
+        if (warmupCv == null || warmupCv <= 0) {
+            throw new IllegalArgumentException("case '" + caseName + "' has a non-positive adaptive warmup coefficient of variation");
+        }
+        if (maxRuns == null || maxRuns < Math.max(runs, 2)) {
+            throw new IllegalArgumentException("case '" + caseName + "' has adaptive max runs below its runs or 2");
+        }
+        if (ciWidth == null || ciWidth <= 0) {
+            throw new IllegalArgumentException("case '" + caseName + "' has a non-positive adaptive confidence interval width");
+        }
+        if (timeBudget == null || timeBudget < 0) {
+            throw new IllegalArgumentException("case '" + caseName + "' has a negative adaptive time budget");
+        }
+    }
+
+    public Integer getMaxWarmups() {
+        return maxWarmups;
+    }
+
+    public void setMaxWarmups(Integer maxWarmups) {
+        this.maxWarmups = maxWarmups;
+    }
+
+    /**
+     * @return how many of the last warmups are considered for the coefficient of variation
+     */
+    public Integer getWarmupWindow() {
+        return warmupWindow;
+    }
+
+    public void setWarmupWindow(Integer warmupWindow) {
+        this.warmupWindow = warmupWindow;
+    }
+
+    /**
+     * @return the coefficient of variation (standard deviation / mean) of the last warmups below which the warmups stop
+     */
+    public Double getWarmupCv() {
+        return warmupCv;
+    }
+
+    public void setWarmupCv(Double warmupCv) {
+        this.warmupCv = warmupCv;
+    }
+
+    public Integer getMaxRuns() {
+        return maxRuns;
+    }
+
+    public void setMaxRuns(Integer maxRuns) {
+        this.maxRuns = maxRuns;
+    }
+
+    /**
+     * @return the half width of the 95% confidence interval of the mean relative to the mean below which the runs stop
+     */
+    public Double getCiWidth() {
+        return ciWidth;
+    }
+
+    public void setCiWidth(Double ciWidth) {
+        this.ciWidth = ciWidth;
+    }
+
+    /**
+     * @return how long the warmups and runs of a case may take in seconds until no further warmup or run is started, 0 for no limit
+     */
+    public Integer getTimeBudget() {
+        return timeBudget;
+    }
+
+    public void setTimeBudget(Integer timeBudget) {
+        this.timeBudget = timeBudget;
+    }
+}
@@ -0,0 +1,71 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance.config;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.constructor.Constructor;
+import org.yaml.snakeyaml.nodes.*;
+
+/**
+ * Like {@link Constructor}, but also types the items of nested lists of bean properties, e.g. {@code List<List<InferenceType>>}.
+ * SnakeYAML only types the items of the outer list, the items of the inner lists would stay strings.
+ */
+class ConfigConstructor extends Constructor {
+
+    ConfigConstructor(LoaderOptions loadingConfig) {
+        super(YamlConfigFile.class, loadingConfig);
+        this.yamlClassConstructors.put(NodeId.mapping, new NestedListMapping());
+    }
+
+    private class NestedListMapping extends ConstructMapping {
+        @Override
+        protected Object constructJavaBean2ndStep(MappingNode node, Object object) {
+            for (NodeTuple tuple : node.getValue()) {
+                if (tuple.getKeyNode() instanceof ScalarNode && tuple.getValueNode() instanceof SequenceNode) {
+                    Class<?> itemType = nestedListItemType(node.getType(), ((ScalarNode) tuple.getKeyNode()).getValue());
+                    if (itemType != null) {
+                        for (Node item : ((SequenceNode) tuple.getValueNode()).getValue()) {
+                            if (item instanceof SequenceNode) {
+                                ((SequenceNode) item).setListType(itemType);
+                            }
+                        }
+                    }
+                }
+            }
+
+            return super.constructJavaBean2ndStep(node, object);
+        }
+    }
+
+    /**
+     * @return {@code X} if the field of the bean is a {@code List<List<X>>}, otherwise null
+     */
+    private static Class<?> nestedListItemType(Class<?> beanType, String name) {
+        for (Class<?> c = beanType; c != null; c = c.getSuperclass()) {
+            Field field;
+            try {
+                field = c.getDeclaredField(name);
+            }
+            catch (NoSuchFieldException ex) {
+                continue;
+            }
+
+            Type outer = field.getGenericType();
+            if (outer instanceof ParameterizedType && ((ParameterizedType) outer).getRawType() == List.class) {
+                Type inner = ((ParameterizedType) outer).getActualTypeArguments()[0];
+                if (inner instanceof ParameterizedType && ((ParameterizedType) inner).getRawType() == List.class) {
+                    Type item = ((ParameterizedType) inner).getActualTypeArguments()[0];
+                    if (item instanceof Class) {
+                        return (Class<?>) item;
+                    }
+                }
+            }
+            return null;
+        }
+        return null;
+    }
+}
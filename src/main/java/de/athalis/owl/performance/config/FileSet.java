@@ -0,0 +1,43 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance.config;
+
+import java.net.URI;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Named list of files, a value of the {@code ontologies} or {@code variants} dimension of a {@link MatrixDefinition}.
+ */
+public class FileSet {
+
+    private String name;
+    private List<OWLFile> files = new LinkedList<>();
+
+    @Override
+    public String toString() {
+        return "FileSet{" +
+                "name='" + name + '\'' +
+                ", files=" + files +
+                '}';
+    }
+
+    protected void setRoot(URI root) {
+        files.forEach(f -> f.setRoot(root));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public List<OWLFile> getFiles() {
+        return files;
+    }
+
+    public void setFiles(List<OWLFile> files) {
+        this.files = files;
+    }
+}
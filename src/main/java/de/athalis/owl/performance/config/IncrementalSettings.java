@@ -0,0 +1,93 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance.config;
+
+/**
+ * Settings for benchmark test cases of type {@code incremental}.
+ * The changes are either the axioms of a delta file that are added, or a random sample of axioms of the case that are removed and re-added.
+ */
+public class IncrementalSettings {
+
+    private OWLFile delta = null;
+    private Integer sample = 10;
+    private Integer batchSize = 0;
+    private boolean fullReclassification = true;
+    private Long seed = 0L;
+
+    @Override
+    public String toString() {
+        return "IncrementalSettings{" +
+                "delta=" + delta +
+                ", sample=" + sample +
+                ", batchSize=" + batchSize +
+                ", fullReclassification=" + fullReclassification +
+                ", seed=" + seed +
+                '}';
+    }
+
+    protected void validate(String caseName) {
+        if (delta != null && delta.getPathURI() == null) {
+            throw new IllegalArgumentException("case '" + caseName + "' has an incremental delta that does not reference one of the files");
+        }
+        if (delta == null && (sample == null || sample < 1)) {
+            throw new IllegalArgumentException("case '" + caseName + "' has neither an incremental delta nor a positive sample");
+        }
+        if (batchSize == null || batchSize < 0) {
+            throw new IllegalArgumentException("case '" + caseName + "' has a negative incremental batch size");
+        }
+        if (seed == null) {
+            throw new IllegalArgumentException("case '" + caseName + "' has no incremental seed");
+        }
+    }
+
+    /**
+     * @return the file with the axioms to add, or null to use a sample of the axioms of the case
+     */
+    public OWLFile getDelta() {
+        return delta;
+    }
+
+    public void setDelta(OWLFile delta) {
+        this.delta = delta;
+    }
+
+    /**
+     * @return how many logical axioms of the case to remove and re-add, if there is no delta
+     */
+    public Integer getSample() {
+        return sample;
+    }
+
+    public void setSample(Integer sample) {
+        this.sample = sample;
+    }
+
+    /**
+     * @return how many axioms to change before re-classifying, 0 for all at once
+     */
+    public Integer getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @return whether to also measure the classification from scratch after each batch, for comparison
+     */
+    public boolean isFullReclassification() {
+        return fullReclassification;
+    }
+
+    public void setFullReclassification(boolean fullReclassification) {
+        this.fullReclassification = fullReclassification;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+}
@@ -0,0 +1,241 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance.config;
+
+import java.net.URI;
+import java.util.*;
+
+import org.semanticweb.owlapi.reasoner.InferenceType;
+
+/**
+ * Defines benchmark test cases as cartesian product of ontologies, variants, reasoners and inference types.
+ * The cases are created on demand by their index, see {@link #get(long)}, instead of being held in memory.
+ */
+public class MatrixDefinition {
+
+    private String name;
+
+    private Boolean debug = null;
+    private Integer warmups = -1;
+    private Integer runs = -1;
+    private Integer timeout = -1;
+    private AdaptiveSettings adaptive = null;
+
+    private List<FileSet> ontologies;
+    private List<FileSet> variants = null;
+    private List<String> reasoners = null;
+    private List<List<InferenceType>> inferences = null;
+
+    // the dimensions after applying the defaults
+    private List<FileSet> variantValues;
+    private List<String> reasonerValues;
+    private List<List<InferenceType>> inferenceValues;
+
+    private Boolean defaultDebug;
+    private int defaultWarmups;
+    private int defaultRuns;
+    private int defaultTimeout;
+
+    @Override
+    public String toString() {
+        return "MatrixDefinition{" +
+                "name='" + name + '\'' +
+                ", debug=" + debug +
+                ", warmups=" + warmups +
+                ", runs=" + runs +
+                ", timeout=" + timeout +
+                ", adaptive=" + adaptive +
+                ", ontologies=" + ontologies +
+                ", variants=" + variants +
+                ", reasoners=" + reasoners +
+                ", inferences=" + inferences +
+                '}';
+    }
+
+    protected void setRoot(URI root) {
+        if (ontologies != null) {
+            ontologies.forEach(o -> o.setRoot(root));
+        }
+        if (variants != null) {
+            variants.forEach(v -> v.setRoot(root));
+        }
+    }
+
+    protected void applyDefaults(Boolean debug, int warmups, int runs, List<InferenceType> inferences, String reasoner, int timeout) {
+        if (ontologies == null || ontologies.isEmpty()) {
+            throw new IllegalArgumentException("matrix '" + name + "' has no ontologies");
+        }
+        for (FileSet ontology : ontologies) {
+            if (ontology.getFiles() == null || ontology.getFiles().isEmpty()) {
+                throw new IllegalArgumentException("matrix '" + name + "' has an ontology without files");
+            }
+        }
+        if (variants != null && variants.isEmpty()) {
+            throw new IllegalArgumentException("matrix '" + name + "' has empty variants");
+        }
+        if (reasoners != null && reasoners.isEmpty()) {
+            throw new IllegalArgumentException("matrix '" + name + "' has empty reasoners");
+        }
+        if (this.inferences != null && (this.inferences.isEmpty() || this.inferences.stream().anyMatch(i -> i == null || i.isEmpty()))) {
+            throw new IllegalArgumentException("matrix '" + name + "' has empty inferences");
+        }
+
+        this.defaultDebug = debug;
+        this.defaultWarmups = warmups;
+        this.defaultRuns = runs;
+        this.defaultTimeout = timeout;
+
+        this.variantValues = variants != null ? variants : List.of(new FileSet());
+        this.reasonerValues = reasoners != null ? reasoners : List.of(reasoner);
+
+        this.inferenceValues = this.inferences != null ? this.inferences : List.of(inferences);
+
+        // fail early on invalid settings of the cases
+        get(0);
+    }
+
+    /**
+     * @return the number of cases, i.e. the product of the sizes of the dimensions
+     */
+    public long size() {
+        return (long) ontologies.size() * variantValues.size() * reasonerValues.size() * inferenceValues.size();
+    }
+
+    /**
+     * Creates the case with the given index.
+     * The ontologies vary slowest and the inference types fastest, i.e. the cases of a single ontology are adjacent.
+     */
+    public OWLBenchmarkTestCase get(long index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("matrix '" + name + "' has " + size() + " cases, no index " + index);
+        }
+
+        int i = (int) (index % inferenceValues.size());
+        index /= inferenceValues.size();
+        int r = (int) (index % reasonerValues.size());
+        index /= reasonerValues.size();
+        int v = (int) (index % variantValues.size());
+        int o = (int) (index / variantValues.size());
+
+        FileSet ontology = ontologies.get(o);
+        FileSet variant = variantValues.get(v);
+        String reasoner = reasonerValues.get(r);
+        List<InferenceType> inferenceTypes = inferenceValues.get(i);
+
+        // only the varying dimensions are part of the name
+        StringJoiner sj = new StringJoiner(", ", name + " [", "]");
+        if (ontologies.size() > 1) {
+            sj.add(label(ontology, o));
+        }
+        if (variantValues.size() > 1) {
+            sj.add(label(variant, v));
+        }
+        if (reasonerValues.size() > 1) {
+            sj.add(reasoner);
+        }
+        if (inferenceValues.size() > 1) {
+            sj.add(inferenceTypes.toString());
+        }
+
+        List<OWLFile> files = new LinkedList<>(ontology.getFiles());
+        files.addAll(variant.getFiles());
+
+        OWLBenchmarkTestCase testCase = new OWLBenchmarkTestCase();
+        testCase.setName(sj.toString());
+        testCase.setDebug(debug);
+        testCase.setWarmups(warmups);
+        testCase.setRuns(runs);
+        testCase.setTimeout(timeout);
+        testCase.setAdaptive(adaptive);
+        testCase.setReasoner(reasoner);
+        testCase.setInferences(inferenceTypes);
+        testCase.setFiles(files);
+
+        testCase.applyDefaults(defaultDebug, defaultWarmups, defaultRuns, inferenceTypes, reasoner, defaultTimeout);
+
+        return testCase;
+    }
+
+    private static String label(FileSet fileSet, int index) {
+        return fileSet.getName() != null ? fileSet.getName() : "#" + index;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Boolean isDebug() {
+        return debug;
+    }
+
+    public void setDebug(Boolean debug) {
+        this.debug = debug;
+    }
+
+    public Integer getWarmups() {
+        return warmups;
+    }
+
+    public void setWarmups(Integer warmups) {
+        this.warmups = warmups;
+    }
+
+    public Integer getRuns() {
+        return runs;
+    }
+
+    public void setRuns(Integer runs) {
+        this.runs = runs;
+    }
+
+    public Integer getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Integer timeout) {
+        this.timeout = timeout;
+    }
+
+    public AdaptiveSettings getAdaptive() {
+        return adaptive;
+    }
+
+    public void setAdaptive(AdaptiveSettings adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    public List<FileSet> getOntologies() {
+        return ontologies;
+    }
+
+    public void setOntologies(List<FileSet> ontologies) {
+        this.ontologies = ontologies;
+    }
+
+    public List<FileSet> getVariants() {
+        return variants;
+    }
+
+    public void setVariants(List<FileSet> variants) {
+        this.variants = variants;
+    }
+
+    public List<String> getReasoners() {
+        return reasoners;
+    }
+
+    public void setReasoners(List<String> reasoners) {
+        this.reasoners = reasoners;
+    }
+
+    public List<List<InferenceType>> getInferences() {
+        return inferences;
+    }
+
+    public void setInferences(List<List<InferenceType>> inferences) {
+        this.inferences = inferences;
+    }
+}
@@ -0,0 +1,69 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance.config;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Settings for benchmark test cases that reason over a syntactic locality-based module of the merged model only.
+ */
+public class ModuleSettings {
+
+    public static final Set<String> TYPES = Set.of("STAR", "BOT", "TOP");
+
+    private String type = "STAR";
+    private List<String> signature = new LinkedList<>();
+    private boolean verify = true;
+
+    @Override
+    public String toString() {
+        return "ModuleSettings{" +
+                "type='" + type + '\'' +
+                ", signature=" + signature +
+                ", verify=" + verify +
+                '}';
+    }
+
+    protected void validate(String caseName) {
+        if (type == null || !TYPES.contains(type)) {
+            throw new IllegalArgumentException("case '" + caseName + "' has unknown module type: " + type);
+        }
+        if (signature == null || signature.isEmpty()) {
+            throw new IllegalArgumentException("case '" + caseName + "' has no module signature");
+        }
+    }
+
+    /**
+     * @return the module type of the OWL API: {@code STAR}, {@code BOT} or {@code TOP}
+     */
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    /**
+     * @return the IRIs of the entities of the seed signature
+     */
+    public List<String> getSignature() {
+        return signature;
+    }
+
+    public void setSignature(List<String> signature) {
+        this.signature = signature;
+    }
+
+    /**
+     * @return whether to compare the class hierarchy of the seed signature with the classification of the merged model once per case
+     */
+    public boolean isVerify() {
+        return verify;
+    }
+
+    public void setVerify(boolean verify) {
+        this.verify = verify;
+    }
+}
@@ -1,19 +1,38 @@
 // SPDX-License-Identifier: MIT
 package de.athalis.owl.performance.config;
 
+import java.util.LinkedList;
 import java.util.List;
 
+import org.semanticweb.owlapi.reasoner.InferenceType;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class OWLBenchmarkTestCase {
     private static final Logger logger = LoggerFactory.getLogger(OWLBenchmarkTestCase.class);
 
+    public static final String TYPE_CLASSIFICATION = "classification";
+    public static final String TYPE_THROUGHPUT = "throughput";
+    public static final String TYPE_INCREMENTAL = "incremental";
+    public static final String TYPE_SCALING = "scaling";
+
     private String name;
+    private String type = TYPE_CLASSIFICATION;
 
     private Boolean debug = null;
     private Integer warmups = -1;
     private Integer runs = -1;
+    private List<InferenceType> inferences = null;
+    private String reasoner = null;
+    private Integer timeout = -1;
+    private ThroughputSettings throughput = null;
+    private IncrementalSettings incremental = null;
+    private ScalingSettings scaling = null;
+    private AdaptiveSettings adaptive = null;
+    private ModuleSettings module = null;
+    private boolean reuseReasoner = false;
+    private List<String> jvmArgs = new LinkedList<>();
 
     private List<OWLFile> files;
 
@@ -21,14 +40,25 @@ public class OWLBenchmarkTestCase {
     public String toString() {
         return "OWLBenchmarkTestCase{" +
                 "name='" + name + '\'' +
+                ", type='" + type + '\'' +
                 ", debug=" + debug +
                 ", warmups=" + warmups +
                 ", runs=" + runs +
+                ", inferences=" + inferences +
+                ", reasoner='" + reasoner + '\'' +
+                ", timeout=" + timeout +
+                ", throughput=" + throughput +
+                ", incremental=" + incremental +
+                ", scaling=" + scaling +
+                ", adaptive=" + adaptive +
+                ", module=" + module +
+                ", reuseReasoner=" + reuseReasoner +
+                ", jvmArgs=" + jvmArgs +
                 ", files=" + files +
                 '}';
     }
 
-    public void applyDefaults(Boolean debug, int warmups, int runs) {
+    public void applyDefaults(Boolean debug, int warmups, int runs, List<InferenceType> inferences, String reasoner, int timeout) {
         if (debug == null) {
             throw new IllegalArgumentException("default debug must not be null");
         }
@@ -38,6 +68,15 @@ public class OWLBenchmarkTestCase {
         if (runs < 0) {
             throw new IllegalArgumentException("default runs must not be negative");
         }
+        if (inferences == null || inferences.isEmpty()) {
+            throw new IllegalArgumentException("default inferences must not be empty");
+        }
+        if (reasoner == null || reasoner.isBlank()) {
+            throw new IllegalArgumentException("default reasoner must not be empty");
+        }
+        if (timeout < 0) {
+            throw new IllegalArgumentException("default timeout must not be negative");
+        }
 
         if (this.debug == null) {
             this.debug = debug;
@@ -48,12 +87,70 @@ public class OWLBenchmarkTestCase {
         if (this.runs < 0) {
             this.runs = runs;
         }
+        if (this.inferences == null) {
+            this.inferences = inferences;
+        }
+        else if (this.inferences.isEmpty()) {
+            throw new IllegalArgumentException("case '" + name + "' has empty inferences");
+        }
+        if (this.reasoner == null) {
+            this.reasoner = reasoner;
+        }
+        if (this.timeout < 0) {
+            this.timeout = timeout;
+        }
 
-        if (this.warmups == 0) {
-            logger.info("case '" + name + "' has no warmups");
+        if (this.jvmArgs == null) {
+            throw new IllegalArgumentException("case '" + name + "' has null jvmArgs");
         }
-        if (this.runs == 0) {
-            logger.warn("case '" + name + "' has no runs");
+
+        if (TYPE_THROUGHPUT.equals(this.type)) {
+            if (this.throughput == null) {
+                this.throughput = new ThroughputSettings();
+            }
+            this.throughput.validate(name);
+        }
+        else if (TYPE_INCREMENTAL.equals(this.type)) {
+            if (this.incremental == null) {
+                this.incremental = new IncrementalSettings();
+            }
+            this.incremental.validate(name);
+        }
+        else if (TYPE_SCALING.equals(this.type)) {
+            if (this.scaling == null) {
+                this.scaling = new ScalingSettings();
+            }
+            this.scaling.validate(name);
+        }
+        else if (!TYPE_CLASSIFICATION.equals(this.type)) {
+            throw new IllegalArgumentException("case '" + name + "' has unknown type: " + this.type);
+        }
+
+        if (this.adaptive != null) {
+            if (!TYPE_CLASSIFICATION.equals(this.type)) {
+                throw new IllegalArgumentException("case '" + name + "' has adaptive settings, which are only supported for type " + TYPE_CLASSIFICATION);
+            }
+            this.adaptive.validate(name, this.warmups, this.runs);
+        }
+
+        if (this.module != null) {
+            if (!TYPE_CLASSIFICATION.equals(this.type)) {
+                throw new IllegalArgumentException("case '" + name + "' has module settings, which are only supported for type " + TYPE_CLASSIFICATION);
+            }
+            this.module.validate(name);
+        }
+
+        if (this.reuseReasoner && !TYPE_CLASSIFICATION.equals(this.type)) {
+            throw new IllegalArgumentException("case '" + name + "' reuses the reasoner, which is only supported for type " + TYPE_CLASSIFICATION);
+        }
+
+        if (!TYPE_THROUGHPUT.equals(this.type)) {
+            if (this.warmups == 0) {
+                logger.info("case '" + name + "' has no warmups");
+            }
+            if (this.runs == 0) {
+                logger.warn("case '" + name + "' has no runs");
+            }
         }
     }
 
@@ -65,6 +162,14 @@ public class OWLBenchmarkTestCase {
         return name;
     }
 
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
     public Boolean isDebug() {
         return debug;
     }
@@ -89,6 +194,116 @@ public class OWLBenchmarkTestCase {
         this.runs = runs;
     }
 
+    /**
+     * @return the inference types to precompute, in order
+     */
+    public List<InferenceType> getInferences() {
+        return inferences;
+    }
+
+    public void setInferences(List<InferenceType> inferences) {
+        this.inferences = inferences;
+    }
+
+    /**
+     * @return the name of the reasoner, see {@code ReasonerAdapters}
+     */
+    public String getReasoner() {
+        return reasoner;
+    }
+
+    public void setReasoner(String reasoner) {
+        this.reasoner = reasoner;
+    }
+
+    /**
+     * @return the timeout of a single warmup or run in milliseconds, 0 for none
+     */
+    public Integer getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Integer timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * @return the settings for type {@code throughput}, null for other types
+     */
+    public ThroughputSettings getThroughput() {
+        return throughput;
+    }
+
+    public void setThroughput(ThroughputSettings throughput) {
+        this.throughput = throughput;
+    }
+
+    /**
+     * @return the settings for type {@code incremental}, null for other types
+     */
+    public IncrementalSettings getIncremental() {
+        return incremental;
+    }
+
+    public void setIncremental(IncrementalSettings incremental) {
+        this.incremental = incremental;
+    }
+
+    /**
+     * @return the settings for type {@code scaling}, null for other types
+     */
+    public ScalingSettings getScaling() {
+        return scaling;
+    }
+
+    public void setScaling(ScalingSettings scaling) {
+        this.scaling = scaling;
+    }
+
+    /**
+     * @return the settings for an adaptive number of warmups and runs, null for the fixed {@link #getWarmups()} and {@link #getRuns()}
+     */
+    public AdaptiveSettings getAdaptive() {
+        return adaptive;
+    }
+
+    public void setAdaptive(AdaptiveSettings adaptive) {
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * @return the settings to reason over a module of the merged model only, null to reason over the merged model
+     */
+    public ModuleSettings getModule() {
+        return module;
+    }
+
+    public void setModule(ModuleSettings module) {
+        this.module = module;
+    }
+
+    /**
+     * @return whether to build the knowledge base of the reasoner once and only classify it in the warmups and runs
+     */
+    public boolean isReuseReasoner() {
+        return reuseReasoner;
+    }
+
+    public void setReuseReasoner(boolean reuseReasoner) {
+        this.reuseReasoner = reuseReasoner;
+    }
+
+    /**
+     * @return additional arguments for the child JVM of the fork engine, appended to {@code forkJvmArgs}
+     */
+    public List<String> getJvmArgs() {
+        return jvmArgs;
+    }
+
+    public void setJvmArgs(List<String> jvmArgs) {
+        this.jvmArgs = jvmArgs;
+    }
+
     public void setFiles(List<OWLFile> files) {
         this.files = files;
     }
@@ -0,0 +1,58 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance.config;
+
+import java.util.Set;
+
+/**
+ * A file the results are written to while the benchmark is running.
+ */
+public class ResultFile {
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_JSONL = "jsonl";
+    public static final String FORMAT_JUNIT = "junit";
+
+    private static final Set<String> FORMATS = Set.of(FORMAT_CSV, FORMAT_JSONL, FORMAT_JUNIT);
+
+    private String format;
+    private String path;
+
+    @Override
+    public String toString() {
+        return "ResultFile{" +
+                "format='" + format + '\'' +
+                ", path='" + path + '\'' +
+                '}';
+    }
+
+    protected void validate() {
+        if (format == null || !FORMATS.contains(format)) {
+            throw new IllegalArgumentException("unknown result format: " + format);
+        }
+        if (path == null || path.isBlank()) {
+            throw new IllegalArgumentException("result file without path");
+        }
+    }
+
+    /**
+     * @return {@code csv}, {@code jsonl} or {@code junit}
+     */
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    /**
+     * @return the path of the file, relative to the working directory
+     */
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+}
@@ -0,0 +1,76 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance.config;
+
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Settings for benchmark test cases of type {@code scaling}.
+ * The named individuals of the case and their assertions are replicated in memory for each scale factor.
+ */
+public class ScalingSettings {
+
+    private List<Integer> factors = new LinkedList<>(List.of(1, 2, 4, 8));
+    private Double crossLinks = 0.0;
+    private Long seed = 0L;
+
+    @Override
+    public String toString() {
+        return "ScalingSettings{" +
+                "factors=" + factors +
+                ", crossLinks=" + crossLinks +
+                ", seed=" + seed +
+                '}';
+    }
+
+    protected void validate(String caseName) {
+        if (factors == null || factors.isEmpty()) {
+            throw new IllegalArgumentException("case '" + caseName + "' has no scaling factors");
+        }
+        for (Integer f : factors) {
+            if (f == null || f < 1) {
+                throw new IllegalArgumentException("case '" + caseName + "' has scaling factors that are not positive");
+            }
+        }
+        if (new HashSet<>(factors).size() != factors.size()) {
+            throw new IllegalArgumentException("case '" + caseName + "' has duplicate scaling factors");
+        }
+        if (crossLinks == null || crossLinks < 0 || crossLinks > 1) {
+            throw new IllegalArgumentException("case '" + caseName + "' has scaling cross links that are not between 0 and 1");
+        }
+        if (seed == null) {
+            throw new IllegalArgumentException("case '" + caseName + "' has no scaling seed");
+        }
+    }
+
+    /**
+     * @return how many copies of the individuals to measure, including the original ones
+     */
+    public List<Integer> getFactors() {
+        return factors;
+    }
+
+    public void setFactors(List<Integer> factors) {
+        this.factors = factors;
+    }
+
+    /**
+     * @return the probability that an object property assertion of a copy refers to an individual of a random earlier copy instead
+     */
+    public Double getCrossLinks() {
+        return crossLinks;
+    }
+
+    public void setCrossLinks(Double crossLinks) {
+        this.crossLinks = crossLinks;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+}
@@ -0,0 +1,97 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance.config;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Settings for benchmark test cases of type {@code throughput}.
+ */
+public class ThroughputSettings {
+
+    private List<Integer> threads = new LinkedList<>(List.of(1));
+    private Integer duration = 10000;
+    private Integer warmup = 1000;
+    private boolean virtualThreads = false;
+    private Long seed = 0L;
+
+    @Override
+    public String toString() {
+        return "ThroughputSettings{" +
+                "threads=" + threads +
+                ", duration=" + duration +
+                ", warmup=" + warmup +
+                ", virtualThreads=" + virtualThreads +
+                ", seed=" + seed +
+                '}';
+    }
+
+    protected void validate(String caseName) {
+        if (threads == null || threads.isEmpty()) {
+            throw new IllegalArgumentException("case '" + caseName + "' has no throughput threads");
+        }
+        for (Integer t : threads) {
+            if (t == null || t < 1) {
+                throw new IllegalArgumentException("case '" + caseName + "' has throughput threads that are not positive");
+            }
+        }
+        if (duration == null || duration < 1) {
+            throw new IllegalArgumentException("case '" + caseName + "' has a throughput duration that is not positive");
+        }
+        if (warmup == null || warmup < 0) {
+            throw new IllegalArgumentException("case '" + caseName + "' has a negative throughput warmup");
+        }
+        if (seed == null) {
+            throw new IllegalArgumentException("case '" + caseName + "' has no throughput seed");
+        }
+    }
+
+    /**
+     * @return the numbers of concurrent threads to measure, in order
+     */
+    public List<Integer> getThreads() {
+        return threads;
+    }
+
+    public void setThreads(List<Integer> threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * @return the duration of the measurement per number of threads, in milliseconds
+     */
+    public Integer getDuration() {
+        return duration;
+    }
+
+    public void setDuration(Integer duration) {
+        this.duration = duration;
+    }
+
+    /**
+     * @return the duration of the warmup per number of threads, in milliseconds
+     */
+    public Integer getWarmup() {
+        return warmup;
+    }
+
+    public void setWarmup(Integer warmup) {
+        this.warmup = warmup;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+}
@@ -6,23 +6,54 @@ import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.semanticweb.owlapi.reasoner.InferenceType;
 
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
-import org.yaml.snakeyaml.constructor.Constructor;
 import org.yaml.snakeyaml.representer.Representer;
 import org.yaml.snakeyaml.resolver.Resolver;
 
 public class YamlConfigFile {
 
+    public static final String ENGINE_DEFAULT = "default";
+    public static final String ENGINE_JMH = "jmh";
+    public static final String ENGINE_FORK = "fork";
+
     private boolean defaultDebug = false;
     private Integer defaultWarmups = 1;
     private Integer defaultRuns = 1;
+    private List<InferenceType> defaultInferences = new LinkedList<>(List.of(InferenceType.CLASS_HIERARCHY));
+    private String defaultReasoner = "openllet";
+    private Integer defaultTimeout = 0;
+    // null for the default, which depends on the streaming mode
+    private Integer cacheSize = null;
+    private Integer parallelism = 1;
+    private boolean streaming = false;
+    private boolean prefetch = false;
+    private String engine = ENGINE_DEFAULT;
+    private Integer jmhForks = 1;
+    private Integer jmhIterationTime = 0;
+    private List<String> forkJvmArgs = new LinkedList<>();
+    private Integer forkTimeout = 0;
+    private Integer forkConcurrency = 1;
+    private Integer forkHeapBudget = 0;
+    private String forkTimings = null;
+    private String samplesDirectory = null;
+    private String jfrDirectory = null;
+    private boolean forceGC = false;
+    private Integer explanationLimit = 2;
+    private Integer explanationTimeout = 60;
+    private List<ResultFile> resultFiles = new LinkedList<>();
 
     private List<OWLFile> files;
-    private List<OWLBenchmarkTestCase> cases;
+    private List<OWLBenchmarkTestCase> cases = new LinkedList<>();
+    private List<MatrixDefinition> matrix = new LinkedList<>();
 
     public static YamlConfigFile readYaml(final URL configFileURL) throws IOException, URISyntaxException {
         LoaderOptions loadingConfig = new LoaderOptions();
@@ -30,7 +61,7 @@ public class YamlConfigFile {
     }
 
     public static YamlConfigFile readYaml(final URL configFileURL, LoaderOptions loadingConfig) throws IOException, URISyntaxException {
-        Yaml yaml = new Yaml(new Constructor(YamlConfigFile.class, loadingConfig), new Representer(), new DumperOptions(), loadingConfig, new Resolver());
+        Yaml yaml = new Yaml(new ConfigConstructor(loadingConfig), new Representer(), new DumperOptions(), loadingConfig, new Resolver());
 
         try (InputStream inputStream = configFileURL.openStream()) {
             YamlConfigFile obj = yaml.load(inputStream);
@@ -46,6 +77,7 @@ public class YamlConfigFile {
 
     private void setRoot(URI root) {
         files.forEach(f -> f.setRoot(root));
+        matrix.forEach(m -> m.setRoot(root));
     }
 
     private void applyDefaults() {
@@ -55,8 +87,100 @@ public class YamlConfigFile {
         if (this.defaultRuns < 0) {
             throw new IllegalArgumentException("default runs must not be negative");
         }
+        if (this.cacheSize != null && this.cacheSize < 0) {
+            throw new IllegalArgumentException("cache size must not be negative");
+        }
+        if (this.parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        if (!ENGINE_DEFAULT.equals(this.engine) && !ENGINE_JMH.equals(this.engine) && !ENGINE_FORK.equals(this.engine)) {
+            throw new IllegalArgumentException("unknown engine: " + this.engine);
+        }
+        if (this.jmhForks < 0) {
+            throw new IllegalArgumentException("jmh forks must not be negative");
+        }
+        if (this.jmhIterationTime < 0) {
+            throw new IllegalArgumentException("jmh iteration time must not be negative");
+        }
+        if (this.forkJvmArgs == null) {
+            throw new IllegalArgumentException("fork JVM args must not be null");
+        }
+        if (this.forkTimeout < 0) {
+            throw new IllegalArgumentException("fork timeout must not be negative");
+        }
+        if (this.forkConcurrency < 0) {
+            throw new IllegalArgumentException("fork concurrency must not be negative");
+        }
+        if (this.forkHeapBudget < 0) {
+            throw new IllegalArgumentException("fork heap budget must not be negative");
+        }
+        if (this.explanationLimit < 0) {
+            throw new IllegalArgumentException("explanation limit must not be negative");
+        }
+        if (this.explanationTimeout < 0) {
+            throw new IllegalArgumentException("explanation timeout must not be negative");
+        }
+        if (this.resultFiles == null) {
+            throw new IllegalArgumentException("result files must not be null");
+        }
+        this.resultFiles.forEach(ResultFile::validate);
 
-        this.cases.forEach(f -> f.applyDefaults(this.defaultDebug, this.defaultWarmups, this.defaultRuns));
+        this.cases.forEach(f -> f.applyDefaults(this.defaultDebug, this.defaultWarmups, this.defaultRuns, this.defaultInferences, this.defaultReasoner, this.defaultTimeout));
+        this.matrix.forEach(m -> m.applyDefaults(this.defaultDebug, this.defaultWarmups, this.defaultRuns, this.defaultInferences, this.defaultReasoner, this.defaultTimeout));
+    }
+
+    /**
+     * @return the number of cases, including the cases of the matrix definitions
+     */
+    public long getTestCaseCount() {
+        long count = cases.size();
+        for (MatrixDefinition m : matrix) {
+            count += m.size();
+        }
+        return count;
+    }
+
+    /**
+     * @param index of the case: first the cases, followed by the cases of each matrix definition
+     * @return the case, created on demand for the matrix definitions
+     */
+    public OWLBenchmarkTestCase getTestCase(long index) {
+        if (index < cases.size()) {
+            return cases.get((int) index);
+        }
+
+        long i = index - cases.size();
+        for (MatrixDefinition m : matrix) {
+            if (i < m.size()) {
+                return m.get(i);
+            }
+            i -= m.size();
+        }
+
+        throw new IndexOutOfBoundsException("no case with index " + index);
+    }
+
+    /**
+     * @return all cases in order, the cases of the matrix definitions are created on demand while iterating
+     */
+    public Iterable<OWLBenchmarkTestCase> testCases() {
+        return () -> new Iterator<>() {
+            private final long count = getTestCaseCount();
+            private long next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            @Override
+            public OWLBenchmarkTestCase next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return getTestCase(next++);
+            }
+        };
     }
 
     @Override
@@ -65,8 +189,30 @@ public class YamlConfigFile {
                 "defaultDebug=" + defaultDebug +
                 ", defaultWarmups=" + defaultWarmups +
                 ", defaultRuns=" + defaultRuns +
+                ", defaultInferences=" + defaultInferences +
+                ", defaultReasoner='" + defaultReasoner + '\'' +
+                ", defaultTimeout=" + defaultTimeout +
+                ", cacheSize=" + getCacheSize() +
+                ", parallelism=" + parallelism +
+                ", streaming=" + streaming +
+                ", prefetch=" + prefetch +
+                ", engine='" + engine + '\'' +
+                ", jmhForks=" + jmhForks +
+                ", jmhIterationTime=" + jmhIterationTime +
+                ", forkJvmArgs=" + forkJvmArgs +
+                ", forkTimeout=" + forkTimeout +
+                ", forkConcurrency=" + forkConcurrency +
+                ", forkHeapBudget=" + forkHeapBudget +
+                ", forkTimings='" + forkTimings + '\'' +
+                ", samplesDirectory='" + samplesDirectory + '\'' +
+                ", jfrDirectory='" + jfrDirectory + '\'' +
+                ", forceGC=" + forceGC +
+                ", explanationLimit=" + explanationLimit +
+                ", explanationTimeout=" + explanationTimeout +
+                ", resultFiles=" + resultFiles +
                 ", files=" + files +
                 ", cases=" + cases +
+                ", matrix=" + matrix +
                 '}';
     }
 
@@ -94,6 +240,210 @@ public class YamlConfigFile {
         this.defaultRuns = defaultRuns;
     }
 
+    public List<InferenceType> getDefaultInferences() {
+        return defaultInferences;
+    }
+
+    public void setDefaultInferences(List<InferenceType> defaultInferences) {
+        this.defaultInferences = defaultInferences;
+    }
+
+    public String getDefaultReasoner() {
+        return defaultReasoner;
+    }
+
+    public void setDefaultReasoner(String defaultReasoner) {
+        this.defaultReasoner = defaultReasoner;
+    }
+
+    public Integer getDefaultTimeout() {
+        return defaultTimeout;
+    }
+
+    public void setDefaultTimeout(Integer defaultTimeout) {
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    /**
+     * @return the configured cache size, otherwise 16, or 0 in streaming mode, as cached files are kept between the cases
+     */
+    public Integer getCacheSize() {
+        if (cacheSize != null) {
+            return cacheSize;
+        }
+        return streaming ? 0 : 16;
+    }
+
+    public void setCacheSize(Integer cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    public Integer getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(Integer parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    public boolean isPrefetch() {
+        return prefetch;
+    }
+
+    public void setPrefetch(boolean prefetch) {
+        this.prefetch = prefetch;
+    }
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public void setEngine(String engine) {
+        this.engine = engine;
+    }
+
+    public Integer getJmhForks() {
+        return jmhForks;
+    }
+
+    public void setJmhForks(Integer jmhForks) {
+        this.jmhForks = jmhForks;
+    }
+
+    public Integer getJmhIterationTime() {
+        return jmhIterationTime;
+    }
+
+    public void setJmhIterationTime(Integer jmhIterationTime) {
+        this.jmhIterationTime = jmhIterationTime;
+    }
+
+    /**
+     * @return the arguments for each child JVM of the fork engine, e.g. heap and GC flags
+     */
+    public List<String> getForkJvmArgs() {
+        return forkJvmArgs;
+    }
+
+    public void setForkJvmArgs(List<String> forkJvmArgs) {
+        this.forkJvmArgs = forkJvmArgs;
+    }
+
+    /**
+     * @return the timeout per case of the fork engine in seconds, 0 for none
+     */
+    public Integer getForkTimeout() {
+        return forkTimeout;
+    }
+
+    public void setForkTimeout(Integer forkTimeout) {
+        this.forkTimeout = forkTimeout;
+    }
+
+    /**
+     * @return how many child JVMs of the fork engine run at the same time, 0 for half of the available processors
+     */
+    public Integer getForkConcurrency() {
+        return forkConcurrency;
+    }
+
+    public void setForkConcurrency(Integer forkConcurrency) {
+        this.forkConcurrency = forkConcurrency;
+    }
+
+    /**
+     * @return the maximum heap of each child JVM of the fork engine in MB, 0 to derive it from the physical memory when running concurrently
+     */
+    public Integer getForkHeapBudget() {
+        return forkHeapBudget;
+    }
+
+    public void setForkHeapBudget(Integer forkHeapBudget) {
+        this.forkHeapBudget = forkHeapBudget;
+    }
+
+    /**
+     * @return path to a result file of an earlier benchmark, whose durations order the cases of the fork engine, or null
+     */
+    public String getForkTimings() {
+        return forkTimings;
+    }
+
+    public void setForkTimings(String forkTimings) {
+        this.forkTimings = forkTimings;
+    }
+
+    public String getSamplesDirectory() {
+        return samplesDirectory;
+    }
+
+    public void setSamplesDirectory(String samplesDirectory) {
+        this.samplesDirectory = samplesDirectory;
+    }
+
+    /**
+     * @return the directory for a Java Flight Recorder recording per case, or null for none
+     */
+    public String getJfrDirectory() {
+        return jfrDirectory;
+    }
+
+    public void setJfrDirectory(String jfrDirectory) {
+        this.jfrDirectory = jfrDirectory;
+    }
+
+    /**
+     * @return whether to force a GC before each warmup and run, and after the classification to measure the retained heap
+     */
+    public boolean isForceGC() {
+        return forceGC;
+    }
+
+    public void setForceGC(boolean forceGC) {
+        this.forceGC = forceGC;
+    }
+
+    /**
+     * @return how many explanations to compute for an inconsistent case in debug mode, 0 for none
+     */
+    public Integer getExplanationLimit() {
+        return explanationLimit;
+    }
+
+    public void setExplanationLimit(Integer explanationLimit) {
+        this.explanationLimit = explanationLimit;
+    }
+
+    /**
+     * @return how long to compute the explanations for an inconsistent case in debug mode in seconds, 0 for no limit
+     */
+    public Integer getExplanationTimeout() {
+        return explanationTimeout;
+    }
+
+    public void setExplanationTimeout(Integer explanationTimeout) {
+        this.explanationTimeout = explanationTimeout;
+    }
+
+    /**
+     * @return the files the results are written to while the benchmark is running, in addition to stdout
+     */
+    public List<ResultFile> getResultFiles() {
+        return resultFiles;
+    }
+
+    public void setResultFiles(List<ResultFile> resultFiles) {
+        this.resultFiles = resultFiles;
+    }
+
     public void setFiles(List<OWLFile> files) {
         this.files = files;
     }
@@ -106,7 +456,18 @@ public class YamlConfigFile {
         this.cases = cases;
     }
 
+    /**
+     * @return the explicitly defined cases, see {@link #testCases()} to include the cases of the matrix definitions
+     */
     public List<OWLBenchmarkTestCase> getCases() {
         return cases;
     }
+
+    public void setMatrix(List<MatrixDefinition> matrix) {
+        this.matrix = matrix;
+    }
+
+    public List<MatrixDefinition> getMatrix() {
+        return matrix;
+    }
 }
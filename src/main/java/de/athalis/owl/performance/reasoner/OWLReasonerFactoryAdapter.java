@@ -0,0 +1,49 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance.reasoner;
+
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.semanticweb.owlapi.reasoner.OWLReasonerConfiguration;
+import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
+
+/**
+ * Adapter for any {@link OWLReasonerFactory}, without support for explanations.
+ */
+public class OWLReasonerFactoryAdapter implements ReasonerAdapter {
+
+    private final String name;
+    private final OWLReasonerFactory factory;
+
+    public OWLReasonerFactoryAdapter(String name, OWLReasonerFactory factory) {
+        this.name = name;
+        this.factory = factory;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public OWLReasoner createReasoner(OWLOntology ont, OWLReasonerConfiguration config) {
+        return factory.createNonBufferingReasoner(ont, config);
+    }
+
+    @Override
+    public boolean supportsBuffering() {
+        return true;
+    }
+
+    @Override
+    public OWLReasoner createBufferingReasoner(OWLOntology ont, OWLReasonerConfiguration config) {
+        return factory.createReasoner(ont, config);
+    }
+
+    @Override
+    public String toString() {
+        return "OWLReasonerFactoryAdapter{" +
+                "name='" + name + '\'' +
+                ", factory=" + factory.getReasonerName() +
+                '}';
+    }
+}
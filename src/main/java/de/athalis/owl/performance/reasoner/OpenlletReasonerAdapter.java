@@ -0,0 +1,139 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance.reasoner;
+
+import java.util.Set;
+
+import openllet.core.KnowledgeBase;
+import openllet.core.OpenlletOptions;
+import openllet.owlapi.OpenlletReasoner;
+import openllet.owlapi.OpenlletReasonerFactory;
+import openllet.owlapi.explanation.PelletExplanation;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.semanticweb.owlapi.reasoner.OWLReasonerConfiguration;
+
+public class OpenlletReasonerAdapter extends OWLReasonerFactoryAdapter {
+
+    public static final String NAME = "openllet";
+
+    public OpenlletReasonerAdapter() {
+        super(NAME, OpenlletReasonerFactory.getInstance());
+    }
+
+    @Override
+    public void init() {
+        // workaround for https://github.com/Galigator/openllet/issues/38
+        // NOTE: that error did not occur during the performance tests, maybe some changes to the ontology "solved" this since I originally encountered it in a different application
+        OpenlletOptions.TRACK_BRANCH_EFFECTS = true;
+
+        // throw UnsupportedFeatureException for unsupported axioms
+        OpenlletOptions.IGNORE_UNSUPPORTED_AXIOMS = false;
+    }
+
+    @Override
+    public boolean supportsWarmReuse() {
+        return true;
+    }
+
+    @Override
+    public WarmReasoner createWarmReasoner(OWLOntology ont, OWLReasonerConfiguration config) {
+        // the reasoner translates the ontology into its knowledge base when created
+        OpenlletReasoner reasoner = (OpenlletReasoner) createReasoner(ont, config);
+        try {
+            // the copies share the TBox and RBox, i.e. their preprocessing is done once and belongs to the construction
+            reasoner.getKB().prepare();
+        }
+        catch (RuntimeException ex) {
+            reasoner.dispose();
+            throw ex;
+        }
+        return new OpenlletWarmReasoner(reasoner);
+    }
+
+    /**
+     * Classifies copies of the knowledge base of a reasoner: a copy has its own ABox, but shares the TBox and RBox with the original.
+     * These are prepared (e.g. absorption and the role hierarchy) before the first copy, otherwise the first classification
+     * would prepare them for all later ones, and only the first warmup would include that work.
+     */
+    public static class OpenlletWarmReasoner implements WarmReasoner {
+
+        private final OpenlletReasoner reasoner;
+
+        // the copy to classify, null until the first reset
+        private volatile KnowledgeBase kb = null;
+
+        private OpenlletWarmReasoner(OpenlletReasoner reasoner) {
+            this.reasoner = reasoner;
+        }
+
+        /**
+         * @return the copy of the last {@link #reset()}, or null before
+         */
+        public KnowledgeBase getKB() {
+            return kb;
+        }
+
+        /**
+         * @return the prepared knowledge base that is copied by {@link #reset()}
+         */
+        public KnowledgeBase getOriginalKB() {
+            return reasoner.getKB();
+        }
+
+        @Override
+        public void reset() {
+            kb = reasoner.getKB().copy();
+        }
+
+        @Override
+        public boolean isConsistent() {
+            return kb.isConsistent();
+        }
+
+        @Override
+        public void precomputeInferences(InferenceType inferenceType) {
+            // as OpenlletReasoner#precomputeInferences
+            switch (inferenceType) {
+                case CLASS_HIERARCHY:
+                    kb.classify();
+                    break;
+                case CLASS_ASSERTIONS:
+                    kb.realize();
+                    break;
+                case OBJECT_PROPERTY_HIERARCHY:
+                case DATA_PROPERTY_HIERARCHY:
+                    kb.prepare();
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void interrupt() {
+            KnowledgeBase current = kb;
+            if (current != null) {
+                current.getTimers().interrupt();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            kb = null;
+            reasoner.dispose();
+        }
+    }
+
+    @Override
+    public void setExplanationsEnabled(OWLReasoner reasoner, boolean enabled) {
+        ((OpenlletReasoner) reasoner).getKB().setDoExplanation(enabled);
+    }
+
+    @Override
+    public Set<Set<OWLAxiom>> getInconsistencyExplanations(OWLReasoner reasoner, int max) {
+        PelletExplanation expGen = new PelletExplanation((OpenlletReasoner) reasoner);
+        return expGen.getInconsistencyExplanations(max);
+    }
+}
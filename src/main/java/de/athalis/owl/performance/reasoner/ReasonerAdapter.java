@@ -0,0 +1,87 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance.reasoner;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.semanticweb.owlapi.reasoner.OWLReasonerConfiguration;
+
+/**
+ * Service provider interface for the reasoners to benchmark, discovered via {@link java.util.ServiceLoader}.
+ * Implementations are registered in {@code META-INF/services/de.athalis.owl.performance.reasoner.ReasonerAdapter} and need a public no-arg constructor.
+ *
+ * @see ReasonerAdapters
+ */
+public interface ReasonerAdapter {
+
+    /**
+     * @return the name to select this reasoner with the {@code reasoner} key of the configuration
+     */
+    String getName();
+
+    /**
+     * Called once before the first reasoner is created, e.g. to set global options.
+     */
+    default void init() {
+    }
+
+    /**
+     * @return whether the queries of a classified reasoner may be issued by several threads at the same time.
+     *         Not assumed by default, as e.g. Openllet updates its knowledge base while answering queries
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
+
+    /**
+     * @return a new non-buffering reasoner
+     */
+    OWLReasoner createReasoner(OWLOntology ont, OWLReasonerConfiguration config);
+
+    /**
+     * @return whether {@link #createBufferingReasoner} is supported
+     */
+    default boolean supportsBuffering() {
+        return false;
+    }
+
+    /**
+     * @return a new buffering reasoner, i.e. changes of the ontology are only considered after {@link OWLReasoner#flush()}
+     * @throws UnsupportedOperationException if not {@link #supportsBuffering()}
+     */
+    default OWLReasoner createBufferingReasoner(OWLOntology ont, OWLReasonerConfiguration config) {
+        throw new UnsupportedOperationException("reasoner '" + getName() + "' does not support buffering");
+    }
+
+    /**
+     * @return whether {@link #createWarmReasoner} is supported
+     */
+    default boolean supportsWarmReuse() {
+        return false;
+    }
+
+    /**
+     * Translates the ontology into a knowledge base that is reused by the returned reasoner, see {@link WarmReasoner#reset()}.
+     *
+     * @throws UnsupportedOperationException if not {@link #supportsWarmReuse()}
+     */
+    default WarmReasoner createWarmReasoner(OWLOntology ont, OWLReasonerConfiguration config) {
+        throw new UnsupportedOperationException("reasoner '" + getName() + "' does not support reusing its knowledge base");
+    }
+
+    /**
+     * Enables or disables the tracking that is needed for {@link #getInconsistencyExplanations}, if supported.
+     */
+    default void setExplanationsEnabled(OWLReasoner reasoner, boolean enabled) {
+    }
+
+    /**
+     * @return up to {@code max} explanations why the ontology is inconsistent, empty if not supported
+     */
+    default Set<Set<OWLAxiom>> getInconsistencyExplanations(OWLReasoner reasoner, int max) {
+        return Collections.emptySet();
+    }
+}
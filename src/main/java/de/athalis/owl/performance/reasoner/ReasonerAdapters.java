@@ -0,0 +1,56 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance.reasoner;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.semanticweb.owlapi.reasoner.OWLReasonerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Looks up {@link ReasonerAdapter}s by name.
+ */
+public class ReasonerAdapters {
+    private static final Logger logger = LoggerFactory.getLogger(ReasonerAdapters.class);
+
+    private static final Map<String, ReasonerAdapter> adapters = new ConcurrentHashMap<>();
+
+    /**
+     * @param name the name of a {@link ReasonerAdapter} registered for the {@link ServiceLoader},
+     *             or the fully qualified class name of an {@link OWLReasonerFactory} or {@link ReasonerAdapter} with public no-arg constructor
+     * @throws IllegalArgumentException if no such reasoner is available
+     */
+    public static ReasonerAdapter get(String name) {
+        return adapters.computeIfAbsent(name, ReasonerAdapters::lookup);
+    }
+
+    private static ReasonerAdapter lookup(String name) {
+        for (ReasonerAdapter adapter : ServiceLoader.load(ReasonerAdapter.class)) {
+            if (adapter.getName().equals(name)) {
+                logger.debug("found reasoner adapter for '" + name + "': " + adapter);
+                return adapter;
+            }
+        }
+
+        try {
+            Object instance = Class.forName(name).getConstructor().newInstance();
+
+            if (instance instanceof ReasonerAdapter) {
+                return (ReasonerAdapter) instance;
+            }
+            if (instance instanceof OWLReasonerFactory) {
+                logger.debug("using reasoner factory for '" + name + "'");
+                return new OWLReasonerFactoryAdapter(name, (OWLReasonerFactory) instance);
+            }
+        }
+        catch (ClassNotFoundException ex) {
+            // not a class name
+        }
+        catch (ReflectiveOperationException ex) {
+            throw new IllegalArgumentException("unable to instantiate reasoner: " + name, ex);
+        }
+
+        throw new IllegalArgumentException("unknown reasoner: " + name);
+    }
+}
@@ -0,0 +1,16 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance.reasoner;
+
+import org.semanticweb.owlapi.reasoner.structural.StructuralReasonerFactory;
+
+/**
+ * OWLAPI's structural reasoner, i.e. only told subsumptions. Useful as a baseline.
+ */
+public class StructuralReasonerAdapter extends OWLReasonerFactoryAdapter {
+
+    public static final String NAME = "structural";
+
+    public StructuralReasonerAdapter() {
+        super(NAME, new StructuralReasonerFactory());
+    }
+}
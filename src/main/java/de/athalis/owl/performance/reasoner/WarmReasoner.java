@@ -0,0 +1,27 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance.reasoner;
+
+import org.semanticweb.owlapi.reasoner.InferenceType;
+
+/**
+ * A reasoner whose knowledge base is translated from the ontology once and then reused for several classifications,
+ * see {@link ReasonerAdapter#createWarmReasoner}. Only the derived state is discarded by {@link #reset()}.
+ */
+public interface WarmReasoner {
+
+    /**
+     * Discards the derived state, e.g. the consistency and the class hierarchy, but keeps the translated knowledge base.
+     */
+    void reset();
+
+    boolean isConsistent();
+
+    void precomputeInferences(InferenceType inferenceType);
+
+    /**
+     * Interrupts a running consistency check or classification, called from another thread.
+     */
+    void interrupt();
+
+    void dispose();
+}
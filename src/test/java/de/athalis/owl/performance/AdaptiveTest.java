@@ -0,0 +1,64 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.AdaptiveSettings;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveTest {
+
+    private static BenchmarkResult run(AdaptiveSettings settings) throws IOException, URISyntaxException {
+        List<BenchmarkResult> results = ExampleConfig.runSingleCase(1, testCase -> {
+            testCase.setWarmups(0);
+            testCase.setRuns(0);
+            testCase.setAdaptive(settings);
+        });
+
+        assertEquals(1, results.size());
+        BenchmarkResult result = results.get(0);
+        assertEquals(BenchmarkResult.Outcome.PASSED, result.getOutcome());
+        return result;
+    }
+
+    @Test
+    public void testStable() throws IOException, URISyntaxException {
+        AdaptiveSettings settings = new AdaptiveSettings();
+        settings.setWarmupCv(1000.0);
+        settings.setCiWidth(1000.0);
+
+        BenchmarkResult result = run(settings);
+
+        // the window of warmups and the minimum of 2 runs
+        assertEquals(3L, result.getWarmups());
+        assertEquals(2L, result.getRuns());
+    }
+
+    @Test
+    public void testMaxRuns() throws IOException, URISyntaxException {
+        AdaptiveSettings settings = new AdaptiveSettings();
+        settings.setMaxWarmups(1);
+        settings.setMaxRuns(4);
+        settings.setCiWidth(1e-9);
+
+        BenchmarkResult result = run(settings);
+
+        assertEquals(1L, result.getWarmups());
+        assertEquals(4L, result.getRuns());
+    }
+
+    @Test
+    public void testCoefficientOfVariation() {
+        assertEquals(0, AdaptiveStopping.coefficientOfVariation(List.of(10L, 10L, 10L)), 1e-9);
+        assertTrue(AdaptiveStopping.coefficientOfVariation(List.of(1L, 10L, 100L)) > 1);
+
+        DurationStatistics statistics = new DurationStatistics();
+        statistics.record(100);
+        assertEquals(Double.POSITIVE_INFINITY, AdaptiveStopping.relativeConfidenceIntervalHalfWidth(statistics));
+    }
+}
@@ -0,0 +1,72 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DurationStatisticsTest {
+
+    @Test
+    public void testStatistics() {
+        DurationStatistics statistics = new DurationStatistics();
+
+        for (long i = 1; i <= 100; i++) {
+            statistics.record(i * 1000 * 1000);
+        }
+
+        assertEquals(100, statistics.getCount());
+        assertEquals(5050L * 1000 * 1000, statistics.getSum());
+        assertEquals(1000 * 1000, statistics.getMin());
+        assertEquals(100 * 1000 * 1000, statistics.getMax());
+        assertEquals(50.5e6, statistics.getMean(), 1);
+
+        // 3 significant digits
+        assertEquals(50e6, statistics.getPercentile(50), 100e3);
+        assertEquals(90e6, statistics.getPercentile(90), 180e3);
+
+        // sample standard deviation of 1..100 is 29.01
+        assertEquals(29.01e6, statistics.getStandardDeviation(), 0.01e6);
+
+        double ci = statistics.getConfidenceIntervalHalfWidth(0.95);
+        assertTrue(ci > 5.7e6 && ci < 5.8e6);
+    }
+
+    @Test
+    public void testAdd() {
+        DurationStatistics a = new DurationStatistics();
+        DurationStatistics b = new DurationStatistics();
+        DurationStatistics all = new DurationStatistics();
+
+        for (long i = 1; i <= 10; i++) {
+            a.record(i);
+            all.record(i);
+        }
+        for (long i = 100; i <= 120; i++) {
+            b.record(i);
+            all.record(i);
+        }
+
+        a.add(b);
+
+        assertEquals(all.getCount(), a.getCount());
+        assertEquals(all.getSum(), a.getSum());
+        assertEquals(all.getMin(), a.getMin());
+        assertEquals(all.getMax(), a.getMax());
+        assertEquals(all.getMean(), a.getMean(), 1e-9);
+        assertEquals(all.getStandardDeviation(), a.getStandardDeviation(), 1e-9);
+    }
+
+    @Test
+    public void testEmpty() {
+        DurationStatistics statistics = new DurationStatistics();
+
+        assertEquals(0, statistics.getCount());
+        assertTrue(Double.isNaN(statistics.getConfidenceIntervalHalfWidth(0.95)));
+
+        StageSummary summary = new StageSummary();
+        summary.setDistribution(statistics);
+        assertNull(summary.min);
+        assertNull(summary.confidenceLow);
+    }
+}
@@ -0,0 +1,69 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.OWLBenchmarkTestCase;
+import de.athalis.owl.performance.config.YamlConfigFile;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * The configuration "example-01" of the test resources, for the tests that run its cases.
+ */
+final class ExampleConfig {
+
+    private ExampleConfig() {
+    }
+
+    /**
+     * @return the location of the configuration, e.g. for a forked run or to copy the example
+     */
+    static URL url() {
+        URL exampleConfigURL = ExampleConfig.class.getClassLoader().getResource("example-01/config.yaml");
+        assertNotNull(exampleConfigURL);
+
+        return exampleConfigURL;
+    }
+
+    static YamlConfigFile read() throws IOException, URISyntaxException {
+        return YamlConfigFile.readYaml(url());
+    }
+
+    /**
+     * @param index of the case in the example, e.g. 1 for the case "base" with the data of the pizza tutorial
+     * @param customize changes the case, e.g. its type or its number of warmups and runs
+     * @return the example with only the customized case
+     */
+    static YamlConfigFile singleCase(int index, Consumer<OWLBenchmarkTestCase> customize) throws IOException, URISyntaxException {
+        YamlConfigFile exampleConfig = read();
+
+        OWLBenchmarkTestCase testCase = exampleConfig.getCases().get(index);
+        customize.accept(testCase);
+        exampleConfig.setCases(List.of(testCase));
+
+        return exampleConfig;
+    }
+
+    /**
+     * Loads the data and runs all cases of the configuration.
+     */
+    static List<BenchmarkResult> run(YamlConfigFile config) {
+        OwlAPIBenchmark owlAPIBenchmark = new OwlAPIBenchmark(config);
+        owlAPIBenchmark.init();
+        owlAPIBenchmark.runTestCases();
+
+        return owlAPIBenchmark.results.asList();
+    }
+
+    /**
+     * @see #singleCase(int, Consumer)
+     */
+    static List<BenchmarkResult> runSingleCase(int index, Consumer<OWLBenchmarkTestCase> customize) throws IOException, URISyntaxException {
+        return run(singleCase(index, customize));
+    }
+}
@@ -0,0 +1,59 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.OWLBenchmarkTestCase;
+import de.athalis.owl.performance.config.YamlConfigFile;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecordingTest {
+
+    @TempDir
+    File tempDir;
+
+    @Test
+    public void testRecording() throws IOException, URISyntaxException {
+        YamlConfigFile exampleConfig = ExampleConfig.singleCase(1, testCase -> {
+            testCase.setWarmups(1);
+            testCase.setRuns(2);
+        });
+        exampleConfig.setJfrDirectory(tempDir.getPath());
+
+        OWLBenchmarkTestCase testCase = exampleConfig.getCases().get(0);
+
+        // like in a child JVM of the fork engine, i.e. including the load
+        OwlAPIBenchmark owlAPIBenchmark = new OwlAPIBenchmark(exampleConfig);
+        owlAPIBenchmark.runTestCase(testCase);
+
+        assertEquals(BenchmarkResult.Outcome.PASSED, owlAPIBenchmark.results.get(0).getOutcome());
+
+        File file = new File(tempDir, Util.fileName(testCase.getName()) + ".jfr");
+        assertTrue(file.exists());
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file.toPath()).stream()
+                .filter(e -> e.getEventType().getName().equals("de.athalis.owl.performance.Reasoning"))
+                .collect(Collectors.toList());
+
+        assertEquals(1, events.stream().filter(e -> "load".equals(e.getString("phase"))).count());
+        // creation, consistency and one classification for each inference type
+        assertEquals(3, events.stream().filter(e -> "warmup".equals(e.getString("stage"))).count());
+        assertEquals(6, events.stream().filter(e -> "run".equals(e.getString("stage"))).count());
+
+        for (RecordedEvent event : events) {
+            assertEquals(testCase.getName(), event.getString("caseName"));
+        }
+        assertTrue(events.stream().anyMatch(e -> "run".equals(e.getString("stage")) && e.getInt("index") == 2));
+    }
+}
@@ -0,0 +1,84 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.YamlConfigFile;
+
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.LoaderOptions;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ForkedTest {
+
+    private static ForkedRunner run(List<String> forkJvmArgs) throws IOException, URISyntaxException {
+        return run(forkJvmArgs, 1);
+    }
+
+    private static ForkedRunner run(List<String> forkJvmArgs, int forkConcurrency) throws IOException, URISyntaxException {
+        URL exampleConfigURL = ExampleConfig.url();
+
+        LoaderOptions loadingConfig = new LoaderOptions();
+        YamlConfigFile exampleConfig = YamlConfigFile.readYaml(exampleConfigURL, loadingConfig);
+        exampleConfig.setForkJvmArgs(forkJvmArgs);
+        exampleConfig.setForkTimeout(600);
+        exampleConfig.setForkConcurrency(forkConcurrency);
+        exampleConfig.setForkHeapBudget(512);
+
+        ForkedRunner forkedRunner = new ForkedRunner(exampleConfig, exampleConfigURL, loadingConfig.getMaxAliasesForCollections());
+        forkedRunner.runTestCases();
+
+        return forkedRunner;
+    }
+
+    @Test
+    public void testForked() throws IOException, URISyntaxException {
+        ForkedRunner forkedRunner = run(List.of("-Xmx512m"));
+
+        assertEquals(4, forkedRunner.results.size());
+
+        assertEquals(BenchmarkResult.Outcome.IGNORED, forkedRunner.results.get(0).getOutcome());
+        for (BenchmarkResult result : forkedRunner.results.asList().subList(1, 4)) {
+            assertEquals(BenchmarkResult.Outcome.PASSED, result.getOutcome());
+        }
+        for (BenchmarkResult result : forkedRunner.results) {
+            assertEquals(1, result.getConcurrency());
+        }
+    }
+
+    @Test
+    public void testConcurrent() throws IOException, URISyntaxException {
+        ForkedRunner forkedRunner = run(List.of(), 2);
+
+        assertEquals(4, forkedRunner.results.size());
+
+        // in the order of completion
+        long passed = 0;
+        boolean concurrent = false;
+        for (BenchmarkResult result : forkedRunner.results) {
+            if (result.getOutcome() == BenchmarkResult.Outcome.PASSED) {
+                passed++;
+            }
+            assertTrue(result.getConcurrency() >= 1 && result.getConcurrency() <= 2);
+            concurrent |= result.getConcurrency() == 2;
+        }
+        assertEquals(3, passed);
+        assertTrue(concurrent);
+    }
+
+    @Test
+    public void testCrash() throws IOException, URISyntaxException {
+        // the child JVM does not start
+        ForkedRunner forkedRunner = run(List.of("-XX:+ThisOptionDoesNotExist"));
+
+        assertEquals(4, forkedRunner.results.size());
+
+        for (BenchmarkResult result : forkedRunner.results) {
+            assertEquals(BenchmarkResult.Outcome.FAILED, result.getOutcome());
+        }
+    }
+}
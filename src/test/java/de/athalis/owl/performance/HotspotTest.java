@@ -0,0 +1,53 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.OWLBenchmarkTestCase;
+import de.athalis.owl.performance.config.YamlConfigFile;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.parameters.Imports;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotspotTest {
+
+    @Test
+    public void testSplit() {
+        BitSet set = new BitSet();
+        set.set(2, 9);
+
+        List<BitSet> parts = HotspotFinder.split(set, 3);
+
+        assertEquals(3, parts.size());
+        assertEquals(3, parts.get(0).cardinality());
+        assertEquals(2, parts.get(1).cardinality());
+        assertEquals(2, parts.get(2).cardinality());
+        assertEquals(2, parts.get(0).nextSetBit(0));
+        assertEquals(8, parts.get(2).previousSetBit(100));
+    }
+
+    @Test
+    public void testFindHotspots() throws Exception {
+        YamlConfigFile exampleConfig = ExampleConfig.read();
+        OWLBenchmarkTestCase testCase = exampleConfig.getCases().get(2);
+
+        OwlAPIBenchmark.initReasoners(List.of(testCase));
+        OWLOntology ont = new OwlAPIBenchmark(exampleConfig).createMergedModel(testCase);
+
+        // every subset is slow enough, i.e. the search always continues with the first half
+        HotspotFinder.Result result = new HotspotFinder(testCase, ont, 0, 1, 2).run();
+
+        assertEquals(1, result.costs.size());
+        OWLAxiom first = ont.logicalAxioms(Imports.INCLUDED).sorted().findFirst().orElseThrow();
+        assertTrue(result.costs.containsKey(first));
+
+        assertTrue(result.fullDuration > 0);
+        assertTrue(result.tests > 1);
+        assertEquals(1, result.toLines().size());
+    }
+}
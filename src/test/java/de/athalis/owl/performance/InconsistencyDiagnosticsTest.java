@@ -0,0 +1,111 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.reasoner.ReasonerAdapter;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.semanticweb.owlapi.reasoner.OWLReasonerConfiguration;
+
+import java.lang.reflect.Proxy;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InconsistencyDiagnosticsTest {
+
+    /**
+     * Counts the explanations, which block until the reasoner is interrupted if {@code blocking}.
+     */
+    private static class ExplainingReasonerAdapter implements ReasonerAdapter {
+
+        private final boolean blocking;
+
+        private final AtomicInteger explanations = new AtomicInteger();
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+        private final AtomicBoolean stopped = new AtomicBoolean();
+
+        ExplainingReasonerAdapter(boolean blocking) {
+            this.blocking = blocking;
+        }
+
+        @Override
+        public String getName() {
+            return "explaining";
+        }
+
+        @Override
+        public OWLReasoner createReasoner(OWLOntology ont, OWLReasonerConfiguration config) {
+            return (OWLReasoner) Proxy.newProxyInstance(OWLReasoner.class.getClassLoader(), new Class<?>[] {OWLReasoner.class}, (proxy, method, args) -> {
+                if ("interrupt".equals(method.getName())) {
+                    interrupted.countDown();
+                }
+                return null;
+            });
+        }
+
+        @Override
+        public Set<Set<OWLAxiom>> getInconsistencyExplanations(OWLReasoner reasoner, int max) {
+            explanations.incrementAndGet();
+
+            if (blocking) {
+                // like a reasoner, only stops on its own interruption and not on the one of the thread
+                boolean done = false;
+                while (!done) {
+                    try {
+                        interrupted.await();
+                        done = true;
+                    }
+                    catch (InterruptedException ignored) {
+                    }
+                }
+
+                // still using the reasoner for a moment after the interruption
+                long end = System.nanoTime() + 200_000_000L;
+                while (System.nanoTime() < end) {
+                    Thread.onSpinWait();
+                }
+                stopped.set(true);
+            }
+
+            return Set.of();
+        }
+    }
+
+    private static OWLOntology createOntology() throws OWLOntologyCreationException {
+        return OWLManager.createOWLOntologyManager().createOntology();
+    }
+
+    @Test
+    public void testCached() throws OWLOntologyCreationException {
+        InconsistencyDiagnostics diagnostics = new InconsistencyDiagnostics(2, 0);
+        ExplainingReasonerAdapter adapter = new ExplainingReasonerAdapter(false);
+        OWLOntology ont = createOntology();
+
+        diagnostics.diagnose("case", "case [warmup 1]", ont, adapter, adapter.createReasoner(ont, null));
+        diagnostics.diagnose("case", "case [run 1]", ont, adapter, adapter.createReasoner(ont, null));
+        assertEquals(1, adapter.explanations.get());
+
+        diagnostics.diagnose("other", "other [run 1]", ont, adapter, adapter.createReasoner(ont, null));
+        assertEquals(2, adapter.explanations.get());
+    }
+
+    @Test
+    public void testTimeout() throws OWLOntologyCreationException {
+        InconsistencyDiagnostics diagnostics = new InconsistencyDiagnostics(2, 1);
+        ExplainingReasonerAdapter adapter = new ExplainingReasonerAdapter(true);
+        OWLOntology ont = createOntology();
+
+        diagnostics.diagnose("case", "case [run 1]", ont, adapter, adapter.createReasoner(ont, null));
+
+        // the caller may dispose the reasoner now
+        assertTrue(adapter.stopped.get());
+    }
+}
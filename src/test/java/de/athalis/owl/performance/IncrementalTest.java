@@ -0,0 +1,111 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.IncrementalSettings;
+import de.athalis.owl.performance.config.OWLBenchmarkTestCase;
+import de.athalis.owl.performance.config.YamlConfigFile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalTest {
+
+    private static final String PIZZA_IRI = "http://www.semanticweb.org/pizzatutorial/ontologies/2020/PizzaTutorial";
+
+    @TempDir
+    Path tempDir;
+
+    private static List<BenchmarkResult> run(int caseIndex, IncrementalSettings settings) throws IOException, URISyntaxException {
+        return ExampleConfig.runSingleCase(caseIndex, testCase -> {
+            testCase.setType(OWLBenchmarkTestCase.TYPE_INCREMENTAL);
+            testCase.setIncremental(settings);
+            testCase.setWarmups(1);
+            testCase.setRuns(2);
+        });
+    }
+
+    @Test
+    public void testSample() throws IOException, URISyntaxException {
+        IncrementalSettings settings = new IncrementalSettings();
+        settings.setSample(4);
+        settings.setBatchSize(2);
+
+        List<BenchmarkResult> results = run(1, settings);
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).getCaseName().endsWith("[incremental]"));
+        assertTrue(results.get(1).getCaseName().endsWith("[full]"));
+
+        for (BenchmarkResult result : results) {
+            assertEquals(BenchmarkResult.Outcome.PASSED, result.getOutcome());
+        }
+    }
+
+    @Test
+    public void testDelta() throws IOException, URISyntaxException {
+        YamlConfigFile exampleConfig = ExampleConfig.read();
+
+        IncrementalSettings settings = new IncrementalSettings();
+        // the data for the case "no data"
+        settings.setDelta(exampleConfig.getFiles().get(2));
+        settings.setFullReclassification(false);
+
+        List<BenchmarkResult> results = run(2, settings);
+
+        assertEquals(1, results.size());
+        assertTrue(results.get(0).getCaseName().endsWith("[incremental]"));
+        assertEquals(BenchmarkResult.Outcome.PASSED, results.get(0).getOutcome());
+    }
+
+    @Test
+    public void testDeltaWithSameIRI() throws IOException, URISyntaxException {
+        Path exampleDir = Path.of(ExampleConfig.url().toURI()).getParent();
+        Files.copy(exampleDir.resolve("PizzaTutorialWithDataV2.owl"), tempDir.resolve("PizzaTutorialWithDataV2.owl"));
+
+        // a newer version of the file with data
+        Files.writeString(tempDir.resolve("delta.owl"),
+                "Prefix(:=<" + PIZZA_IRI + "#>)\n" +
+                "Ontology(<" + PIZZA_IRI + ">\n" +
+                "Declaration(NamedIndividual(:DeltaPizza))\n" +
+                "ClassAssertion(:Pizza :DeltaPizza)\n" +
+                ")\n");
+
+        Files.writeString(tempDir.resolve("config.yaml"),
+                "files:\n" +
+                "  - &WithData\n" +
+                "    iri: " + PIZZA_IRI + "\n" +
+                "    path: PizzaTutorialWithDataV2.owl\n" +
+                "  - &Delta\n" +
+                "    iri: " + PIZZA_IRI + "\n" +
+                "    path: delta.owl\n" +
+                "cases:\n" +
+                "  - name: base\n" +
+                "    files: [*WithData]\n" +
+                "    warmups: 1\n" +
+                "    runs: 2\n");
+
+        YamlConfigFile config = YamlConfigFile.readYaml(tempDir.resolve("config.yaml").toUri().toURL());
+
+        IncrementalSettings settings = new IncrementalSettings();
+        settings.setDelta(config.getFiles().get(1));
+        settings.setFullReclassification(false);
+
+        OWLBenchmarkTestCase testCase = config.getCases().get(0);
+        testCase.setType(OWLBenchmarkTestCase.TYPE_INCREMENTAL);
+        testCase.setIncremental(settings);
+
+        List<BenchmarkResult> results = ExampleConfig.run(config);
+
+        assertEquals(1, results.size());
+        assertEquals("base [incremental]", results.get(0).getCaseName());
+        assertEquals(BenchmarkResult.Outcome.PASSED, results.get(0).getOutcome());
+    }
+}
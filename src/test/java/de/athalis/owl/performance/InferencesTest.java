@@ -0,0 +1,36 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InferencesTest {
+
+    @Test
+    public void testInferenceTypes() throws IOException, URISyntaxException {
+        List<InferenceType> inferences = List.of(InferenceType.CLASS_ASSERTIONS, InferenceType.CLASS_HIERARCHY);
+
+        // the case "merged data", as it has individuals in an imported file
+        List<BenchmarkResult> results = ExampleConfig.runSingleCase(3, testCase -> {
+            testCase.setInferences(inferences);
+            testCase.setWarmups(1);
+            testCase.setRuns(2);
+        });
+
+        assertEquals(1, results.size());
+        BenchmarkResult result = results.get(0);
+        assertEquals(BenchmarkResult.Outcome.PASSED, result.getOutcome());
+
+        // one average per type, in the configured order
+        Map<?, ?> averages = (Map<?, ?>) result.getValue(BenchmarkResult.Column.INFERENCES_AVERAGE);
+        assertNotNull(averages);
+        assertEquals(inferences, List.copyOf(averages.keySet()));
+    }
+}
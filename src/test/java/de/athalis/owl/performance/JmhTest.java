@@ -0,0 +1,50 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.OWLBenchmarkTestCase;
+import de.athalis.owl.performance.config.YamlConfigFile;
+
+import org.junit.jupiter.api.Test;
+import org.yaml.snakeyaml.LoaderOptions;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JmhTest {
+
+    @Test
+    public void testJmh() throws IOException, URISyntaxException {
+        YamlConfigFile exampleConfig = ExampleConfig.read();
+        exampleConfig.setJmhForks(0);
+
+        // the benchmark reads the cases from the file by their index, i.e. all cases are kept and only their iterations changed
+        for (OWLBenchmarkTestCase testCase : exampleConfig.getCases()) {
+            if (testCase.getRuns() > 0) {
+                testCase.setWarmups(0);
+                testCase.setRuns(1);
+            }
+        }
+
+        JmhRunner jmhRunner = new JmhRunner(exampleConfig, ExampleConfig.url(), new LoaderOptions().getMaxAliasesForCollections());
+        jmhRunner.runTestCases();
+
+        assertEquals(4, jmhRunner.results.size());
+        assertEquals(BenchmarkResult.Outcome.IGNORED, jmhRunner.results.get(0).getOutcome());
+
+        // the case "base" with the data of the pizza tutorial
+        BenchmarkResult result = BenchmarkResult.parse(jmhRunner.results.get(1).toString());
+        assertEquals("base", result.getCaseName());
+        assertEquals(BenchmarkResult.Outcome.PASSED, result.getOutcome());
+        assertEquals(1L, result.getRuns());
+        assertNotNull(result.getAverage());
+
+        List<BenchmarkResult> defaultResults = ExampleConfig.runSingleCase(1, testCase -> {
+            testCase.setWarmups(0);
+            testCase.setRuns(1);
+        });
+        assertEquals(defaultResults.get(0).getColumns().size(), result.getColumns().size());
+    }
+}
@@ -0,0 +1,37 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.YamlConfigFile;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoryTest {
+
+    @Test
+    public void testForceGC() throws IOException, URISyntaxException {
+        YamlConfigFile exampleConfig = ExampleConfig.singleCase(1, testCase -> {
+            testCase.setWarmups(1);
+            testCase.setRuns(2);
+        });
+        exampleConfig.setForceGC(true);
+
+        List<BenchmarkResult> results = ExampleConfig.run(exampleConfig);
+
+        assertEquals(1, results.size());
+
+        List<String> header = Arrays.asList(OwlAPIBenchmark.RESULT_HEADER.split("\t"));
+        String[] columns = results.get(0).toString().split("\t");
+        assertEquals(header.size(), columns.length);
+
+        assertEquals("passed", columns[header.indexOf("result")]);
+        assertTrue(Long.parseLong(columns[header.indexOf("peak_heap_max_bytes")]) > 0);
+        assertTrue(Long.parseLong(columns[header.indexOf("retained_avg_bytes")]) >= 0);
+    }
+}
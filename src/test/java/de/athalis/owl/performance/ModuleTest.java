@@ -0,0 +1,94 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.ModuleSettings;
+import de.athalis.owl.performance.config.OWLBenchmarkTestCase;
+import de.athalis.owl.performance.config.YamlConfigFile;
+import de.athalis.owl.performance.reasoner.ReasonerAdapter;
+import de.athalis.owl.performance.reasoner.ReasonerAdapters;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.parameters.Imports;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModuleTest {
+
+    private static final String PIZZA = "http://www.semanticweb.org/pizzatutorial/ontologies/2020/PizzaTutorial#";
+
+    private static void moduleCase(OWLBenchmarkTestCase testCase) {
+        ModuleSettings settings = new ModuleSettings();
+        settings.setSignature(List.of(PIZZA + "MargheritaPizza", PIZZA + "SpicyPizza"));
+
+        testCase.setModule(settings);
+        testCase.setWarmups(1);
+        testCase.setRuns(2);
+    }
+
+    @Test
+    public void testModule() throws IOException, URISyntaxException {
+        // the case "base" with the data of the pizza tutorial
+        List<BenchmarkResult> results = ExampleConfig.runSingleCase(1, ModuleTest::moduleCase);
+
+        assertEquals(2, results.size());
+
+        Iterator<BenchmarkResult> it = results.iterator();
+
+        BenchmarkResult extraction = it.next();
+        assertEquals("base [module extraction]", extraction.getCaseName());
+        assertEquals(BenchmarkResult.Outcome.PASSED, extraction.getOutcome());
+        assertEquals(1L, extraction.getRuns());
+
+        BenchmarkResult module = it.next();
+        assertEquals("base [module]", module.getCaseName());
+        assertEquals(BenchmarkResult.Outcome.PASSED, module.getOutcome());
+        assertEquals(2L, module.getRuns());
+    }
+
+    @Test
+    public void testExtraction() throws Exception {
+        YamlConfigFile exampleConfig = ExampleConfig.singleCase(1, ModuleTest::moduleCase);
+        OWLBenchmarkTestCase testCase = exampleConfig.getCases().get(0);
+
+        OwlAPIBenchmark owlAPIBenchmark = new OwlAPIBenchmark(exampleConfig);
+        OWLOntology ont = owlAPIBenchmark.createMergedModel(testCase);
+
+        ModuleExtraction extraction = ModuleExtraction.extract(ont, testCase.getModule());
+        OWLOntology module = extraction.getModule();
+        assertTrue(module.getAxiomCount() > 0);
+        assertTrue(module.getAxiomCount() < ont.getAxiomCount(Imports.INCLUDED));
+
+        ReasonerAdapter reasonerAdapter = ReasonerAdapters.get(testCase.getReasoner());
+        OWLReasoner merged = reasonerAdapter.createReasoner(ont, owlAPIBenchmark.getReasonerConfig(testCase));
+        OWLReasoner moduleReasoner = reasonerAdapter.createReasoner(module, owlAPIBenchmark.getReasonerConfig(testCase));
+        try {
+            merged.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+            moduleReasoner.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+            assertEquals(List.of(), extraction.verify(merged, moduleReasoner));
+        }
+        finally {
+            merged.dispose();
+            moduleReasoner.dispose();
+        }
+    }
+
+    @Test
+    public void testUnknownSignature() throws Exception {
+        YamlConfigFile exampleConfig = ExampleConfig.singleCase(1, ModuleTest::moduleCase);
+        OWLBenchmarkTestCase testCase = exampleConfig.getCases().get(0);
+        testCase.getModule().setSignature(List.of(PIZZA + "Calzone"));
+
+        OwlAPIBenchmark owlAPIBenchmark = new OwlAPIBenchmark(exampleConfig);
+        OWLOntology ont = owlAPIBenchmark.createMergedModel(testCase);
+
+        assertThrows(IllegalArgumentException.class, () -> ModuleExtraction.extract(ont, testCase.getModule()));
+    }
+}
@@ -3,7 +3,6 @@ package de.athalis.owl.performance;
 
 import de.athalis.owl.performance.config.OWLBenchmarkTestCase;
 import de.athalis.owl.performance.config.YamlConfigFile;
-import de.athalis.owl.performance.config.YamlConfigFileTest;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -16,7 +15,6 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
-import java.net.URL;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,12 +26,9 @@ class OWLApiTest {
     private final static OwlAPIBenchmark owlAPIBenchmark;
 
     static {
-        URL exampleConfigURL = YamlConfigFileTest.class.getClassLoader().getResource("example-01/config.yaml");
-        assertNotNull(exampleConfigURL);
-
         YamlConfigFile exampleConfig = null;
         try {
-            exampleConfig = YamlConfigFile.readYaml(exampleConfigURL);
+            exampleConfig = ExampleConfig.read();
         }
         catch (IOException | URISyntaxException e) {
             e.printStackTrace();
@@ -55,17 +50,17 @@ class OWLApiTest {
     @AfterAll
     public static void printResults() {
         System.out.println("Results:");
-        System.out.println("case\twarmupDuration_ms\trunDuration_ms\tavg_ms\tresult\twarmups\truns");
+        System.out.println(OwlAPIBenchmark.RESULT_HEADER);
         owlAPIBenchmark.results.forEach(System.out::println);
 
         assertEquals(4, owlAPIBenchmark.results.size());
 
-        for (String resultLine : owlAPIBenchmark.results) {
-            if (resultLine.startsWith("warmup")) {
-                assertTrue(resultLine.contains("ignored"));
+        for (BenchmarkResult result : owlAPIBenchmark.results) {
+            if (result.getCaseName().startsWith("warmup")) {
+                assertEquals(BenchmarkResult.Outcome.IGNORED, result.getOutcome());
             }
             else {
-                assertTrue(resultLine.contains("passed"));
+                assertEquals(BenchmarkResult.Outcome.PASSED, result.getOutcome());
             }
         }
     }
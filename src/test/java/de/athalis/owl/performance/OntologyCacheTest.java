@@ -0,0 +1,117 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.OWLBenchmarkTestCase;
+import de.athalis.owl.performance.config.OWLFile;
+import de.athalis.owl.performance.config.YamlConfigFile;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.*;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OntologyCacheTest {
+
+    @Test
+    public void testSharedFile() throws IOException, URISyntaxException, OWLOntologyCreationException {
+        YamlConfigFile exampleConfig = ExampleConfig.read();
+
+        // both list the file without data first
+        OWLBenchmarkTestCase noData = exampleConfig.getCases().get(2);
+        OWLBenchmarkTestCase mergedData = exampleConfig.getCases().get(3);
+        assertEquals(noData.getFiles().get(0), mergedData.getFiles().get(0));
+
+        OntologyCache cache = new OntologyCache(4);
+
+        OWLOntologyManager first = OwlAPIHelper.createPreloadedManager(noData, cache);
+        assertEquals(0, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        OWLOntologyManager second = OwlAPIHelper.createPreloadedManager(mergedData, cache);
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+
+        // each case gets its own copy
+        IRI iri = IRI.create(noData.getFiles().get(0).getIri());
+        OWLOntology firstCopy = first.getOntology(iri);
+        OWLOntology secondCopy = second.getOntology(iri);
+        assertNotNull(firstCopy);
+        assertNotNull(secondCopy);
+        assertNotSame(firstCopy, secondCopy);
+
+        int axiomCount = secondCopy.getAxiomCount();
+        OWLDataFactory df = first.getOWLDataFactory();
+        firstCopy.addAxiom(df.getOWLDeclarationAxiom(df.getOWLClass(IRI.create("urn:test#Changed"))));
+
+        assertEquals(axiomCount, secondCopy.getAxiomCount());
+        assertEquals(axiomCount, OwlAPIHelper.createPreloadedManager(noData, cache).getOntology(iri).getAxiomCount());
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    public void testPrecedingFiles() throws IOException, URISyntaxException, OWLOntologyCreationException {
+        List<OWLFile> files = ExampleConfig.read().getFiles();
+        OWLFile withData = files.get(0);
+        OWLFile withoutData = files.get(1);
+
+        OntologyCache cache = new OntologyCache(4);
+
+        OWLOntology alone = cache.get("alone", withoutData, List.of(), List.of());
+        OWLOntology preceding = cache.get("preceding", withData, List.of(), List.of());
+
+        // imports of the file would be resolved against the file before it
+        OWLOntology after = cache.get("after", withoutData, List.of(withData), List.of(preceding));
+        assertNotSame(alone, after);
+        assertEquals(3, cache.getMisses());
+
+        assertSame(after, cache.get("after", withoutData, List.of(withData), List.of(preceding)));
+        assertSame(alone, cache.get("alone", withoutData, List.of(), List.of()));
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    public void testEviction() throws IOException, URISyntaxException, OWLOntologyCreationException {
+        List<OWLFile> files = ExampleConfig.read().getFiles();
+        OWLFile a = files.get(0);
+        OWLFile b = files.get(1);
+
+        OntologyCache cache = new OntologyCache(1);
+
+        OWLOntology first = cache.get("a", a, List.of(), List.of());
+        cache.get("b", b, List.of(), List.of());
+        assertEquals(1, cache.getEvictions());
+
+        assertNotSame(first, cache.get("a", a, List.of(), List.of()));
+        assertEquals(0, cache.getHits());
+        assertEquals(3, cache.getMisses());
+        assertEquals(2, cache.getEvictions());
+    }
+
+    @Test
+    public void testLeastRecentlyUsed() throws IOException, URISyntaxException, OWLOntologyCreationException {
+        List<OWLFile> files = ExampleConfig.read().getFiles();
+        OWLFile a = files.get(0);
+        OWLFile b = files.get(1);
+
+        OntologyCache cache = new OntologyCache(2);
+
+        OWLOntology cachedA = cache.get("a", a, List.of(), List.of());
+        cache.get("b", b, List.of(), List.of());
+
+        // a is used more recently than b, i.e. b is evicted
+        assertSame(cachedA, cache.get("a", a, List.of(), List.of()));
+        // another entry, as the same file is listed after a
+        cache.get("c", b, List.of(a), List.of(cachedA));
+        assertEquals(1, cache.getEvictions());
+
+        assertSame(cachedA, cache.get("a", a, List.of(), List.of()));
+        assertEquals(2, cache.getHits());
+
+        cache.get("b", b, List.of(), List.of());
+        assertEquals(4, cache.getMisses());
+    }
+}
@@ -0,0 +1,88 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.OWLBenchmarkTestCase;
+import de.athalis.owl.performance.config.OWLFile;
+import de.athalis.owl.performance.config.YamlConfigFile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+import org.semanticweb.owlapi.model.OWLOntologyManager;
+
+import java.io.*;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OntologySnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testSnapshot() throws IOException, URISyntaxException, OWLOntologyCreationException {
+        // do not write snapshots next to the test resources
+        Path exampleDir = Path.of(ExampleConfig.url().toURI()).getParent();
+        try (var paths = Files.list(exampleDir)) {
+            for (Path p : (Iterable<Path>) paths::iterator) {
+                Files.copy(p, tempDir.resolve(p.getFileName()));
+            }
+        }
+
+        YamlConfigFile config = YamlConfigFile.readYaml(tempDir.resolve("config.yaml").toUri().toURL());
+
+        OntologySnapshot.writeSnapshots(config.getFiles());
+
+        for (OWLFile f : config.getFiles()) {
+            assertTrue(OntologySnapshot.getSnapshotFile(f).isFile());
+        }
+
+        // "merged data" imports a preceding file
+        OWLBenchmarkTestCase testCase = config.getCases().get(3);
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        for (OWLFile f : testCase.getFiles()) {
+            OWLOntology parsed = OwlAPIHelper.parseOntology(OWLManager.createOWLOntologyManager(), testCase.getName(), f);
+            OWLOntology snapshot = OntologySnapshot.load(manager, testCase.getName(), f);
+
+            assertNotNull(snapshot);
+            assertEquals(parsed.getOntologyID(), snapshot.getOntologyID());
+            assertEquals(parsed.getAxiomCount(), snapshot.getAxiomCount());
+            assertEquals(parsed.axioms().collect(Collectors.toSet()), snapshot.axioms().collect(Collectors.toSet()));
+            assertEquals(parsed.importsDeclarations().count(), snapshot.importsDeclarations().count());
+        }
+
+        // a malformed body fails and the file is parsed instead
+        OWLFile planted = config.getFiles().get(1);
+        File plantedFile = OntologySnapshot.getSnapshotFile(planted);
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(plantedFile))) {
+            out.writeInt(0x4f574c53);
+            out.writeInt(2);
+            SnapshotCodec.writeString(out, OntologySnapshot.hash(planted));
+
+            // an empty string table, no ontology ID and no imports, and an annotation that refers to a missing string
+            out.write(new byte[] { 0, 0, 0, 0, 1, 0 });
+        }
+        assertThrows(IOException.class, () -> OntologySnapshot.read(plantedFile, OntologySnapshot.hash(planted)));
+        assertNull(OntologySnapshot.load(OWLManager.createOWLOntologyManager(), "planted", planted));
+
+        // snapshots of the previous format are ignored
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(plantedFile))) {
+            out.writeInt(0x4f574c53);
+            out.writeInt(1);
+            out.writeUTF(OntologySnapshot.hash(planted));
+        }
+        assertNull(OntologySnapshot.read(plantedFile, OntologySnapshot.hash(planted)));
+
+        // outdated after the source changed
+        OWLFile f = config.getFiles().get(0);
+        Files.writeString(new File(f.getPathURI()).toPath(), "\n", StandardOpenOption.APPEND);
+        assertNull(OntologySnapshot.load(OWLManager.createOWLOntologyManager(), "outdated", f));
+    }
+}
@@ -0,0 +1,40 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.OWLBenchmarkTestCase;
+import de.athalis.owl.performance.config.YamlConfigFile;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelismTest {
+
+    @Test
+    public void testParallelInit() throws IOException, URISyntaxException {
+        YamlConfigFile exampleConfig = ExampleConfig.read();
+        assertEquals(1, exampleConfig.getParallelism());
+        exampleConfig.setParallelism(2);
+
+        OwlAPIBenchmark owlAPIBenchmark = new OwlAPIBenchmark(exampleConfig);
+        owlAPIBenchmark.init();
+
+        // loaded concurrently, but in the order of the cases
+        assertEquals(exampleConfig.getCases(), new ArrayList<>(owlAPIBenchmark.testData.keySet()));
+        for (OWLBenchmarkTestCase testCase : exampleConfig.getCases()) {
+            assertNotNull(owlAPIBenchmark.testData.get(testCase));
+        }
+
+        owlAPIBenchmark.runTestCases();
+
+        assertEquals(4, owlAPIBenchmark.results.size());
+
+        for (BenchmarkResult result : owlAPIBenchmark.results) {
+            assertNotEquals(BenchmarkResult.Outcome.FAILED, result.getOutcome());
+        }
+    }
+}
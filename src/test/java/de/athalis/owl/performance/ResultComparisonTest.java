@@ -0,0 +1,143 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.ResultFile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.yaml.snakeyaml.constructor.ConstructorException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultComparisonTest {
+
+    @TempDir
+    File tempDir;
+
+    private static BenchmarkResult passed(String name, long avg) {
+        return new BenchmarkResult(name, "openllet", BenchmarkResult.Outcome.PASSED, avg, avg * 10, avg, 1L, 10L, new StageSummary(), null);
+    }
+
+    private File write(String fileName, String format, List<BenchmarkResult> list) throws IOException {
+        File file = new File(tempDir, fileName);
+
+        ResultFile resultFile = new ResultFile();
+        resultFile.setFormat(format);
+        resultFile.setPath(file.getPath());
+
+        Results results = new Results();
+        results.openSinks(List.of(resultFile));
+        list.forEach(results::add);
+        results.close();
+
+        return file;
+    }
+
+    private File writeSamples(String directoryName, String caseName, long base) throws IOException {
+        File directory = new File(tempDir, directoryName);
+
+        try (SampleWriter sampleWriter = new SampleWriter(directory, caseName)) {
+            for (int i = 1; i <= 10; i++) {
+                sampleWriter.write("run", i, ReasoningMeasurement.Phase.CLASSIFICATION.getLabel(), base + i);
+            }
+        }
+
+        return directory;
+    }
+
+    @Test
+    public void testCompare() throws IOException {
+        File baseline = write("baseline.jsonl", ResultFile.FORMAT_JSONL, List.of(passed("same", 100), passed("slow", 100), passed("fast", 100), passed("gone", 100)));
+        File current = write("current.csv", ResultFile.FORMAT_CSV, List.of(passed("same", 100), passed("slow", 150), passed("fast", 50), BenchmarkResult.failed("added", "openllet")));
+
+        List<ResultComparison.Row> rows = new ResultComparison(10, 0.05).compare(baseline, current, null, null);
+        rows.forEach(System.out::println);
+
+        assertEquals(5, rows.size());
+        assertEquals(ResultComparison.Verdict.UNCHANGED, rows.get(0).getVerdict());
+        // without samples, the slowdown is not known to be significant
+        assertEquals(ResultComparison.Verdict.SLOWER, rows.get(1).getVerdict());
+        assertEquals(ResultComparison.Verdict.FASTER, rows.get(2).getVerdict());
+        assertEquals(ResultComparison.Verdict.NEW, rows.get(3).getVerdict());
+        assertEquals(ResultComparison.Verdict.MISSING, rows.get(4).getVerdict());
+        assertFalse(ResultComparison.hasRegression(rows));
+    }
+
+    @Test
+    public void testFailure() throws IOException {
+        File baseline = write("baseline.jsonl", ResultFile.FORMAT_JSONL, List.of(passed("case", 100)));
+        File current = write("current.jsonl", ResultFile.FORMAT_JSONL, List.of(BenchmarkResult.failed("case", "openllet")));
+
+        List<ResultComparison.Row> rows = new ResultComparison(10, 0.05).compare(baseline, current, null, null);
+
+        assertEquals(ResultComparison.Verdict.REGRESSION, rows.get(0).getVerdict());
+    }
+
+    @Test
+    public void testPlantedTag() throws IOException {
+        File planted = new File(tempDir, "planted.jsonl");
+        Files.writeString(planted.toPath(), "!!java.lang.StringBuilder \"planted\"\n");
+
+        assertThrows(ConstructorException.class, () -> ResultComparison.readResults(planted));
+    }
+
+    @Test
+    public void testConcurrency() throws IOException {
+        File baseline = write("baseline.jsonl", ResultFile.FORMAT_JSONL, List.of(passed("isolated", 100), passed("concurrent", 100).withConcurrency(2)));
+        File current = write("current.csv", ResultFile.FORMAT_CSV, List.of(passed("isolated", 150).withConcurrency(4), passed("concurrent", 150).withConcurrency(3)));
+
+        List<ResultComparison.Row> rows = new ResultComparison(10, 0.05).compare(baseline, current, null, null);
+
+        assertEquals(ResultComparison.Verdict.NOT_COMPARABLE, rows.get(0).getVerdict());
+        assertEquals(ResultComparison.Verdict.SLOWER, rows.get(1).getVerdict());
+    }
+
+    @Test
+    public void testSignificance() throws IOException {
+        File baseline = write("baseline.jsonl", ResultFile.FORMAT_JSONL, List.of(passed("case", 100)));
+        File current = write("current.jsonl", ResultFile.FORMAT_JSONL, List.of(passed("case", 150)));
+
+        // overlapping samples: the difference of the averages is not significant
+        File baselineSamples = writeSamples("baseline", "case", 100);
+        File currentSamples = writeSamples("current", "case", 101);
+
+        List<ResultComparison.Row> rows = new ResultComparison(10, 0.05).compare(baseline, current, baselineSamples, currentSamples);
+
+        assertEquals(1, rows.size());
+        assertNotNull(rows.get(0).getPValue());
+        assertEquals(ResultComparison.Verdict.UNCHANGED, rows.get(0).getVerdict());
+
+        // disjoint samples
+        currentSamples = writeSamples("current", "case", 1000);
+        rows = new ResultComparison(10, 0.05).compare(baseline, current, baselineSamples, currentSamples);
+
+        assertTrue(rows.get(0).getPValue() < 0.05);
+        assertEquals(ResultComparison.Verdict.REGRESSION, rows.get(0).getVerdict());
+        assertFalse(ResultComparison.hasRegression(rows.subList(0, 0)));
+    }
+
+    @Test
+    public void testExitCode() throws IOException {
+        File baseline = write("baseline.jsonl", ResultFile.FORMAT_JSONL, List.of(passed("case", 100)));
+        File current = write("current.jsonl", ResultFile.FORMAT_JSONL, List.of(passed("case", 200)));
+
+        Map<String, String> samples = Map.of(
+                "baselineSamples", writeSamples("baseline", "case", 100).getPath(),
+                "currentSamples", writeSamples("current", "case", 200).getPath());
+
+        assertEquals(1, Main.compare(samples, List.of(baseline.getPath(), current.getPath())));
+        assertEquals(0, Main.compare(Map.of(), List.of(baseline.getPath(), current.getPath())));
+        assertEquals(0, Main.compare(Map.of(), List.of(baseline.getPath(), baseline.getPath())));
+
+        // errors must not be mistaken for a regression
+        assertEquals(2, Main.compare(Map.of(), List.of(baseline.getPath())));
+        assertEquals(2, Main.compare(Map.of("threshold", "-1"), List.of(baseline.getPath(), current.getPath())));
+        assertEquals(2, Main.compare(Map.of(), List.of(baseline.getPath(), new File(tempDir, "missing.jsonl").getPath())));
+    }
+}
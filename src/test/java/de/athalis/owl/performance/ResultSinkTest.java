@@ -0,0 +1,145 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.ResultFile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import org.semanticweb.owlapi.reasoner.InferenceType;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultSinkTest {
+
+    @TempDir
+    File tempDir;
+
+    private Results createResults(String format, File file) throws IOException {
+        ResultFile resultFile = new ResultFile();
+        resultFile.setFormat(format);
+        resultFile.setPath(file.getPath());
+
+        Results results = new Results();
+        results.openSinks(List.of(resultFile));
+        return results;
+    }
+
+    private static BenchmarkResult passed() {
+        return new BenchmarkResult("case, \"quoted\"", "openllet", BenchmarkResult.Outcome.PASSED, 10L, 20L, 10L, 1L, 2L, new StageSummary(), null);
+    }
+
+    @Test
+    public void testParse() {
+        BenchmarkResult result = passed();
+        BenchmarkResult parsed = BenchmarkResult.parse(result.toString());
+
+        assertEquals(result.getColumns(), parsed.getColumns());
+        assertEquals(BenchmarkResult.Outcome.PASSED, parsed.getOutcome());
+        assertEquals(20L, parsed.getRunDuration());
+        assertNull(parsed.getThroughput());
+        assertEquals(1, parsed.getConcurrency());
+
+        assertEquals(3, BenchmarkResult.parse(result.withConcurrency(3).toString()).getConcurrency());
+    }
+
+    @Test
+    public void testParseTyped() {
+        BenchmarkResult result = typed();
+        BenchmarkResult parsed = BenchmarkResult.parse(result.toString());
+
+        assertEquals(Map.of(InferenceType.CLASS_HIERARCHY, 7L, InferenceType.CLASS_ASSERTIONS, 3L), parsed.getValue(BenchmarkResult.Column.INFERENCES_AVERAGE));
+        assertEquals(2.5, parsed.getValue(BenchmarkResult.Column.GC_COUNT_AVERAGE));
+        assertEquals(100L, parsed.getThroughput());
+        assertNull(parsed.getTimeExponent());
+
+        BenchmarkResult fit = BenchmarkResult.parse(BenchmarkResult.fit("case [fit]", "openllet", 1.5, null).toString());
+        assertEquals(1.5, fit.getTimeExponent());
+        assertNull(fit.getMemoryExponent());
+        assertNull(fit.getAverage());
+    }
+
+    private static BenchmarkResult typed() {
+        StageSummary statistics = new StageSummary();
+        statistics.inferenceAverages.put(InferenceType.CLASS_HIERARCHY, 7L);
+        statistics.inferenceAverages.put(InferenceType.CLASS_ASSERTIONS, 3L);
+        statistics.gcCountAverage = 2.5;
+
+        return new BenchmarkResult("42", "openllet", BenchmarkResult.Outcome.PASSED, 10L, 20L, 10L, 1L, 2L, statistics, 100L);
+    }
+
+    @Test
+    public void testCsv() throws IOException {
+        File file = new File(tempDir, "results.csv");
+        Results results = createResults(ResultFile.FORMAT_CSV, file);
+
+        results.add(passed());
+
+        // flushed before closing
+        List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        results.close();
+
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("case,reasoner,"));
+        assertTrue(lines.get(1).startsWith("\"case, \"\"quoted\"\"\",openllet,10,20,10,passed,"));
+    }
+
+    @Test
+    public void testJsonLines() throws IOException {
+        File file = new File(tempDir, "results.jsonl");
+        Results results = createResults(ResultFile.FORMAT_JSONL, file);
+
+        results.add(passed());
+        results.add(BenchmarkResult.failed("other", "openllet"));
+        results.close();
+
+        List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"case\":\"case, \\\"quoted\\\"\",\"reasoner\":\"openllet\",\"warmupDuration_ns\":10,"));
+        assertTrue(lines.get(1).contains("\"result\":\"failed\",\"warmups\":null,"));
+    }
+
+    @Test
+    public void testJsonLinesTyped() throws IOException {
+        File file = new File(tempDir, "typed.jsonl");
+        Results results = createResults(ResultFile.FORMAT_JSONL, file);
+
+        results.add(typed());
+        results.close();
+
+        String line = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8).get(0);
+        assertTrue(line.startsWith("{\"case\":\"42\","));
+        assertTrue(line.contains("\"inferences_avg_ns\":{\"CLASS_HIERARCHY\":7,\"CLASS_ASSERTIONS\":3},"));
+        assertTrue(line.contains("\"gc_count_avg\":2.5,"));
+        assertTrue(line.contains("\"throughput_ops_per_s\":100,"));
+
+        BenchmarkResult read = ResultComparison.readResults(file).get(0);
+        assertEquals(typed().getColumns(), read.getColumns());
+    }
+
+    @Test
+    public void testJUnitXml() throws IOException {
+        File file = new File(tempDir, "results.xml");
+        Results results = createResults(ResultFile.FORMAT_JUNIT, file);
+
+        results.add(passed());
+        String partial = Files.readString(file.toPath(), StandardCharsets.UTF_8);
+        assertTrue(partial.endsWith("</testsuite>\n"));
+
+        results.add(BenchmarkResult.failed("other", "openllet"));
+        results.close();
+
+        String xml = Files.readString(file.toPath(), StandardCharsets.UTF_8);
+        assertTrue(xml.endsWith("</testsuite>\n"));
+        assertEquals(2, xml.split("<testcase ").length - 1);
+        assertEquals(1, xml.split("<failure ").length - 1);
+        assertEquals(1, xml.split("</testsuite>").length);
+    }
+}
@@ -0,0 +1,98 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.OWLBenchmarkTestCase;
+import de.athalis.owl.performance.config.ScalingSettings;
+import de.athalis.owl.performance.config.YamlConfigFile;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.model.parameters.Imports;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScalingTest {
+
+    private static YamlConfigFile scalingCase(ScalingSettings settings) throws IOException, URISyntaxException {
+        // the case "base" with the data of the pizza tutorial
+        return ExampleConfig.singleCase(1, testCase -> {
+            testCase.setType(OWLBenchmarkTestCase.TYPE_SCALING);
+            testCase.setScaling(settings);
+            testCase.setWarmups(1);
+            testCase.setRuns(2);
+        });
+    }
+
+    private static Set<OWLAxiom> axioms(OWLOntology ont) {
+        return ont.axioms(Imports.INCLUDED).collect(Collectors.toSet());
+    }
+
+    @Test
+    public void testScaling() throws IOException, URISyntaxException {
+        ScalingSettings settings = new ScalingSettings();
+        settings.setFactors(List.of(3, 1, 2));
+
+        List<BenchmarkResult> results = ExampleConfig.run(scalingCase(settings));
+
+        assertEquals(4, results.size());
+
+        for (int i = 0; i < 3; i++) {
+            BenchmarkResult result = results.get(i);
+            assertEquals("base [x" + (i + 1) + "]", result.getCaseName());
+            assertEquals(BenchmarkResult.Outcome.PASSED, result.getOutcome());
+            assertEquals(2L, result.getRuns());
+            assertNull(result.getTimeExponent());
+        }
+
+        BenchmarkResult fit = results.get(3);
+        assertEquals("base [fit]", fit.getCaseName());
+        assertNotNull(fit.getTimeExponent());
+        assertNull(fit.getAverage());
+    }
+
+    @Test
+    public void testGenerator() throws Exception {
+        ScalingSettings settings = new ScalingSettings();
+        settings.setCrossLinks(0.5);
+        settings.setSeed(42L);
+
+        YamlConfigFile exampleConfig = scalingCase(settings);
+        OWLBenchmarkTestCase testCase = exampleConfig.getCases().get(0);
+
+        OwlAPIBenchmark owlAPIBenchmark = new OwlAPIBenchmark(exampleConfig);
+        OWLOntology ont = owlAPIBenchmark.createMergedModel(testCase);
+
+        Set<OWLAxiom> original = axioms(ont);
+
+        ScalingGenerator generator = new ScalingGenerator(testCase.getName(), ont, settings);
+        int copy = generator.scaleTo(2);
+        assertTrue(copy > 0);
+
+        // incrementally, but the same as at once
+        assertEquals(copy * 3, generator.scaleTo(4));
+        Set<OWLAxiom> scaled = axioms(ont);
+        assertEquals(original.size() + copy * 3, scaled.size());
+
+        generator.restore();
+        assertEquals(original, axioms(ont));
+
+        ScalingGenerator other = new ScalingGenerator(testCase.getName(), ont, settings);
+        other.scaleTo(4);
+        assertEquals(scaled, axioms(ont));
+        other.restore();
+    }
+
+    @Test
+    public void testGrowthExponent() {
+        assertEquals(2.0, ScalingGenerator.growthExponent(List.of(1, 2, 4, 8), List.of(3.0, 12.0, 48.0, 192.0)), 1e-9);
+        assertEquals(1.0, ScalingGenerator.growthExponent(List.of(1, 10), List.of(5.0, 50.0)), 1e-9);
+        assertNull(ScalingGenerator.growthExponent(List.of(1), List.of(5.0)));
+    }
+}
@@ -0,0 +1,37 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.YamlConfigFile;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingTest {
+
+    @Test
+    public void testStreamingWithPrefetch() throws IOException, URISyntaxException {
+        YamlConfigFile exampleConfig = ExampleConfig.read();
+        exampleConfig.setStreaming(true);
+        exampleConfig.setPrefetch(true);
+
+        // cached files would be kept between the cases
+        assertEquals(0, exampleConfig.getCacheSize());
+
+        OwlAPIBenchmark owlAPIBenchmark = new OwlAPIBenchmark(exampleConfig);
+        owlAPIBenchmark.init();
+
+        assertTrue(owlAPIBenchmark.testData.isEmpty());
+
+        owlAPIBenchmark.runTestCases();
+
+        assertEquals(4, owlAPIBenchmark.results.size());
+
+        for (BenchmarkResult result : owlAPIBenchmark.results) {
+            assertNotEquals(BenchmarkResult.Outcome.FAILED, result.getOutcome());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.OWLBenchmarkTestCase;
+import de.athalis.owl.performance.config.ThroughputSettings;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.apibinding.OWLManager;
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.semanticweb.owlapi.reasoner.impl.OWLClassNodeSet;
+import org.semanticweb.owlapi.reasoner.impl.OWLNamedIndividualNodeSet;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThroughputTest {
+
+    @Test
+    public void testThroughput() throws IOException, URISyntaxException {
+        ThroughputSettings settings = new ThroughputSettings();
+        settings.setThreads(List.of(1, 2));
+        settings.setDuration(200);
+        settings.setWarmup(100);
+
+        List<BenchmarkResult> results = ExampleConfig.runSingleCase(1, testCase -> {
+            testCase.setType(OWLBenchmarkTestCase.TYPE_THROUGHPUT);
+            testCase.setThroughput(settings);
+        });
+
+        assertEquals(2, results.size());
+
+        int columns = OwlAPIBenchmark.RESULT_HEADER.split("\t").length;
+        for (BenchmarkResult result : results) {
+            assertEquals(BenchmarkResult.Outcome.PASSED, result.getOutcome());
+            assertEquals(columns, result.getColumns().size());
+        }
+    }
+
+    /**
+     * @param reasoners 1 for a reasoner shared by all threads, otherwise one per thread
+     * @return the highest number of queries that a single reasoner answered at the same time
+     */
+    private static int maxConcurrentQueries(int reasoners) throws Exception {
+        OWLOntologyManager manager = OWLManager.createOWLOntologyManager();
+        OWLDataFactory df = manager.getOWLDataFactory();
+        OWLOntology ont = manager.createOntology();
+        manager.addAxiom(ont, df.getOWLDeclarationAxiom(df.getOWLClass(IRI.create("urn:test#A"))));
+
+        AtomicInteger max = new AtomicInteger();
+
+        List<OWLReasoner> list = new ArrayList<>();
+        for (int i = 0; i < reasoners; i++) {
+            AtomicInteger current = new AtomicInteger();
+
+            list.add((OWLReasoner) Proxy.newProxyInstance(OWLReasoner.class.getClassLoader(), new Class<?>[] {OWLReasoner.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "isEntailmentCheckingSupported":
+                        return false;
+                    case "getSubClasses":
+                    case "getInstances":
+                        max.accumulateAndGet(current.incrementAndGet(), Math::max);
+                        Thread.sleep(1);
+                        current.decrementAndGet();
+                        return method.getName().equals("getSubClasses") ? new OWLClassNodeSet() : new OWLNamedIndividualNodeSet();
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            }));
+        }
+
+        ThroughputSettings settings = new ThroughputSettings();
+        settings.setDuration(100);
+        settings.setWarmup(0);
+
+        ThroughputBenchmark.Result result = new ThroughputBenchmark("test", settings, ont, list).run(4);
+        assertTrue(result.latency.getCount() > 0);
+
+        return max.get();
+    }
+
+    @Test
+    public void testReasonerPerThread() throws Exception {
+        assertEquals(1, maxConcurrentQueries(4));
+        assertTrue(maxConcurrentQueries(1) > 1);
+    }
+}
@@ -0,0 +1,68 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.reasoner.ReasonerAdapter;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.reasoner.OWLReasoner;
+import org.semanticweb.owlapi.reasoner.OWLReasonerConfiguration;
+import org.semanticweb.owlapi.reasoner.ReasonerInterruptedException;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.net.URISyntaxException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeoutTest {
+
+    /**
+     * Its reasoners block in {@link OWLReasoner#isConsistent()} until they are interrupted, i.e. every warmup and run exceeds any timeout.
+     */
+    public static class BlockingReasonerAdapter implements ReasonerAdapter {
+
+        @Override
+        public String getName() {
+            return BlockingReasonerAdapter.class.getName();
+        }
+
+        @Override
+        public OWLReasoner createReasoner(OWLOntology ont, OWLReasonerConfiguration config) {
+            CountDownLatch interrupted = new CountDownLatch(1);
+
+            return (OWLReasoner) Proxy.newProxyInstance(OWLReasoner.class.getClassLoader(), new Class<?>[] {OWLReasoner.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "isConsistent":
+                        interrupted.await();
+                        throw new ReasonerInterruptedException("interrupted");
+                    case "interrupt":
+                        interrupted.countDown();
+                        return null;
+                    case "dispose":
+                        return null;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+        }
+    }
+
+    @Test
+    public void testTimeout() throws IOException, URISyntaxException {
+        List<BenchmarkResult> results = ExampleConfig.runSingleCase(0, testCase -> {
+            testCase.setReasoner(BlockingReasonerAdapter.class.getName());
+            testCase.setTimeout(50);
+        });
+
+        assertEquals(1, results.size());
+
+        BenchmarkResult result = results.get(0);
+        assertEquals(BenchmarkResult.Outcome.TIMEOUT, result.getOutcome());
+        // no completed warmups, but the elapsed time of the one that timed out
+        assertEquals(0L, result.getWarmups());
+        assertTrue(result.getWarmupDuration() >= 50_000_000L);
+    }
+}
@@ -0,0 +1,26 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UtilTest {
+
+    @Test
+    public void testFileName() {
+        assertEquals("base", Util.fileName("base"));
+        assertEquals("pizza-v1.2_x", Util.fileName("pizza-v1.2_x"));
+
+        String withSpace = Util.fileName("a b");
+        String withSlash = Util.fileName("a/b");
+
+        assertTrue(withSpace.matches("a_b-[0-9a-f]{8}"));
+        assertTrue(withSlash.matches("a_b-[0-9a-f]{8}"));
+        assertNotEquals(withSpace, withSlash);
+        assertNotEquals("a_b", withSpace);
+
+        // stable, so that files can be found again by the case name
+        assertEquals(withSpace, Util.fileName("a b"));
+    }
+}
@@ -0,0 +1,150 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance;
+
+import de.athalis.owl.performance.config.YamlConfigFile;
+import de.athalis.owl.performance.reasoner.OpenlletReasonerAdapter;
+import de.athalis.owl.performance.reasoner.StructuralReasonerAdapter;
+import de.athalis.owl.performance.reasoner.WarmReasoner;
+
+import openllet.aterm.ATermAppl;
+import openllet.core.KnowledgeBase;
+import openllet.owlapi.OpenlletReasoner;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.OWLOntology;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+import org.semanticweb.owlapi.reasoner.OWLReasonerConfiguration;
+import org.semanticweb.owlapi.reasoner.SimpleConfiguration;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WarmReasonerTest {
+
+    /**
+     * Rejects the ontology when its knowledge base is constructed, like Openllet an unsupported axiom.
+     */
+    public static class RejectingReasonerAdapter extends StructuralReasonerAdapter {
+
+        @Override
+        public String getName() {
+            return RejectingReasonerAdapter.class.getName();
+        }
+
+        @Override
+        public boolean supportsWarmReuse() {
+            return true;
+        }
+
+        @Override
+        public WarmReasoner createWarmReasoner(OWLOntology ont, OWLReasonerConfiguration config) {
+            throw new IllegalStateException("unsupported axiom");
+        }
+    }
+
+    private static List<BenchmarkResult> run(String reasoner) throws IOException, URISyntaxException {
+        return ExampleConfig.runSingleCase(1, testCase -> {
+            testCase.setWarmups(1);
+            testCase.setRuns(3);
+            testCase.setReuseReasoner(true);
+            if (reasoner != null) {
+                testCase.setReasoner(reasoner);
+            }
+        });
+    }
+
+    @Test
+    public void testReuse() throws IOException, URISyntaxException {
+        List<BenchmarkResult> results = run(null);
+
+        assertEquals(2, results.size());
+
+        BenchmarkResult construction = results.get(0);
+        assertTrue(construction.getCaseName().endsWith("[construction]"));
+        assertEquals(BenchmarkResult.Outcome.PASSED, construction.getOutcome());
+        assertTrue(construction.getAverage() > 0);
+
+        BenchmarkResult warm = results.get(1);
+        assertTrue(warm.getCaseName().endsWith("[warm]"));
+        assertEquals(BenchmarkResult.Outcome.PASSED, warm.getOutcome());
+        assertEquals(3L, warm.getRuns());
+    }
+
+    @Test
+    public void testFallback() throws IOException, URISyntaxException {
+        List<BenchmarkResult> results = run(StructuralReasonerAdapter.NAME);
+
+        assertEquals(1, results.size());
+        assertFalse(results.get(0).getCaseName().endsWith("]"));
+        assertEquals(BenchmarkResult.Outcome.PASSED, results.get(0).getOutcome());
+    }
+
+    @Test
+    public void testConstructionFailure() throws IOException, URISyntaxException {
+        YamlConfigFile exampleConfig = ExampleConfig.read();
+
+        OWLBenchmarkTestCase rejected = exampleConfig.getCases().get(1);
+        rejected.setReuseReasoner(true);
+        rejected.setReasoner(RejectingReasonerAdapter.class.getName());
+
+        OWLBenchmarkTestCase next = exampleConfig.getCases().get(2);
+        next.setWarmups(0);
+        next.setRuns(1);
+
+        exampleConfig.setCases(List.of(rejected, next));
+
+        List<BenchmarkResult> results = ExampleConfig.run(exampleConfig);
+
+        // the following case still runs
+        assertEquals(2, results.size());
+        assertEquals(rejected.getName() + " [construction]", results.get(0).getCaseName());
+        assertEquals(BenchmarkResult.Outcome.FAILED, results.get(0).getOutcome());
+        assertEquals(next.getName(), results.get(1).getCaseName());
+        assertEquals(BenchmarkResult.Outcome.PASSED, results.get(1).getOutcome());
+    }
+
+    @Test
+    public void testResetTaxonomy() throws Exception {
+        YamlConfigFile exampleConfig = ExampleConfig.read();
+        OWLOntology ont = new OwlAPIBenchmark(exampleConfig).createMergedModel(exampleConfig.getCases().get(1));
+
+        OpenlletReasonerAdapter adapter = new OpenlletReasonerAdapter();
+        adapter.init();
+
+        OpenlletReasoner fresh = (OpenlletReasoner) adapter.createReasoner(ont, new SimpleConfiguration());
+        OpenlletReasonerAdapter.OpenlletWarmReasoner warm = (OpenlletReasonerAdapter.OpenlletWarmReasoner) adapter.createWarmReasoner(ont, new SimpleConfiguration());
+
+        try {
+            fresh.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+            KnowledgeBase expected = fresh.getKB();
+            assertFalse(expected.getAllClasses().isEmpty());
+
+            // the second reset must discard the classification of the first
+            for (int i = 0; i < 2; i++) {
+                warm.reset();
+                assertFalse(warm.getKB().isClassified());
+
+                // the TBox and RBox were already prepared during the construction, i.e. each copy classifies with the same preprocessing
+                assertSame(warm.getOriginalKB().getTBox(), warm.getKB().getTBox());
+                assertSame(warm.getOriginalKB().getRBox(), warm.getKB().getRBox());
+
+                assertTrue(warm.isConsistent());
+                warm.precomputeInferences(InferenceType.CLASS_HIERARCHY);
+
+                KnowledgeBase kb = warm.getKB();
+                assertNotSame(expected, kb);
+                assertTrue(kb.isClassified());
+                assertEquals(expected.getAllClasses(), kb.getAllClasses());
+                for (ATermAppl c : expected.getAllClasses()) {
+                    assertEquals(expected.getSubClasses(c, true), kb.getSubClasses(c, true), c.toString());
+                }
+            }
+        }
+        finally {
+            warm.dispose();
+            fresh.dispose();
+        }
+    }
+}
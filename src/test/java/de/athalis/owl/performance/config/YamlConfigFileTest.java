@@ -4,14 +4,22 @@ package de.athalis.owl.performance.config;
 import java.io.*;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.semanticweb.owlapi.reasoner.InferenceType;
+import org.yaml.snakeyaml.error.YAMLException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 public class YamlConfigFileTest {
 
+    @TempDir
+    File tempDir;
+
     @Test
     public void testExample01() throws IOException, URISyntaxException {
         URL exampleConfigURL = YamlConfigFileTest.class.getClassLoader().getResource("example-01/config.yaml");
@@ -34,7 +42,83 @@ public class YamlConfigFileTest {
                 assertNotNull(file.getIri());
                 assertNotNull(file.getPathURI());
             }
+
+            assertNotNull(testCase.getInferences());
+            assertFalse(testCase.getInferences().isEmpty());
+        }
+
+        for (OWLBenchmarkTestCase testCase : testCases) {
+            assertEquals(List.of(InferenceType.CLASS_HIERARCHY), testCase.getInferences());
+        }
+    }
+
+    @Test
+    public void testMatrix() throws IOException, URISyntaxException {
+        URL matrixConfigURL = YamlConfigFileTest.class.getClassLoader().getResource("example-01/config-matrix.yaml");
+        assertNotNull(matrixConfigURL);
+
+        YamlConfigFile matrixConfig = YamlConfigFile.readYaml(matrixConfigURL);
+        assertNotNull(matrixConfig);
+
+        // 1 case + 2 ontologies * 2 variants * 2 reasoners * 2 inferences
+        assertEquals(17, matrixConfig.getTestCaseCount());
+
+        assertEquals("warmup", matrixConfig.getTestCase(0).getName());
+
+        OWLBenchmarkTestCase first = matrixConfig.getTestCase(1);
+        assertEquals("pizza [with data, plain, openllet, [CLASS_HIERARCHY]]", first.getName());
+        assertEquals(1, first.getFiles().size());
+        assertEquals(2, first.getRuns());
+
+        OWLBenchmarkTestCase last = matrixConfig.getTestCase(16);
+        assertEquals("pizza [without data, full data, structural, [CLASS_HIERARCHY, CLASS_ASSERTIONS]]", last.getName());
+        assertEquals(2, last.getFiles().size());
+        assertEquals("structural", last.getReasoner());
+        assertEquals(List.of(InferenceType.CLASS_HIERARCHY, InferenceType.CLASS_ASSERTIONS), last.getInferences());
+
+        for (OWLFile file : last.getFiles()) {
+            assertNotNull(file.getPathURI());
         }
+
+        int count = 0;
+        for (OWLBenchmarkTestCase testCase : matrixConfig.testCases()) {
+            assertNotNull(testCase.getName());
+            count++;
+        }
+        assertEquals(17, count);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> matrixConfig.getTestCase(17));
     }
 
+    private URL writeConfig(String yaml) throws IOException {
+        File file = new File(tempDir, "config.yaml");
+        Files.writeString(file.toPath(), yaml, StandardCharsets.UTF_8);
+        return file.toURI().toURL();
+    }
+
+    @Test
+    public void testUnknownInferenceType() throws IOException {
+        String files = "files:\n" +
+                "  - &A\n" +
+                "    iri: http://example.org/a\n" +
+                "    path: a.owl\n";
+
+        // the same conversion for cases and matrix definitions
+        URL caseConfig = writeConfig(files +
+                "cases:\n" +
+                "  - name: a\n" +
+                "    files: [*A]\n" +
+                "    inferences: [CLASS_HIERARCHY, NO_SUCH_INFERENCE]\n");
+        assertThrows(YAMLException.class, () -> YamlConfigFile.readYaml(caseConfig));
+
+        URL matrixConfig = writeConfig(files +
+                "matrix:\n" +
+                "  - name: m\n" +
+                "    ontologies:\n" +
+                "      - files: [*A]\n" +
+                "    inferences:\n" +
+                "      - [CLASS_HIERARCHY]\n" +
+                "      - [CLASS_HIERARCHY, NO_SUCH_INFERENCE]\n");
+        assertThrows(YAMLException.class, () -> YamlConfigFile.readYaml(matrixConfig));
+    }
 }
@@ -0,0 +1,43 @@
+// SPDX-License-Identifier: MIT
+package de.athalis.owl.performance.reasoner;
+
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.reasoner.structural.StructuralReasonerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReasonerAdaptersTest {
+
+    @Test
+    public void testServiceLoader() {
+        assertTrue(ReasonerAdapters.get(OpenlletReasonerAdapter.NAME) instanceof OpenlletReasonerAdapter);
+        assertTrue(ReasonerAdapters.get(StructuralReasonerAdapter.NAME) instanceof StructuralReasonerAdapter);
+    }
+
+    @Test
+    public void testClassName() {
+        ReasonerAdapter adapter = ReasonerAdapters.get(StructuralReasonerFactory.class.getName());
+        assertTrue(adapter instanceof OWLReasonerFactoryAdapter);
+        assertEquals(StructuralReasonerFactory.class.getName(), adapter.getName());
+
+        assertTrue(ReasonerAdapters.get(StructuralReasonerAdapter.class.getName()) instanceof StructuralReasonerAdapter);
+    }
+
+    @Test
+    public void testUnknown() {
+        assertThrows(IllegalArgumentException.class, () -> ReasonerAdapters.get("no such reasoner"));
+        assertThrows(IllegalArgumentException.class, () -> ReasonerAdapters.get(String.class.getName()));
+    }
+
+    @Test
+    public void testCapabilities() {
+        ReasonerAdapter openllet = ReasonerAdapters.get(OpenlletReasonerAdapter.NAME);
+        assertTrue(openllet.supportsBuffering());
+        assertTrue(openllet.supportsWarmReuse());
+        assertFalse(openllet.isThreadSafe());
+
+        ReasonerAdapter structural = ReasonerAdapters.get(StructuralReasonerAdapter.NAME);
+        assertTrue(structural.supportsBuffering());
+        assertFalse(structural.supportsWarmReuse());
+    }
+}